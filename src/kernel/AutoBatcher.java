@@ -0,0 +1,164 @@
+package kernel;
+
+import status.Status;
+import task.ComputeTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AutoBatcher {
+    private final TaskExecutor executor;
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+    private final ScheduledExecutorService timer;
+    private final Map<BatchKey, Batch> openBatches;
+    private final AtomicLong submittedTasks;
+    private final AtomicLong dispatchedBatches;
+
+    private record BatchKey(int priority, int computeUnits, long memorySize) {}
+
+    private static class Batch {
+        private final List<ComputeTask> tasks = new ArrayList<>();
+        private final List<CompletableFuture<ComputeTask>> results = new ArrayList<>();
+        private int batchSize;
+        private ScheduledFuture<?> timeout;
+    }
+
+    public AutoBatcher(int maxBatchSize, long maxWaitMillis) {
+        this.executor = TaskExecutor.getInstance();
+        this.maxBatchSize = Math.max(2, maxBatchSize);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auto-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.openBatches = new HashMap<>();
+        this.submittedTasks = new AtomicLong();
+        this.dispatchedBatches = new AtomicLong();
+    }
+
+    // Plain ComputeTasks with the same priority, units and model size share a batch; subclasses run alone.
+    // Only PENDING tasks are accepted, since a started task would never run again and its future never finish
+    public CompletableFuture<ComputeTask> submit(ComputeTask task) {
+        if (task.getStatus() != Status.PENDING) {
+            throw new IllegalArgumentException("Only PENDING tasks can be batched, task " + task.getTaskId()
+                    + " is " + task.getStatus());
+        }
+        submittedTasks.incrementAndGet();
+        CompletableFuture<ComputeTask> result = new CompletableFuture<>();
+        if (task.getClass() != ComputeTask.class || task.getBatchSize() >= maxBatchSize) {
+            Batch single = new Batch();
+            single.tasks.add(task);
+            single.results.add(result);
+            single.batchSize = task.getBatchSize();
+            dispatch(single);
+            return result;
+        }
+
+        BatchKey key = new BatchKey(task.getPriority(), task.getComputeUnits(), task.getMemorySize());
+        List<Batch> ready = new ArrayList<>();
+        synchronized (openBatches) {
+            Batch batch = openBatches.get(key);
+            if (batch != null && batch.batchSize + task.getBatchSize() > maxBatchSize) {
+                ready.add(close(key));
+                batch = null;
+            }
+            if (batch == null) {
+                Batch created = new Batch();
+                created.timeout = timer.schedule(() -> expire(key, created), maxWaitMillis, TimeUnit.MILLISECONDS);
+                openBatches.put(key, created);
+                batch = created;
+            }
+
+            batch.tasks.add(task);
+            batch.results.add(result);
+            batch.batchSize += task.getBatchSize();
+            if (batch.batchSize >= maxBatchSize) {
+                ready.add(close(key));
+            }
+        }
+
+        for (Batch batch : ready) {
+            dispatch(batch);
+        }
+        return result;
+    }
+
+    public void flush() {
+        List<Batch> ready;
+        synchronized (openBatches) {
+            ready = new ArrayList<>(openBatches.values());
+            for (Batch batch : ready) {
+                batch.timeout.cancel(false);
+            }
+            openBatches.clear();
+        }
+        for (Batch batch : ready) {
+            dispatch(batch);
+        }
+    }
+
+    public void shutdown() {
+        flush();
+        timer.shutdownNow();
+    }
+
+    private void expire(BatchKey key, Batch batch) {
+        synchronized (openBatches) {
+            if (openBatches.get(key) != batch) {
+                return;
+            }
+            openBatches.remove(key);
+        }
+        dispatch(batch);
+    }
+
+    private Batch close(BatchKey key) {
+        Batch batch = openBatches.remove(key);
+        batch.timeout.cancel(false);
+        return batch;
+    }
+
+    private void dispatch(Batch batch) {
+        dispatchedBatches.incrementAndGet();
+        ComputeTask first = batch.tasks.get(0);
+        ComputeTask combined = batch.tasks.size() == 1
+                ? first
+                : new BatchedComputeTask(batch.tasks, batch.batchSize);
+
+        CompletableFuture<NPUTask> done = executor.onCompletion(combined);
+        for (ComputeTask task : batch.tasks) {
+            if (task != combined) {
+                task.setStatus(Status.RUNNING);
+            }
+        }
+        combined.execute();
+
+        done.whenComplete((finished, error) -> {
+            for (int i = 0; i < batch.tasks.size(); i++) {
+                ComputeTask task = batch.tasks.get(i);
+                if (error != null) {
+                    task.setStatus(Status.FAILED);
+                    batch.results.get(i).completeExceptionally(error);
+                } else {
+                    task.setStatus(finished.getStatus());
+                    batch.results.get(i).complete(task);
+                }
+            }
+        });
+    }
+
+    public long getSubmittedTasks() { return submittedTasks.get(); }
+
+    public long getDispatchedBatches() { return dispatchedBatches.get(); }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+
+    public long getMaxWaitMillis() { return maxWaitMillis; }
+}
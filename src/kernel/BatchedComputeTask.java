@@ -0,0 +1,29 @@
+package kernel;
+
+import status.Status;
+import task.ComputeTask;
+
+import java.util.List;
+
+public class BatchedComputeTask extends ComputeTask {
+    private List<ComputeTask> tasks;
+
+    // One dispatch for several compatible tasks, priced as a single task of the combined batch size
+    public BatchedComputeTask(List<ComputeTask> tasks, int batchSize) {
+        super(TaskIds.reserve(), tasks.get(0).getPriority(), (int) tasks.get(0).getMemorySize(),
+                tasks.get(0).getComputeUnits(), batchSize);
+        this.tasks = List.copyOf(tasks);
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        super.setStatus(status);
+        if (tasks != null) {
+            for (ComputeTask task : tasks) {
+                task.setStatus(status);
+            }
+        }
+    }
+
+    public List<ComputeTask> getTasks() { return tasks; }
+}
@@ -0,0 +1,147 @@
+package kernel;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BuddyAllocator {
+    private final long capacity;
+    private final long minBlock;
+    private final int maxOrder;
+    private final ConcurrentSkipListSet<Long>[] free;
+    private final AtomicLong used;
+    private final AtomicLong requested;
+    private final AtomicLong peak;
+    private final AtomicLong allocations;
+    private final AtomicLong failures;
+    private final AtomicLong fragmentedFailures;
+
+    public record Block(long offset, long size, int order, long requested) {}
+
+    // Sizes are in MB like task memory sizes; every block is minBlock << order. A capacity that is not a
+    // power-of-two multiple of minBlock is seeded as a run of aligned blocks, largest first
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BuddyAllocator(long capacity, long minBlock) {
+        if (capacity <= 0 || minBlock <= 0 || minBlock > capacity) {
+            throw new IllegalArgumentException("Capacity and minimum block must be positive, block <= capacity");
+        }
+        if (Long.bitCount(minBlock) != 1) {
+            throw new IllegalArgumentException("Minimum block must be a power of two");
+        }
+        this.capacity = capacity / minBlock * minBlock;
+        this.minBlock = minBlock;
+        this.maxOrder = 63 - Long.numberOfLeadingZeros(capacity / minBlock);
+        this.free = new ConcurrentSkipListSet[maxOrder + 1];
+        for (int order = 0; order <= maxOrder; order++) {
+            free[order] = new ConcurrentSkipListSet<>();
+        }
+        this.used = new AtomicLong();
+        this.requested = new AtomicLong();
+        this.peak = new AtomicLong();
+        this.allocations = new AtomicLong();
+        this.failures = new AtomicLong();
+        this.fragmentedFailures = new AtomicLong();
+
+        long offset = 0;
+        for (int order = maxOrder; order >= 0; order--) {
+            if (offset + blockSize(order) <= this.capacity) {
+                free[order].add(offset);
+                offset += blockSize(order);
+            }
+        }
+    }
+
+    // Takes the lowest free address of the smallest order that fits and splits it down; each free set is
+    // lock-free, so concurrent callers only contend on the size class they touch
+    public Block allocate(long size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Allocation size must be positive");
+        }
+
+        int order = orderFor(size);
+        for (int k = order; k <= maxOrder; k++) {
+            Long offset = free[k].pollFirst();
+            if (offset == null) {
+                continue;
+            }
+            while (k > order) {
+                k--;
+                free[k].add(offset + blockSize(k));
+            }
+
+            long total = used.addAndGet(blockSize(order));
+            requested.addAndGet(size);
+            peak.accumulateAndGet(total, Math::max);
+            allocations.incrementAndGet();
+            return new Block(offset, blockSize(order), order, size);
+        }
+
+        failures.incrementAndGet();
+        if (order <= maxOrder && capacity - used.get() >= blockSize(order)) {
+            fragmentedFailures.incrementAndGet();
+        }
+        return null;
+    }
+
+    // Coalesces with the buddy while it is free. A buddy freed concurrently may stay split until a later
+    // free merges it; that costs fragmentation, never correctness
+    public void free(Block block) {
+        used.addAndGet(-block.size());
+        requested.addAndGet(-block.requested());
+
+        long offset = block.offset();
+        int order = block.order();
+        while (order < maxOrder && free[order].remove(offset ^ blockSize(order))) {
+            offset &= ~blockSize(order);
+            order++;
+        }
+        free[order].add(offset);
+    }
+
+    private int orderFor(long size) {
+        long blocks = (size + minBlock - 1) / minBlock;
+        return blocks <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(blocks - 1);
+    }
+
+    private long blockSize(int order) {
+        return minBlock << order;
+    }
+
+    public long getLargestFree() {
+        for (int order = maxOrder; order >= 0; order--) {
+            if (!free[order].isEmpty()) {
+                return blockSize(order);
+            }
+        }
+        return 0;
+    }
+
+    // External fragmentation: the share of free memory that is not in the largest free block
+    public double getFragmentation() {
+        long available = getFree();
+        return available <= 0 ? 0.0 : Math.max(0.0, 1.0 - (double) getLargestFree() / available);
+    }
+
+    // Internal fragmentation: block rounding the callers asked for but cannot use
+    public double getInternalFragmentation() {
+        long allocated = used.get();
+        return allocated == 0 ? 0.0 : 1.0 - (double) requested.get() / allocated;
+    }
+
+    public long getCapacity() { return capacity; }
+
+    public long getMinBlock() { return minBlock; }
+
+    public long getUsed() { return used.get(); }
+
+    public long getFree() { return capacity - used.get(); }
+
+    public long getRequested() { return requested.get(); }
+
+    public long getPeak() { return peak.get(); }
+
+    public long getAllocations() { return allocations.get(); }
+
+    public long getFailures() { return failures.get(); }
+
+    public long getFragmentedFailures() { return fragmentedFailures.get(); }
+}
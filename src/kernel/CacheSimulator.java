@@ -0,0 +1,159 @@
+package kernel;
+
+import status.Replacement;
+import task.MemoryTask;
+
+import java.util.Arrays;
+
+public class CacheSimulator {
+    private final long sizeBytes;
+    private final int ways;
+    private final int lineShift;
+    private final int setMask;
+    private final Replacement policy;
+    private final long[] tags;
+    private final long[] stamps;
+    private final int[] treeBits;
+    private long clock;
+    private long hits;
+    private long misses;
+
+    // Size, associativity and line size must be powers of two; PLRU supports up to 32 ways
+    public CacheSimulator(long sizeBytes, int associativity, int lineBytes, Replacement policy) {
+        if (Long.bitCount(sizeBytes) != 1 || Integer.bitCount(associativity) != 1
+                || Integer.bitCount(lineBytes) != 1 || sizeBytes < (long) associativity * lineBytes) {
+            throw new IllegalArgumentException(String.format(
+                    "Cache of %d bytes, %d ways, %d-byte lines is not a power-of-two geometry",
+                    sizeBytes, associativity, lineBytes));
+        }
+        if (policy == Replacement.PLRU && associativity > 32) {
+            throw new IllegalArgumentException("Tree PLRU supports at most 32 ways");
+        }
+
+        int sets = (int) (sizeBytes / lineBytes / associativity);
+        this.sizeBytes = sizeBytes;
+        this.ways = associativity;
+        this.lineShift = Integer.numberOfTrailingZeros(lineBytes);
+        this.setMask = sets - 1;
+        this.policy = policy;
+        this.tags = new long[sets * associativity];
+        this.stamps = policy == Replacement.LRU ? new long[sets * associativity] : null;
+        this.treeBits = policy == Replacement.PLRU ? new int[sets] : null;
+        clear();
+    }
+
+    public boolean access(long address) {
+        long line = address >>> lineShift;
+        int set = (int) line & setMask;
+        int base = set * ways;
+        int empty = -1;
+
+        for (int way = 0; way < ways; way++) {
+            long tag = tags[base + way];
+            if (tag == line) {
+                hits++;
+                touch(set, base, way);
+                return true;
+            }
+            if (tag == -1 && empty < 0) {
+                empty = way;
+            }
+        }
+
+        misses++;
+        int victim = empty >= 0 ? empty : victim(set, base);
+        tags[base + victim] = line;
+        touch(set, base, victim);
+        return false;
+    }
+
+    // Touches every line in [address, address + bytes), returning the number of hits
+    public long accessRange(long address, long bytes) {
+        long before = hits;
+        long lineBytes = 1L << lineShift;
+        long end = address + bytes;
+        for (long current = address & -lineBytes; current < end; current += lineBytes) {
+            access(current);
+        }
+        return hits - before;
+    }
+
+    // Replays a transfer's footprint (memory size in MB) starting at address and stores its hit ratio
+    public double apply(MemoryTask task, long address) {
+        long bytes = task.getMemorySize() << 20;
+        long lines = ((address + bytes - 1) >>> lineShift) - (address >>> lineShift) + 1;
+        double ratio = bytes == 0 ? 1.0 : (double) accessRange(address, bytes) / lines;
+        task.setCacheHitRatio(ratio);
+        return ratio;
+    }
+
+    private void touch(int set, int base, int way) {
+        if (policy == Replacement.LRU) {
+            stamps[base + way] = ++clock;
+            return;
+        }
+
+        // Walk root to leaf, pointing every node on the path away from the touched way
+        int bits = treeBits[set];
+        int node = 0;
+        for (int span = ways >>> 1; span > 0; span >>>= 1) {
+            boolean right = (way & span) != 0;
+            bits = right ? bits & ~(1 << node) : bits | (1 << node);
+            node = 2 * node + (right ? 2 : 1);
+        }
+        treeBits[set] = bits;
+    }
+
+    private int victim(int set, int base) {
+        if (policy == Replacement.LRU) {
+            int oldest = 0;
+            for (int way = 1; way < ways; way++) {
+                if (stamps[base + way] < stamps[base + oldest]) oldest = way;
+            }
+            return oldest;
+        }
+
+        int bits = treeBits[set];
+        int node = 0;
+        int way = 0;
+        for (int span = ways >>> 1; span > 0; span >>>= 1) {
+            boolean right = (bits & (1 << node)) != 0;
+            if (right) way |= span;
+            node = 2 * node + (right ? 2 : 1);
+        }
+        return way;
+    }
+
+    public void reset() {
+        clear();
+    }
+
+    // Private so the constructor does not call an overridable method
+    private void clear() {
+        Arrays.fill(tags, -1);
+        if (stamps != null) Arrays.fill(stamps, 0);
+        if (treeBits != null) Arrays.fill(treeBits, 0);
+        clock = 0;
+        hits = 0;
+        misses = 0;
+    }
+
+    public long getHits() { return hits; }
+
+    public long getMisses() { return misses; }
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public long getSizeBytes() { return sizeBytes; }
+
+    public int getAssociativity() { return ways; }
+
+    public int getLineBytes() { return 1 << lineShift; }
+
+    public int getSets() { return setMask + 1; }
+
+    public Replacement getPolicy() { return policy; }
+}
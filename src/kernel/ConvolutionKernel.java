@@ -0,0 +1,298 @@
+package kernel;
+
+import status.Convolution;
+import status.Quantization;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+public class ConvolutionKernel {
+    public static final int KERNEL_SIZE = 3;
+
+    private static final int TILE = 2;
+    private static final int TILE_INPUT = TILE + KERNEL_SIZE - 1;
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "convolution");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private ConvolutionKernel() {}
+
+    public static float[] convolve(TensorTask task, float[] input, float[] weights, int outChannels) {
+        int[] dims = task.getDimensions();
+        if (dims.length != 3) {
+            throw new IllegalArgumentException("Convolution expects {height, width, channels} dimensions");
+        }
+        Convolution algorithm = task.getConvolution() == null ? Convolution.IM2COL : task.getConvolution();
+        return convolve(algorithm, task.getTensorType(), input, dims[0], dims[1], dims[2],
+                weights, outChannels, task.getComputeUnits());
+    }
+
+    // Input is HWC, weights are [outChannels][3][3][channels], output is HWK with "same" padding
+    public static float[] convolve(Convolution algorithm, Quantization type, float[] input,
+                                   int height, int width, int channels,
+                                   float[] weights, int outChannels, int threads) {
+        if (input.length < height * width * channels
+                || weights.length < outChannels * KERNEL_SIZE * KERNEL_SIZE * channels) {
+            throw new IllegalArgumentException(String.format(
+                    "Operands do not match %dx%dx%d input with %d 3x3 filters", height, width, channels, outChannels));
+        }
+
+        float[] output = new float[height * width * outChannels];
+        return switch (algorithm) {
+            case IM2COL -> {
+                float[] filters = reshapeFilters(weights, channels, outChannels);
+                if (type == Quantization.INT8) {
+                    // One per-tensor scale for each operand, so the result does not depend on the banding
+                    float scaleIn = MatMulKernel.symmetricScale(input);
+                    float scaleFilters = MatMulKernel.symmetricScale(filters);
+                    byte[] quantizedIn = MatMulKernel.quantize(input, scaleIn);
+                    byte[] quantizedFilters = MatMulKernel.quantize(filters, scaleFilters);
+                    runParallel(height, threads, (rowStart, rowEnd) -> im2colRowsInt8(quantizedIn, width, height,
+                            channels, quantizedFilters, scaleIn * scaleFilters, outChannels, output, rowStart, rowEnd));
+                } else {
+                    runParallel(height, threads, (rowStart, rowEnd) -> im2colRows(type, input, width, height,
+                            channels, filters, outChannels, output, rowStart, rowEnd));
+                }
+                yield output;
+            }
+            case WINOGRAD -> {
+                float[] source = type == Quantization.FLOAT32 || type == null ? input : emulate(type, input);
+                float[] transformed = transformFilters(type == Quantization.FLOAT32 || type == null
+                        ? weights : emulate(type, weights), channels, outChannels);
+                int tileRows = (height + TILE - 1) / TILE;
+                runParallel(tileRows, threads, (tileStart, tileEnd) -> winogradTiles(source, height, width, channels,
+                        transformed, outChannels, output, tileStart, tileEnd));
+                yield output;
+            }
+        };
+    }
+
+    private static void im2colRows(Quantization type, float[] input, int width, int height, int channels,
+                                   float[] filters, int outChannels, float[] output, int rowStart, int rowEnd) {
+        int patch = KERNEL_SIZE * KERNEL_SIZE * channels;
+        int pixels = (rowEnd - rowStart) * width;
+        float[] columns = new float[pixels * patch];
+        gatherColumns(input, columns, width, height, channels, rowStart, rowEnd);
+
+        float[] result = MatMulKernel.multiply(type, columns, filters, pixels, patch, outChannels);
+        System.arraycopy(result, 0, output, rowStart * width * outChannels, result.length);
+    }
+
+    // Operands arrive already quantized; zero padding quantizes to zero under a symmetric scale
+    private static void im2colRowsInt8(byte[] input, int width, int height, int channels, byte[] filters,
+                                       float scale, int outChannels, float[] output, int rowStart, int rowEnd) {
+        int patch = KERNEL_SIZE * KERNEL_SIZE * channels;
+        int pixels = (rowEnd - rowStart) * width;
+        byte[] columns = new byte[pixels * patch];
+        gatherColumns(input, columns, width, height, channels, rowStart, rowEnd);
+
+        int[] acc = MatMulKernel.multiplyInt8(columns, filters, pixels, patch, outChannels);
+        float[] result = MatMulKernel.dequantize(acc, scale);
+        System.arraycopy(result, 0, output, rowStart * width * outChannels, result.length);
+    }
+
+    // Copies each pixel's 3x3 neighbourhood into one row of the column matrix; works on float[] and byte[]
+    private static void gatherColumns(Object input, Object columns, int width, int height, int channels,
+                                      int rowStart, int rowEnd) {
+        int patch = KERNEL_SIZE * KERNEL_SIZE * channels;
+        for (int y = rowStart; y < rowEnd; y++) {
+            for (int x = 0; x < width; x++) {
+                int base = ((y - rowStart) * width + x) * patch;
+                for (int ky = 0; ky < KERNEL_SIZE; ky++) {
+                    int iy = y + ky - 1;
+                    if (iy < 0 || iy >= height) continue;
+                    for (int kx = 0; kx < KERNEL_SIZE; kx++) {
+                        int ix = x + kx - 1;
+                        if (ix < 0 || ix >= width) continue;
+                        System.arraycopy(input, (iy * width + ix) * channels,
+                                columns, base + (ky * KERNEL_SIZE + kx) * channels, channels);
+                    }
+                }
+            }
+        }
+    }
+
+    // The 16 element-wise products of each tile become 16 GEMMs: M[e] = V[e] (tiles x C) * U[e] (C x K)
+    private static void winogradTiles(float[] input, int height, int width, int channels,
+                                      float[] transformed, int outChannels, float[] output,
+                                      int tileStart, int tileEnd) {
+        int tileCols = (width + TILE - 1) / TILE;
+        int tiles = (tileEnd - tileStart) * tileCols;
+        float[][] v = new float[16][tiles * channels];
+        float[] d = new float[TILE_INPUT * TILE_INPUT];
+        float[] scratch = new float[16];
+        float[] tile = new float[16];
+
+        for (int ty = tileStart; ty < tileEnd; ty++) {
+            for (int tx = 0; tx < tileCols; tx++) {
+                int t = (ty - tileStart) * tileCols + tx;
+                for (int c = 0; c < channels; c++) {
+                    for (int r = 0; r < TILE_INPUT; r++) {
+                        int iy = ty * TILE + r - 1;
+                        for (int s = 0; s < TILE_INPUT; s++) {
+                            int ix = tx * TILE + s - 1;
+                            d[r * TILE_INPUT + s] = iy < 0 || iy >= height || ix < 0 || ix >= width
+                                    ? 0.0f : input[(iy * width + ix) * channels + c];
+                        }
+                    }
+                    transformInput(d, tile, 0, scratch);
+                    for (int e = 0; e < 16; e++) {
+                        v[e][t * channels + c] = tile[e];
+                    }
+                }
+            }
+        }
+
+        float[][] m = new float[16][];
+        int filterSize = channels * outChannels;
+        for (int e = 0; e < 16; e++) {
+            float[] u = Arrays.copyOfRange(transformed, e * filterSize, (e + 1) * filterSize);
+            m[e] = MatMulKernel.multiplyFloat32(v[e], u, tiles, channels, outChannels);
+        }
+
+        for (int ty = tileStart; ty < tileEnd; ty++) {
+            for (int tx = 0; tx < tileCols; tx++) {
+                int t = (ty - tileStart) * tileCols + tx;
+                for (int k = 0; k < outChannels; k++) {
+                    for (int e = 0; e < 16; e++) {
+                        tile[e] = m[e][t * outChannels + k];
+                    }
+                    writeOutputTile(tile, output, height, width, outChannels, ty * TILE, tx * TILE, k, scratch);
+                }
+            }
+        }
+    }
+
+    // V = B^T d B
+    private static void transformInput(float[] d, float[] v, int offset, float[] t) {
+        for (int col = 0; col < 4; col++) {
+            float d0 = d[col], d1 = d[4 + col], d2 = d[8 + col], d3 = d[12 + col];
+            t[col] = d0 - d2;
+            t[4 + col] = d1 + d2;
+            t[8 + col] = d2 - d1;
+            t[12 + col] = d1 - d3;
+        }
+        for (int row = 0; row < 4; row++) {
+            float t0 = t[row * 4], t1 = t[row * 4 + 1], t2 = t[row * 4 + 2], t3 = t[row * 4 + 3];
+            v[offset + row * 4] = t0 - t2;
+            v[offset + row * 4 + 1] = t1 + t2;
+            v[offset + row * 4 + 2] = t2 - t1;
+            v[offset + row * 4 + 3] = t1 - t3;
+        }
+    }
+
+    // Y = A^T M A, clipped at the image border
+    private static void writeOutputTile(float[] m, float[] output, int height, int width, int outChannels,
+                                        int y, int x, int k, float[] t) {
+        for (int col = 0; col < 4; col++) {
+            t[col] = m[col] + m[4 + col] + m[8 + col];
+            t[4 + col] = m[4 + col] - m[8 + col] - m[12 + col];
+        }
+        for (int row = 0; row < TILE && y + row < height; row++) {
+            float y0 = t[row * 4] + t[row * 4 + 1] + t[row * 4 + 2];
+            float y1 = t[row * 4 + 1] - t[row * 4 + 2] - t[row * 4 + 3];
+            output[((y + row) * width + x) * outChannels + k] = y0;
+            if (x + 1 < width) {
+                output[((y + row) * width + x + 1) * outChannels + k] = y1;
+            }
+        }
+    }
+
+    // U = G g G^T for every (outChannel, channel) pair, stored as [16][channels][outChannels]
+    private static float[] transformFilters(float[] weights, int channels, int outChannels) {
+        float[] u = new float[outChannels * channels * 16];
+        float[] t = new float[12];
+        for (int k = 0; k < outChannels; k++) {
+            for (int c = 0; c < channels; c++) {
+                for (int col = 0; col < 3; col++) {
+                    float g0 = filter(weights, channels, k, 0, col, c);
+                    float g1 = filter(weights, channels, k, 1, col, c);
+                    float g2 = filter(weights, channels, k, 2, col, c);
+                    t[col] = g0;
+                    t[3 + col] = 0.5f * (g0 + g1 + g2);
+                    t[6 + col] = 0.5f * (g0 - g1 + g2);
+                    t[9 + col] = g2;
+                }
+                int base = c * outChannels + k;
+                int stride = channels * outChannels;
+                for (int row = 0; row < 4; row++) {
+                    float t0 = t[row * 3], t1 = t[row * 3 + 1], t2 = t[row * 3 + 2];
+                    u[(row * 4) * stride + base] = t0;
+                    u[(row * 4 + 1) * stride + base] = 0.5f * (t0 + t1 + t2);
+                    u[(row * 4 + 2) * stride + base] = 0.5f * (t0 - t1 + t2);
+                    u[(row * 4 + 3) * stride + base] = t2;
+                }
+            }
+        }
+        return u;
+    }
+
+    private static float filter(float[] weights, int channels, int k, int ky, int kx, int c) {
+        return weights[((k * KERNEL_SIZE + ky) * KERNEL_SIZE + kx) * channels + c];
+    }
+
+    // [outChannels][3][3][channels] -> [3*3*channels][outChannels] for the im2col GEMM
+    private static float[] reshapeFilters(float[] weights, int channels, int outChannels) {
+        int patch = KERNEL_SIZE * KERNEL_SIZE * channels;
+        float[] filters = new float[patch * outChannels];
+        for (int k = 0; k < outChannels; k++) {
+            for (int p = 0; p < patch; p++) {
+                filters[p * outChannels + k] = weights[k * patch + p];
+            }
+        }
+        return filters;
+    }
+
+    // Winograd transforms are not exact in integer arithmetic, so reduced precisions are emulated in float
+    private static float[] emulate(Quantization type, float[] values) {
+        if (type == Quantization.BFLOAT16) {
+            return MatMulKernel.toBFloat16(values);
+        }
+        float scale = MatMulKernel.symmetricScale(values);
+        byte[] quantized = MatMulKernel.quantize(values, scale);
+        float[] out = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = quantized[i] * scale;
+        }
+        return out;
+    }
+
+    private interface RangeTask {
+        void run(int start, int end);
+    }
+
+    // Bands share one daemon pool; the thread count only decides how the work is split
+    private static void runParallel(int total, int threads, RangeTask body) {
+        int workers = Math.max(1, Math.min(threads, total));
+        if (workers == 1) {
+            body.run(0, total);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            int chunk = (total + workers - 1) / workers;
+            for (int start = 0; start < total; start += chunk) {
+                int from = start;
+                int to = Math.min(total, start + chunk);
+                futures.add(POOL.submit(() -> body.run(from, to)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Convolution interrupted");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Convolution worker failed", e.getCause());
+        }
+    }
+}
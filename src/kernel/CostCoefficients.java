@@ -0,0 +1,15 @@
+package kernel;
+
+public record CostCoefficients(double baseTime, double priorityScale, double memoryScale, double batchScale,
+                               double bandwidthScale, double float32Factor, double int8Factor,
+                               double bfloat16Factor) {
+
+    public static final CostCoefficients DEFAULT = new CostCoefficients(100, 39.0, 1024.0, 16.0, 1000.0, 1.8, 0.4, 1.0);
+
+    public CostCoefficients {
+        if (baseTime <= 0 || priorityScale <= 0 || memoryScale <= 0 || batchScale <= 0 || bandwidthScale <= 0
+                || float32Factor <= 0 || int8Factor <= 0 || bfloat16Factor <= 0) {
+            throw new IllegalArgumentException("Cost coefficients must be positive");
+        }
+    }
+}
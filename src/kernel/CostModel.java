@@ -0,0 +1,15 @@
+package kernel;
+
+import task.NPUTask;
+
+@FunctionalInterface
+public interface CostModel {
+    CostCoefficients getCoefficients();
+
+    // Called with a real measured wall time of a completed task, never a simulated one; fixed models ignore it
+    default void observe(NPUTask task, long measuredMillis) {}
+
+    static CostModel fixed(CostCoefficients coefficients) {
+        return () -> coefficients;
+    }
+}
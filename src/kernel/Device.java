@@ -0,0 +1,90 @@
+package kernel;
+
+import status.Eviction;
+import status.Memory;
+import task.MemoryTask;
+import task.NPUTask;
+
+public class Device {
+    private final int id;
+    private final ResidencyCache memory;
+    private final int bandwidth;
+    private long availableAt;
+    private long busyTime;
+    private long transferTime;
+    private long transferredMegabytes;
+    private int transfers;
+    private int tasks;
+
+    // VRAM capacity is in MB; bandwidth is the host link used to stage operands that are not resident
+    public Device(int id, long vramCapacity, Eviction eviction, int bandwidth) {
+        if (bandwidth <= 0) {
+            throw new IllegalArgumentException("Bandwidth must be positive");
+        }
+        this.id = id;
+        this.memory = new ResidencyCache(vramCapacity, eviction);
+        this.bandwidth = bandwidth;
+    }
+
+    // The VRAM load that stages a task's operands here; tasks without data (dataId 0) need none
+    public MemoryTask operandsOf(NPUTask task) {
+        MemoryTask load = new MemoryTask(task.getTaskId(), task.getPriority(), (int) task.getMemorySize(),
+                bandwidth, Memory.VRAM);
+        load.setDataId(task.getDataId());
+        return load;
+    }
+
+    public long getTransferCost(NPUTask task) {
+        if (task.getDataId() == 0 || memory.isResident(task.getDataId())) {
+            return 0;
+        }
+        return operandsOf(task).getExecutionTime();
+    }
+
+    // A MemoryTask is itself the transfer, so it only costs time when its data is not already here
+    public long getRunCost(NPUTask task) {
+        return task instanceof MemoryTask ? getTransferCost(task) : getTransferCost(task) + task.getExecutionTime();
+    }
+
+    public long getFinishTime(NPUTask task, long readyAt) {
+        return Math.max(availableAt, readyAt) + getRunCost(task);
+    }
+
+    public long run(NPUTask task, long readyAt) {
+        long start = Math.max(availableAt, readyAt);
+        long cost = getRunCost(task);
+        if (task.getDataId() != 0) {
+            MemoryTask load = operandsOf(task);
+            if (!memory.load(load)) {
+                transfers++;
+                transferredMegabytes += load.getMemorySize();
+                transferTime += load.getExecutionTime();
+            }
+        }
+
+        tasks++;
+        busyTime += cost;
+        availableAt = start + cost;
+        return availableAt;
+    }
+
+    public long getBacklog(long now) { return Math.max(0, availableAt - now); }
+
+    public boolean isResident(long dataId) { return memory.isResident(dataId); }
+
+    public int getId() { return id; }
+
+    public ResidencyCache getMemory() { return memory; }
+
+    public long getAvailableAt() { return availableAt; }
+
+    public long getBusyTime() { return busyTime; }
+
+    public long getTransferTime() { return transferTime; }
+
+    public long getTransferredMegabytes() { return transferredMegabytes; }
+
+    public int getTransfers() { return transfers; }
+
+    public int getTasks() { return tasks; }
+}
@@ -0,0 +1,265 @@
+package kernel;
+
+import status.Memory;
+import task.MemoryTask;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DiskIoEngine implements AutoCloseable {
+    public static final int ALIGNMENT = 4096;
+    private static final System.Logger LOG = System.getLogger(DiskIoEngine.class.getName());
+    private static final OpenOption O_DIRECT = lookupDirect();
+
+    private final Path directory;
+    private final int chunkBytes;
+    private final int readahead;
+    private final int threads;
+    private final ExecutorService workers;
+    private final ThreadLocal<ByteBuffer> buffers;
+    private final AtomicLong bytesRead;
+    private final AtomicLong bytesWritten;
+    private final AtomicLong readNanos;
+    private final AtomicLong writeNanos;
+    private volatile boolean direct;
+
+    public record Transfer(long bytes, long nanos) {
+        public double millis() { return nanos / 1e6; }
+
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0.0 : (bytes / (double) (1 << 20)) / (nanos / 1e9);
+        }
+    }
+
+    // Each request moves readahead chunks through one aligned direct buffer per worker; a file is split into
+    // one contiguous range per thread
+    public DiskIoEngine(Path directory, int chunkBytes, int readahead, int threads) throws IOException {
+        if (chunkBytes <= 0 || chunkBytes % ALIGNMENT != 0) {
+            throw new IllegalArgumentException("Chunk size must be a positive multiple of " + ALIGNMENT);
+        }
+        if (readahead < 1 || threads < 1) {
+            throw new IllegalArgumentException("Readahead and thread count must be at least 1");
+        }
+        if ((long) chunkBytes * readahead > Integer.MAX_VALUE - ALIGNMENT) {
+            throw new IllegalArgumentException("Request size chunkBytes * readahead is too large");
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.chunkBytes = chunkBytes;
+        this.readahead = readahead;
+        this.threads = threads;
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "disk-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int requestBytes = chunkBytes * readahead;
+        this.buffers = ThreadLocal.withInitial(
+                () -> ByteBuffer.allocateDirect(requestBytes + ALIGNMENT).alignedSlice(ALIGNMENT));
+        this.bytesRead = new AtomicLong();
+        this.bytesWritten = new AtomicLong();
+        this.readNanos = new AtomicLong();
+        this.writeNanos = new AtomicLong();
+        this.direct = O_DIRECT != null;
+    }
+
+    public Path pathFor(long dataId) {
+        return directory.resolve("tensor-" + dataId + ".bin");
+    }
+
+    // Lengths are rounded up to the alignment so every request starts and ends on a block boundary; the
+    // write is forced so it measures the device rather than the page cache
+    public Transfer write(long dataId, long bytes) throws IOException {
+        long length = align(Math.max(0, bytes));
+        long started = System.nanoTime();
+        try (FileChannel channel = open(pathFor(dataId), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            channel.truncate(length);
+            run(length, (position, buffer) -> {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, position + buffer.position());
+                }
+            }, true);
+            channel.force(false);
+        }
+        long nanos = System.nanoTime() - started;
+        bytesWritten.addAndGet(length);
+        writeNanos.addAndGet(nanos);
+        return new Transfer(length, nanos);
+    }
+
+    public Transfer read(long dataId) throws IOException {
+        long started = System.nanoTime();
+        long length;
+        try (FileChannel channel = open(pathFor(dataId), StandardOpenOption.READ)) {
+            length = channel.size();
+            run(length, (position, buffer) -> {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of " + pathFor(dataId));
+                    }
+                }
+            }, false);
+        }
+        long nanos = System.nanoTime() - started;
+        bytesRead.addAndGet(length);
+        readNanos.addAndGet(nanos);
+        return new Transfer(length, nanos);
+    }
+
+    // Runs a DISK MemoryTask for real: memorySize MB are read back. Staging the file happens before the
+    // measured window, so the returned Transfer times only the read
+    public Transfer transfer(MemoryTask task) throws IOException {
+        stage(task);
+        return read(task.getDataId());
+    }
+
+    // Writes and forces the task's file when it is missing or short
+    public void stage(MemoryTask task) throws IOException {
+        if (task.getMemoryType() != Memory.DISK) {
+            throw new IllegalArgumentException("Only DISK transfers do real I/O, got " + task.getMemoryType());
+        }
+        long bytes = align(task.getMemorySize() << 20);
+        Path path = pathFor(task.getDataId());
+        if (!Files.exists(path) || Files.size(path) < bytes) {
+            write(task.getDataId(), bytes);
+        }
+    }
+
+    // O_DIRECT keeps the page cache out of the numbers; file systems without it (tmpfs, or a block size the
+    // alignment does not cover) fall back to buffered I/O once, with a note
+    private FileChannel open(Path path, OpenOption... options) throws IOException {
+        if (direct) {
+            try {
+                if (ALIGNMENT % Files.getFileStore(path.getParent()).getBlockSize() == 0) {
+                    OpenOption[] withDirect = Arrays.copyOf(options, options.length + 1);
+                    withDirect[options.length] = O_DIRECT;
+                    return FileChannel.open(path, withDirect);
+                }
+                disableDirect(path, "block size exceeds " + ALIGNMENT);
+            } catch (NoSuchFileException e) {
+                throw e;
+            } catch (UnsupportedOperationException | IOException e) {
+                disableDirect(path, e.toString());
+            }
+        }
+        return FileChannel.open(path, options);
+    }
+
+    // ExtendedOpenOption is JDK-internal, so it is looked up reflectively; without it every open is buffered
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static OpenOption lookupDirect() {
+        try {
+            Class<?> options = Class.forName("com.sun.nio.file.ExtendedOpenOption");
+            return (OpenOption) Enum.valueOf((Class<? extends Enum>) options.asSubclass(Enum.class), "DIRECT");
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.log(System.Logger.Level.INFO, "Direct I/O unavailable ({0}); using buffered I/O", e.toString());
+            return null;
+        }
+    }
+
+    private void disableDirect(Path path, String reason) {
+        if (direct) {
+            direct = false;
+            LOG.log(System.Logger.Level.INFO, "Direct I/O unavailable under {0} ({1}); using buffered I/O",
+                    path.getParent(), reason);
+        }
+    }
+
+    // The bandwidth at which the cost model would predict the measured time for this task
+    public static int calibratedBandwidth(MemoryTask task, Transfer measured) {
+        double ratio = task.getExecutionTime() / Math.max(1e-3, measured.millis());
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.round(task.getBandwidth() * ratio)));
+    }
+
+    private interface Request {
+        void apply(long position, ByteBuffer buffer) throws IOException;
+    }
+
+    private void run(long length, Request request, boolean fill) throws IOException {
+        long requestBytes = (long) chunkBytes * readahead;
+        long requests = (length + requestBytes - 1) / requestBytes;
+        long perThread = (requests + threads - 1) / threads;
+
+        List<Future<?>> ranges = new ArrayList<>();
+        for (long first = 0; first < requests; first += perThread) {
+            long from = first * requestBytes;
+            long to = Math.min(length, (first + perThread) * requestBytes);
+            ranges.add(workers.submit(() -> {
+                ByteBuffer buffer = buffers.get();
+                for (long position = from; position < to; position += requestBytes) {
+                    buffer.clear().limit((int) Math.min(requestBytes, to - position));
+                    if (fill) {
+                        while (buffer.remaining() >= Long.BYTES) {
+                            buffer.putLong(position + buffer.position());
+                        }
+                        buffer.flip();
+                    }
+                    try {
+                        request.apply(position, buffer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> range : ranges) {
+            try {
+                range.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted during disk I/O", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof UncheckedIOException unchecked
+                        ? unchecked.getCause()
+                        : e.getCause();
+                throw cause instanceof IOException io ? io : new IOException(cause);
+            }
+        }
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    public double getReadThroughput() {
+        return new Transfer(bytesRead.get(), readNanos.get()).megabytesPerSecond();
+    }
+
+    public double getWriteThroughput() {
+        return new Transfer(bytesWritten.get(), writeNanos.get()).megabytesPerSecond();
+    }
+
+    public long getBytesRead() { return bytesRead.get(); }
+
+    public long getBytesWritten() { return bytesWritten.get(); }
+
+    public int getChunkBytes() { return chunkBytes; }
+
+    public int getReadahead() { return readahead; }
+
+    public int getThreads() { return threads; }
+
+    public boolean isDirect() { return direct; }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package kernel;
+
+import status.PowerState;
+import task.NPUTask;
+
+import java.util.List;
+
+public class DvfsGovernor {
+    private DvfsGovernor() {}
+
+    // Energy-delay product of running the task alone: power * time^2
+    public static double getEnergyDelay(NPUTask task) {
+        double time = task.getExecutionTime();
+        return PowerModel.estimate(task) * time * time;
+    }
+
+    public static PowerState select(NPUTask task) {
+        PowerState original = task.getPowerState();
+        PowerState best = original;
+        double bestEdp = Double.MAX_VALUE;
+        for (PowerState state : PowerState.values()) {
+            task.setPowerState(state);
+            double edp = getEnergyDelay(task);
+            if (edp < bestEdp) {
+                bestEdp = edp;
+                best = state;
+            }
+        }
+        task.setPowerState(original);
+        return best;
+    }
+
+    public static void applyPerTask(List<? extends NPUTask> tasks) {
+        for (NPUTask task : tasks) {
+            task.setPowerState(select(task));
+        }
+    }
+
+    // One state per window of consecutive tasks, minimising window energy * window time; models a
+    // governor that can only switch operating points every few dispatches
+    public static void applyPerInterval(List<? extends NPUTask> tasks, int interval) {
+        int size = Math.max(1, interval);
+        for (int from = 0; from < tasks.size(); from += size) {
+            List<? extends NPUTask> window = tasks.subList(from, Math.min(tasks.size(), from + size));
+            PowerState best = PowerState.P0;
+            double bestEdp = Double.MAX_VALUE;
+            for (PowerState state : PowerState.values()) {
+                double energy = 0.0;
+                double time = 0.0;
+                for (NPUTask task : window) {
+                    task.setPowerState(state);
+                    energy += PowerModel.estimate(task) * task.getExecutionTime();
+                    time += task.getExecutionTime();
+                }
+                if (energy * time < bestEdp) {
+                    bestEdp = energy * time;
+                    best = state;
+                }
+            }
+            for (NPUTask task : window) {
+                task.setPowerState(best);
+            }
+        }
+    }
+
+    public static void reset(List<? extends NPUTask> tasks) {
+        for (NPUTask task : tasks) {
+            task.setPowerState(PowerState.P0);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package kernel;
+
+import status.Operation;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+public class FusedKernel {
+    private final List<Operation> operations;
+    private final MethodHandle loop;
+    private final boolean reducing;
+    private final int operandCount;
+
+    FusedKernel(List<Operation> operations, MethodHandle loop, boolean reducing, int operandCount) {
+        this.operations = operations;
+        this.loop = loop;
+        this.reducing = reducing;
+        this.operandCount = operandCount;
+    }
+
+    // One operand per ADD/MUL stage; returns the element-wise result, or a single sum when the chain ends in REDUCE
+    public float[] apply(float[] input, float[]... operands) {
+        if (operands.length != operandCount) {
+            throw new IllegalArgumentException(
+                    String.format("%s expects %d operands, got %d", operations, operandCount, operands.length));
+        }
+
+        float[][] arrays = new float[operands.length + 1][];
+        arrays[0] = input;
+        for (int i = 0; i < operands.length; i++) {
+            if (operands[i].length < input.length) {
+                throw new IllegalArgumentException("Operand " + i + " is shorter than the input vector");
+            }
+            arrays[i + 1] = operands[i];
+        }
+
+        float[] buffer = new float[FusionCompiler.BLOCK];
+        try {
+            if (reducing) {
+                float sum = (float) loop.invokeExact(arrays, buffer);
+                return new float[]{sum};
+            }
+            float[] output = new float[input.length];
+            loop.invokeExact(arrays, buffer, output);
+            return output;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Fused kernel " + operations + " failed", t);
+        }
+    }
+
+    public List<Operation> getOperations() { return operations; }
+
+    public boolean isReducing() { return reducing; }
+
+    public int getOperandCount() { return operandCount; }
+}
@@ -0,0 +1,71 @@
+package kernel;
+
+import status.Operation;
+import status.Status;
+import task.VectorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FusedVectorTask extends VectorTask {
+    private static final double MEMORY_PASS_SHARE = 0.6;
+
+    private List<VectorTask> tasks;
+    private List<Operation> operations;
+
+    // Fused tasks take a reserved id so they never collide with the tasks they absorb. Like
+    // every task type, the constructor prices the task before the fused operations are known
+    @SuppressWarnings("this-escape")
+    public FusedVectorTask(List<VectorTask> tasks) {
+        super(TaskIds.reserve(), maxPriority(tasks), (int) tasks.get(0).getMemorySize(),
+                tasks.get(0).getComputeUnits(), tasks.get(0).getBatchSize(),
+                tasks.get(0).getVectorSize(), tasks.get(0).getVectorOperation());
+        this.tasks = List.copyOf(tasks);
+        this.operations = new ArrayList<>();
+        for (VectorTask task : tasks) {
+            operations.add(task.getVectorOperation());
+        }
+        setDataId(tasks.get(0).getDataId());
+        calculateExecutionTime();
+    }
+
+    // One memory pass is shared by the chain; every operation still pays its arithmetic share
+    @Override
+    protected void calculateExecutionTime() {
+        super.calculateExecutionTime();
+
+        if (operations == null || getVectorOperation() == null) {
+            return;
+        }
+
+        double combinedFactor = 0.0;
+        for (Operation operation : operations) {
+            combinedFactor += getOperationFactor(operation);
+        }
+        combinedFactor -= (operations.size() - 1) * MEMORY_PASS_SHARE;
+
+        this.executionTime = (long) (executionTime / getOperationFactor(getVectorOperation()) * combinedFactor);
+    }
+
+    @Override
+    public void setStatus(Status status) {
+        super.setStatus(status);
+        if (tasks != null) {
+            for (VectorTask task : tasks) {
+                task.setStatus(status);
+            }
+        }
+    }
+
+    private static int maxPriority(List<VectorTask> tasks) {
+        int priority = 0;
+        for (VectorTask task : tasks) {
+            priority = Math.max(priority, task.getPriority());
+        }
+        return priority;
+    }
+
+    public List<VectorTask> getTasks() { return tasks; }
+
+    public List<Operation> getOperations() { return List.copyOf(operations); }
+}
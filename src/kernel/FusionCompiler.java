@@ -0,0 +1,146 @@
+package kernel;
+
+import status.Operation;
+import task.VectorTask;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.invoke.MethodType.methodType;
+
+public class FusionCompiler {
+    static final int BLOCK = 2048;
+
+    private static final Map<List<Operation>, FusedKernel> CACHE = new ConcurrentHashMap<>();
+
+    private static final MethodHandle LOAD;
+    private static final MethodHandle ADD;
+    private static final MethodHandle MUL;
+    private static final MethodHandle BLOCKS;
+    private static final MethodHandle STORE;
+    private static final MethodHandle SUM;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            MethodType stage = methodType(void.class, float[][].class, float[].class, int.class);
+            LOAD = lookup.findStatic(FusionCompiler.class, "load", stage);
+            ADD = lookup.findStatic(FusionCompiler.class, "add", stage.appendParameterTypes(int.class));
+            MUL = lookup.findStatic(FusionCompiler.class, "mul", stage.appendParameterTypes(int.class));
+            BLOCKS = lookup.findStatic(FusionCompiler.class, "blocks",
+                    methodType(int.class, float[][].class));
+            STORE = lookup.findStatic(FusionCompiler.class, "store",
+                    methodType(void.class, int.class, float[][].class, float[].class, float[].class));
+            SUM = lookup.findStatic(FusionCompiler.class, "sum",
+                    methodType(float.class, float.class, int.class, float[][].class, float[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private FusionCompiler() {}
+
+    public static FusedKernel compile(Operation... operations) {
+        return compile(List.of(operations));
+    }
+
+    public static FusedKernel compile(List<Operation> operations) {
+        return CACHE.computeIfAbsent(List.copyOf(operations), FusionCompiler::generate);
+    }
+
+    public static FusedKernel compileTasks(List<? extends VectorTask> tasks) {
+        List<Operation> operations = new ArrayList<>();
+        for (VectorTask task : tasks) {
+            operations.add(task.getVectorOperation());
+        }
+        return compile(operations);
+    }
+
+    public static int getCachedKernels() {
+        return CACHE.size();
+    }
+
+    private static FusedKernel generate(List<Operation> operations) {
+        int reduceIndex = operations.indexOf(Operation.REDUCE);
+        if (reduceIndex >= 0 && reduceIndex != operations.size() - 1) {
+            throw new IllegalArgumentException("REDUCE must be the last operation in " + operations);
+        }
+        boolean reducing = reduceIndex >= 0;
+        int stages = reducing ? operations.size() - 1 : operations.size();
+
+        // (float[][] arrays, float[] buffer, int block) -> void: every stage runs over one
+        // cache-resident block before the next block is loaded, so each element leaves memory once
+        MethodHandle chain = LOAD;
+        for (int stage = 0; stage < stages; stage++) {
+            MethodHandle step = switch (operations.get(stage)) {
+                case ADD -> ADD;
+                case MUL -> MUL;
+                case REDUCE -> throw new IllegalStateException("Unreachable");
+            };
+            chain = MethodHandles.foldArguments(MethodHandles.insertArguments(step, 3, stage + 1), chain);
+        }
+        // (int block, float[][] arrays, float[] buffer) -> void
+        MethodHandle block = MethodHandles.permuteArguments(chain,
+                methodType(void.class, int.class, float[][].class, float[].class), 1, 2, 0);
+
+        MethodHandle loop;
+        if (reducing) {
+            MethodHandle body = MethodHandles.foldArguments(SUM, 1, block);
+            MethodHandle init = MethodHandles.dropArguments(
+                    MethodHandles.constant(float.class, 0.0f), 0, float[][].class, float[].class);
+            MethodHandle iterations = MethodHandles.dropArguments(BLOCKS, 1, float[].class);
+            loop = MethodHandles.countedLoop(iterations, init, body);
+        } else {
+            MethodHandle body = MethodHandles.foldArguments(STORE, block);
+            MethodHandle iterations = MethodHandles.dropArguments(BLOCKS, 1, float[].class, float[].class);
+            loop = MethodHandles.countedLoop(iterations, null, body);
+        }
+        return new FusedKernel(operations, loop, reducing, stages);
+    }
+
+    private static void load(float[][] arrays, float[] buffer, int block) {
+        int offset = block * BLOCK;
+        System.arraycopy(arrays[0], offset, buffer, 0, Math.min(BLOCK, arrays[0].length - offset));
+    }
+
+    private static void add(float[][] arrays, float[] buffer, int block, int stage) {
+        float[] operand = arrays[stage];
+        int offset = block * BLOCK;
+        int length = Math.min(BLOCK, arrays[0].length - offset);
+        for (int j = 0; j < length; j++) {
+            buffer[j] += operand[offset + j];
+        }
+    }
+
+    private static void mul(float[][] arrays, float[] buffer, int block, int stage) {
+        float[] operand = arrays[stage];
+        int offset = block * BLOCK;
+        int length = Math.min(BLOCK, arrays[0].length - offset);
+        for (int j = 0; j < length; j++) {
+            buffer[j] *= operand[offset + j];
+        }
+    }
+
+    private static int blocks(float[][] arrays) {
+        return (arrays[0].length + BLOCK - 1) / BLOCK;
+    }
+
+    private static void store(int block, float[][] arrays, float[] buffer, float[] output) {
+        int offset = block * BLOCK;
+        System.arraycopy(buffer, 0, output, offset, Math.min(BLOCK, output.length - offset));
+    }
+
+    private static float sum(float total, int block, float[][] arrays, float[] buffer) {
+        int length = Math.min(BLOCK, arrays[0].length - block * BLOCK);
+        float sum = 0.0f;
+        for (int j = 0; j < length; j++) {
+            sum += buffer[j];
+        }
+        return total + sum;
+    }
+}
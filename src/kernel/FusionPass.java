@@ -0,0 +1,63 @@
+package kernel;
+
+import status.Operation;
+import task.NPUTask;
+import task.VectorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FusionPass {
+    private FusionPass() {}
+
+    public static List<NPUTask> apply(List<? extends NPUTask> queue) {
+        List<NPUTask> result = new ArrayList<>();
+        List<VectorTask> chain = new ArrayList<>();
+
+        for (NPUTask task : queue) {
+            if (isFusable(task) && (chain.isEmpty() || canExtend(chain, (VectorTask) task))) {
+                chain.add((VectorTask) task);
+                continue;
+            }
+
+            flush(chain, result);
+            if (isFusable(task)) {
+                chain.add((VectorTask) task);
+            } else {
+                result.add(task);
+            }
+        }
+        flush(chain, result);
+        return result;
+    }
+
+    private static boolean isFusable(NPUTask task) {
+        return task.getClass() == VectorTask.class && ((VectorTask) task).getVectorOperation() != null;
+    }
+
+    // The fused cost is derived from the first task, so every member must share the fields it reads
+    private static boolean canExtend(List<VectorTask> chain, VectorTask next) {
+        VectorTask last = chain.get(chain.size() - 1);
+        return last.getVectorOperation() != Operation.REDUCE
+                && last.getDataId() == next.getDataId()
+                && last.getVectorSize() == next.getVectorSize()
+                && last.getComputeUnits() == next.getComputeUnits()
+                && last.getBatchSize() == next.getBatchSize()
+                && last.getMemorySize() == next.getMemorySize()
+                && last.getPriority() == next.getPriority()
+                && last.isOptimized() == next.isOptimized();
+    }
+
+    private static void flush(List<VectorTask> chain, List<NPUTask> result) {
+        if (chain.size() == 1) {
+            result.add(chain.get(0));
+        } else if (chain.size() > 1) {
+            FusedVectorTask fused = new FusedVectorTask(chain);
+            if (chain.get(0).isOptimized()) {
+                fused.optimize();
+            }
+            result.add(fused);
+        }
+        chain.clear();
+    }
+}
@@ -0,0 +1,146 @@
+package kernel;
+
+import status.Quantization;
+import task.TensorTask;
+
+public class MatMulKernel {
+    private static final int BLOCK_K = 64;
+    private static final int BLOCK_N = 256;
+
+    private MatMulKernel() {}
+
+    public static float[] multiply(TensorTask task, float[] a, float[] b, int m, int k, int n) {
+        return multiply(task.getTensorType(), a, b, m, k, n);
+    }
+
+    public static float[] multiply(Quantization type, float[] a, float[] b, int m, int k, int n) {
+        checkShape(a.length, b.length, m, k, n);
+        if (type == null) {
+            return multiplyFloat32(a, b, m, k, n);
+        }
+
+        return switch (type) {
+            case FLOAT32 -> multiplyFloat32(a, b, m, k, n);
+            case BFLOAT16 -> multiplyFloat32(toBFloat16(a), toBFloat16(b), m, k, n);
+            case INT8 -> {
+                float scaleA = symmetricScale(a);
+                float scaleB = symmetricScale(b);
+                int[] acc = multiplyInt8(quantize(a, scaleA), quantize(b, scaleB), m, k, n);
+                yield dequantize(acc, scaleA * scaleB);
+            }
+        };
+    }
+
+    public static float[] multiplyFloat32(float[] a, float[] b, int m, int k, int n) {
+        checkShape(a.length, b.length, m, k, n);
+        float[] c = new float[m * n];
+
+        // i-k-j order keeps the inner loop a unit-stride axpy that C2 turns into SIMD
+        for (int kk = 0; kk < k; kk += BLOCK_K) {
+            int kEnd = Math.min(k, kk + BLOCK_K);
+            for (int jj = 0; jj < n; jj += BLOCK_N) {
+                int jEnd = Math.min(n, jj + BLOCK_N);
+                for (int i = 0; i < m; i++) {
+                    int rowC = i * n;
+                    for (int p = kk; p < kEnd; p++) {
+                        float av = a[i * k + p];
+                        int rowB = p * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            c[rowC + j] += av * b[rowB + j];
+                        }
+                    }
+                }
+            }
+        }
+        return c;
+    }
+
+    public static int[] multiplyInt8(byte[] a, byte[] b, int m, int k, int n) {
+        checkShape(a.length, b.length, m, k, n);
+        int[] c = new int[m * n];
+
+        // byte operands are widened to int before the multiply, so the products
+        // accumulate in int32 and the loop vectorises as a widening multiply-add
+        for (int kk = 0; kk < k; kk += BLOCK_K) {
+            int kEnd = Math.min(k, kk + BLOCK_K);
+            for (int jj = 0; jj < n; jj += BLOCK_N) {
+                int jEnd = Math.min(n, jj + BLOCK_N);
+                for (int i = 0; i < m; i++) {
+                    int rowC = i * n;
+                    for (int p = kk; p < kEnd; p++) {
+                        int av = a[i * k + p];
+                        int rowB = p * n;
+                        for (int j = jj; j < jEnd; j++) {
+                            c[rowC + j] += av * b[rowB + j];
+                        }
+                    }
+                }
+            }
+        }
+        return c;
+    }
+
+    // Full INT8 pipeline: int32 accumulation, then rescale into the output tensor's INT8 range. outScale is
+    // the input scales' product divided by the output tensor's scale
+    public static byte[] multiplyInt8(byte[] a, byte[] b, int m, int k, int n, float outScale, int zeroPoint) {
+        return requantize(multiplyInt8(a, b, m, k, n), outScale, zeroPoint);
+    }
+
+    public static byte[] requantize(int[] acc, float scale, int zeroPoint) {
+        byte[] out = new byte[acc.length];
+        for (int i = 0; i < acc.length; i++) {
+            int q = Math.round(acc[i] * scale) + zeroPoint;
+            out[i] = (byte) Math.min(127, Math.max(-128, q));
+        }
+        return out;
+    }
+
+    public static float symmetricScale(float[] values) {
+        float max = 0.0f;
+        for (float v : values) {
+            max = Math.max(max, Math.abs(v));
+        }
+        return max == 0.0f ? 1.0f : max / 127.0f;
+    }
+
+    public static byte[] quantize(float[] values, float scale) {
+        byte[] out = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            int q = Math.round(values[i] / scale);
+            out[i] = (byte) Math.min(127, Math.max(-127, q));
+        }
+        return out;
+    }
+
+    public static float[] dequantize(int[] acc, float scale) {
+        float[] out = new float[acc.length];
+        for (int i = 0; i < acc.length; i++) {
+            out[i] = acc[i] * scale;
+        }
+        return out;
+    }
+
+    public static float[] toBFloat16(float[] values) {
+        float[] out = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = roundToBFloat16(values[i]);
+        }
+        return out;
+    }
+
+    public static float roundToBFloat16(float value) {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return value;
+        }
+        int bits = Float.floatToRawIntBits(value);
+        int rounding = 0x7fff + ((bits >>> 16) & 1);
+        return Float.intBitsToFloat((bits + rounding) & 0xffff0000);
+    }
+
+    private static void checkShape(int aLength, int bLength, int m, int k, int n) {
+        if (m < 0 || k < 0 || n < 0 || aLength < m * k || bLength < k * n) {
+            throw new IllegalArgumentException(
+                    String.format("Operands do not match shape %dx%d * %dx%d", m, k, k, n));
+        }
+    }
+}
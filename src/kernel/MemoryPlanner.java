@@ -0,0 +1,143 @@
+package kernel;
+
+import status.Memory;
+import task.MemoryTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MemoryPlanner {
+    private MemoryPlanner() {}
+
+    // A tensor is live from the step that produces it through the last step that reads it; tensors nobody
+    // reads are graph outputs and stay live to the end. Transfers out to RAM or DISK hold no device memory
+    public record Lifetime(long taskId, long size, int start, int end) {
+        public boolean overlaps(Lifetime other) {
+            return start <= other.end && other.start <= end;
+        }
+    }
+
+    public record Assignment(Lifetime lifetime, long offset) {
+        public long end() { return offset + lifetime.size(); }
+    }
+
+    public record Plan(List<Assignment> assignments, long peak, long lowerBound, long naive) {
+        public long offsetOf(long taskId) {
+            for (Assignment assignment : assignments) {
+                if (assignment.lifetime().taskId() == taskId) {
+                    return assignment.offset();
+                }
+            }
+            throw new IllegalArgumentException("Task " + taskId + " has no planned tensor");
+        }
+
+        public double savings() {
+            return naive == 0 ? 0.0 : 1.0 - (double) peak / naive;
+        }
+
+        // One arena of the planned peak holds every tensor at its planned offset
+        public BuddyAllocator.Block reserve(BuddyAllocator allocator) {
+            return allocator.allocate(Math.max(1, peak));
+        }
+    }
+
+    public static List<Lifetime> lifetimes(TaskGraph graph) {
+        List<Lifetime> lifetimes = new ArrayList<>();
+        int last = graph.size() - 1;
+        for (NPUTask task : graph.getTasks()) {
+            int start = graph.getIndex(task);
+            int end = graph.getConsumers(task).isEmpty() ? last : start;
+            for (NPUTask consumer : graph.getConsumers(task)) {
+                end = Math.max(end, graph.getIndex(consumer));
+            }
+            lifetimes.add(new Lifetime(task.getTaskId(), isOnDevice(task) ? task.getMemorySize() : 0, start, end));
+        }
+        return lifetimes;
+    }
+
+    public static boolean isOnDevice(NPUTask task) {
+        return !(task instanceof MemoryTask memoryTask) || memoryTask.getMemoryType() == Memory.VRAM;
+    }
+
+    public static Plan plan(TaskGraph graph) {
+        return plan(graph, 1);
+    }
+
+    // Greedy by size: the largest tensors are placed first, each at the lowest aligned offset that does not
+    // collide with an already placed tensor whose lifetime overlaps
+    public static Plan plan(TaskGraph graph, long alignment) {
+        if (alignment <= 0) {
+            throw new IllegalArgumentException("Alignment must be positive");
+        }
+
+        List<Lifetime> lifetimes = lifetimes(graph);
+        List<Lifetime> bySize = new ArrayList<>(lifetimes);
+        bySize.sort(Comparator.comparingLong(Lifetime::size).reversed().thenComparingInt(Lifetime::start));
+
+        Map<Long, Assignment> placed = new HashMap<>();
+        List<Assignment> order = new ArrayList<>();
+        long peak = 0;
+        for (Lifetime lifetime : bySize) {
+            List<Assignment> conflicts = new ArrayList<>();
+            for (Assignment assignment : order) {
+                if (assignment.lifetime().overlaps(lifetime)) {
+                    conflicts.add(assignment);
+                }
+            }
+            conflicts.sort(Comparator.comparingLong(Assignment::offset));
+
+            long offset = 0;
+            for (Assignment conflict : conflicts) {
+                if (offset + lifetime.size() <= conflict.offset()) {
+                    break;
+                }
+                offset = Math.max(offset, align(conflict.end(), alignment));
+            }
+
+            Assignment assignment = new Assignment(lifetime, offset);
+            order.add(assignment);
+            placed.put(lifetime.taskId(), assignment);
+            peak = Math.max(peak, assignment.end());
+        }
+
+        List<Assignment> assignments = new ArrayList<>();
+        long naive = 0;
+        for (Lifetime lifetime : lifetimes) {
+            assignments.add(placed.get(lifetime.taskId()));
+            naive += lifetime.size();
+        }
+        return new Plan(assignments, peak, lowerBound(lifetimes, graph.size()), naive);
+    }
+
+    // No placement can beat the largest total of tensors live at the same step
+    private static long lowerBound(List<Lifetime> lifetimes, int steps) {
+        long bound = 0;
+        for (long live : liveBytes(lifetimes, steps)) {
+            bound = Math.max(bound, live);
+        }
+        return bound;
+    }
+
+    public static long[] liveBytes(List<Lifetime> lifetimes, int steps) {
+        long[] live = new long[steps + 1];
+        for (Lifetime lifetime : lifetimes) {
+            live[lifetime.start()] += lifetime.size();
+            live[lifetime.end() + 1] -= lifetime.size();
+        }
+        long current = 0;
+        for (int step = 0; step < steps; step++) {
+            current += live[step];
+            live[step] = current;
+        }
+        return Arrays.copyOf(live, steps);
+    }
+
+    private static long align(long value, long alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+}
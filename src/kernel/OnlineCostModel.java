@@ -0,0 +1,129 @@
+package kernel;
+
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OnlineCostModel implements CostModel {
+    private static final int PARAMETERS = 8;
+    private static final double MAX_RESIDUAL = 1.0;
+
+    private final AtomicReference<CostCoefficients> current;
+    private final AtomicLong observations;
+    private final double forgetting;
+    private final double[] theta;
+    private final double[][] covariance;
+
+    public OnlineCostModel() {
+        this(CostCoefficients.DEFAULT, 0.995, 0.5);
+    }
+
+    // Fits the log of every coefficient with recursive least squares; priorVariance is the initial
+    // uncertainty of each log-coefficient, forgetting < 1 lets the fit follow drifting hardware
+    public OnlineCostModel(CostCoefficients initial, double forgetting, double priorVariance) {
+        this.current = new AtomicReference<>(initial);
+        this.observations = new AtomicLong();
+        this.forgetting = Math.min(1.0, Math.max(0.9, forgetting));
+        this.theta = new double[]{
+                Math.log(initial.baseTime()), Math.log(initial.priorityScale()), Math.log(initial.memoryScale()),
+                Math.log(initial.batchScale()), Math.log(initial.bandwidthScale()), Math.log(initial.float32Factor()),
+                Math.log(initial.int8Factor()), Math.log(initial.bfloat16Factor())};
+        this.covariance = new double[PARAMETERS][PARAMETERS];
+        for (int i = 0; i < PARAMETERS; i++) {
+            covariance[i][i] = priorVariance;
+        }
+    }
+
+    // Lock-free for dispatch: readers only ever see a complete, immutable snapshot
+    @Override
+    public CostCoefficients getCoefficients() {
+        return current.get();
+    }
+
+    // Recursive Gauss-Newton step on log(measured) - log(predicted). The gradient of the log prediction with
+    // respect to each log-coefficient is 1 for multiplicative terms and -x/(s+x) for the (1 + x/s) terms
+    @Override
+    public synchronized void observe(NPUTask task, long measuredMillis) {
+        CostCoefficients c = current.get();
+        if (task.getExecutionTime() <= 0 || measuredMillis <= 0) {
+            return;
+        }
+        double logPredicted = Math.log(task.getExecutionTime())
+                - logScale(task.getCoefficients(), task) + logScale(c, task);
+
+        // A transfer cannot tell baseTime from bandwidthScale, so it only fits its own coefficient; the shared
+        // terms are left to compute observations and disk speed never re-prices compute work
+        double[] gradient = new double[PARAMETERS];
+        if (task instanceof MemoryTask) {
+            gradient[4] = 1.0;
+        } else {
+            double priorityOffset = task.getPriority() - 100;
+            gradient[0] = 1.0;
+            gradient[1] = -priorityOffset / (c.priorityScale() + priorityOffset);
+            gradient[2] = -task.getMemorySize() / (c.memoryScale() + task.getMemorySize());
+        }
+        if (task instanceof ComputeTask) {
+            gradient[3] = -1.0;
+        }
+        if (task instanceof TensorTask tensor) {
+            gradient[5 + switch (tensor.getTensorType()) {
+                case FLOAT32 -> 0;
+                case INT8 -> 1;
+                case BFLOAT16 -> 2;
+            }] = 1.0;
+        }
+
+        double residual = Math.log(measuredMillis) - logPredicted;
+        residual = Math.max(-MAX_RESIDUAL, Math.min(MAX_RESIDUAL, residual));
+
+        double[] pg = new double[PARAMETERS];
+        double denominator = forgetting;
+        for (int i = 0; i < PARAMETERS; i++) {
+            for (int j = 0; j < PARAMETERS; j++) {
+                pg[i] += covariance[i][j] * gradient[j];
+            }
+            denominator += gradient[i] * pg[i];
+        }
+        for (int i = 0; i < PARAMETERS; i++) {
+            theta[i] += pg[i] / denominator * residual;
+        }
+        for (int i = 0; i < PARAMETERS; i++) {
+            for (int j = 0; j < PARAMETERS; j++) {
+                covariance[i][j] = (covariance[i][j] - pg[i] * pg[j] / denominator) / forgetting;
+            }
+        }
+
+        current.set(new CostCoefficients(Math.exp(theta[0]), Math.exp(theta[1]), Math.exp(theta[2]),
+                Math.exp(theta[3]), Math.exp(theta[4]), Math.exp(theta[5]), Math.exp(theta[6]),
+                Math.exp(theta[7])));
+        observations.incrementAndGet();
+    }
+
+    // Every coefficient enters the cost as a separate factor, so re-pricing the task's own time under new
+    // coefficients is a ratio of these logs; the caller's task is never recalculated
+    private static double logScale(CostCoefficients c, NPUTask task) {
+        double log = Math.log(c.baseTime())
+                + Math.log(1 + (task.getPriority() - 100) / c.priorityScale())
+                + Math.log(1 + task.getMemorySize() / c.memoryScale());
+        if (task instanceof ComputeTask) {
+            log -= Math.log(c.batchScale());
+        }
+        if (task instanceof MemoryTask) {
+            log += Math.log(c.bandwidthScale());
+        }
+        if (task instanceof TensorTask tensor) {
+            log += Math.log(switch (tensor.getTensorType()) {
+                case FLOAT32 -> c.float32Factor();
+                case INT8 -> c.int8Factor();
+                case BFLOAT16 -> c.bfloat16Factor();
+            });
+        }
+        return log;
+    }
+
+    public long getObservations() { return observations.get(); }
+}
@@ -0,0 +1,102 @@
+package kernel;
+
+import status.Eviction;
+import status.Memory;
+import task.MemoryTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class PagedMemory {
+    private final ResidencyCache vram;
+    private final Memory backing;
+    private final int bandwidth;
+    private final Set<Long> backed;
+    private long faults;
+    private long pageOuts;
+    private long pagedIn;
+    private long pagedOut;
+    private long pagingTime;
+
+    // VRAM capacity is in MB; tensors that do not fit are paged to the backing tier (RAM or DISK) over
+    // a link of the given bandwidth
+    public PagedMemory(long capacity, Eviction policy, Memory backing, int bandwidth) {
+        if (backing != Memory.RAM && backing != Memory.DISK) {
+            throw new IllegalArgumentException("Backing store must be RAM or DISK, got " + backing);
+        }
+        if (bandwidth <= 0) {
+            throw new IllegalArgumentException("Bandwidth must be positive");
+        }
+        this.vram = new ResidencyCache(capacity, policy);
+        this.backing = backing;
+        this.bandwidth = bandwidth;
+        this.backed = new HashSet<>();
+    }
+
+    // The transfers a task waits on before it can run: page-outs that make room, then the fault that brings
+    // its tensor back. A first touch allocates in place. Tensors are treated as read-only once written back,
+    // so a clean copy on the backing tier makes later evictions free
+    public synchronized List<MemoryTask> access(NPUTask task) {
+        List<MemoryTask> transfers = new ArrayList<>();
+        if (task.getDataId() == 0) {
+            return transfers;
+        }
+
+        MemoryTask probe = new MemoryTask(task.getTaskId(), task.getPriority(), (int) task.getMemorySize(),
+                bandwidth, Memory.VRAM);
+        probe.setDataId(task.getDataId());
+        if (vram.lookup(probe)) {
+            return transfers;
+        }
+
+        boolean fault = backed.contains(task.getDataId()) || task.getMemorySize() > vram.getCapacity();
+        for (ResidencyCache.Victim victim : vram.admit(probe)) {
+            if (backed.add(victim.dataId())) {
+                MemoryTask pageOut = transfer(task, victim.dataId(), victim.size());
+                transfers.add(pageOut);
+                pageOuts++;
+                pagedOut += victim.size();
+            }
+        }
+        if (fault) {
+            transfers.add(transfer(task, task.getDataId(), task.getMemorySize()));
+            faults++;
+            pagedIn += task.getMemorySize();
+        }
+        if (!vram.isResident(task.getDataId())) {
+            backed.add(task.getDataId());
+        }
+
+        for (MemoryTask transfer : transfers) {
+            pagingTime += transfer.getExecutionTime();
+        }
+        return transfers;
+    }
+
+    private MemoryTask transfer(NPUTask cause, long dataId, long size) {
+        MemoryTask transfer = new MemoryTask(cause.getTaskId(), cause.getPriority(), (int) size, bandwidth, backing);
+        transfer.setDataId(dataId);
+        return transfer;
+    }
+
+    public synchronized boolean isResident(long dataId) { return vram.isResident(dataId); }
+
+    public synchronized long getFaults() { return faults; }
+
+    public synchronized long getPageOuts() { return pageOuts; }
+
+    public synchronized long getPagedIn() { return pagedIn; }
+
+    public synchronized long getPagedOut() { return pagedOut; }
+
+    public synchronized long getPagingTime() { return pagingTime; }
+
+    public long getCapacity() { return vram.getCapacity(); }
+
+    public Eviction getPolicy() { return vram.getPolicy(); }
+
+    public Memory getBacking() { return backing; }
+}
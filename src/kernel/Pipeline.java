@@ -0,0 +1,72 @@
+package kernel;
+
+import status.Memory;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Pipeline {
+    private final int bufferDepth;
+
+    public record Stage(NPUTask load, NPUTask compute, NPUTask store) {}
+
+    public record Result(int stages, long makespan, long loadBusy, long computeBusy, long storeBusy) {
+        public double computeUtilization() {
+            return makespan == 0 ? 0.0 : (double) computeBusy / makespan;
+        }
+    }
+
+    // Depth 1 is the serial baseline, 2 overlaps load and compute, 3 also overlaps the store
+    public Pipeline(int bufferDepth) {
+        this.bufferDepth = Math.max(1, bufferDepth);
+    }
+
+    // One engine per step; batch i holds a buffer from the start of its load until its store has drained
+    public Result run(List<Stage> stages) {
+        int n = stages.size();
+        long[] loadEnd = new long[n];
+        long[] computeEnd = new long[n];
+        long[] storeEnd = new long[n];
+        long loadBusy = 0;
+        long computeBusy = 0;
+        long storeBusy = 0;
+
+        for (int i = 0; i < n; i++) {
+            Stage stage = stages.get(i);
+            long bufferFree = i >= bufferDepth ? storeEnd[i - bufferDepth] : 0;
+            long loadStart = Math.max(i > 0 ? loadEnd[i - 1] : 0, bufferFree);
+            loadEnd[i] = loadStart + stage.load().getExecutionTime();
+
+            long computeStart = Math.max(loadEnd[i], i > 0 ? computeEnd[i - 1] : 0);
+            computeEnd[i] = computeStart + stage.compute().getExecutionTime();
+
+            long storeStart = Math.max(computeEnd[i], i > 0 ? storeEnd[i - 1] : 0);
+            storeEnd[i] = storeStart + stage.store().getExecutionTime();
+
+            loadBusy += stage.load().getExecutionTime();
+            computeBusy += stage.compute().getExecutionTime();
+            storeBusy += stage.store().getExecutionTime();
+        }
+        return new Result(n, n == 0 ? 0 : storeEnd[n - 1], loadBusy, computeBusy, storeBusy);
+    }
+
+    // Wraps each tensor in a load from and a store back to the given tier, sized by its memory footprint;
+    // the transfers take reserved ids so they never collide with ids the simulation hands out
+    public static List<Stage> stagesFor(List<TensorTask> tasks, Memory tier, int bandwidth) {
+        List<Stage> stages = new ArrayList<>();
+        for (TensorTask task : tasks) {
+            int size = (int) task.getMemorySize();
+            MemoryTask load = new MemoryTask(TaskIds.reserve(), task.getPriority(), size, bandwidth, tier);
+            MemoryTask store = new MemoryTask(TaskIds.reserve(), task.getPriority(), size, bandwidth, tier);
+            load.setDataId(task.getDataId());
+            store.setDataId(task.getDataId());
+            stages.add(new Stage(load, task, store));
+        }
+        return stages;
+    }
+
+    public int getBufferDepth() { return bufferDepth; }
+}
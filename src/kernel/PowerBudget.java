@@ -0,0 +1,54 @@
+package kernel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PowerBudget {
+    private static final double SCALE = 1000.0;
+
+    private final long limit;
+    private final AtomicLong used;
+    private final AtomicLong peak;
+
+    // Fixed-point milli-units so admission and release are single CAS operations
+    public PowerBudget(double limit) {
+        this.limit = Double.isInfinite(limit) ? Long.MAX_VALUE : (long) (Math.max(0.0, limit) * SCALE);
+        this.used = new AtomicLong();
+        this.peak = new AtomicLong();
+    }
+
+    public boolean tryAcquire(double power) {
+        long amount = toFixed(power);
+        while (true) {
+            long current = used.get();
+            if (current > limit - amount) {
+                return false;
+            }
+            if (used.compareAndSet(current, current + amount)) {
+                peak.accumulateAndGet(current + amount, Math::max);
+                return true;
+            }
+        }
+    }
+
+    // Admits regardless of the limit; for a task that can never fit and would otherwise starve
+    public void forceAcquire(double power) {
+        long total = used.addAndGet(toFixed(power));
+        peak.accumulateAndGet(total, Math::max);
+    }
+
+    public void release(double power) {
+        used.addAndGet(-toFixed(power));
+    }
+
+    private static long toFixed(double power) {
+        return (long) Math.ceil(Math.max(0.0, power) * SCALE);
+    }
+
+    public double getLimit() { return limit == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : limit / SCALE; }
+
+    public double getUsed() { return used.get() / SCALE; }
+
+    public double getAvailable() { return limit == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : (limit - used.get()) / SCALE; }
+
+    public double getPeak() { return peak.get() / SCALE; }
+}
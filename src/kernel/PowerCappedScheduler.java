@@ -0,0 +1,150 @@
+package kernel;
+
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class PowerCappedScheduler {
+    private static final int RESOLUTION = 256;
+
+    private final int lanes;
+    private final double budget;
+    private final int window;
+
+    public record Result(int completed, long makespan, double energy, double peakPower, int overBudget,
+                         int maxOvertaken) {
+        public double averagePower() {
+            return makespan == 0 ? 0.0 : energy / makespan;
+        }
+
+        public double throughput() {
+            return makespan == 0 ? 0.0 : completed * 1000.0 / makespan;
+        }
+
+        public double throughputPerWatt() {
+            double power = averagePower();
+            return power == 0.0 ? 0.0 : throughput() / power;
+        }
+    }
+
+    private record Running(long end, double power) {}
+
+    // Double.POSITIVE_INFINITY runs uncapped; admission looks at most window tasks past the queue head, and
+    // at most window later tasks may start ahead of the head before it is admitted
+    public PowerCappedScheduler(int lanes, double budget) {
+        this.lanes = Math.max(1, lanes);
+        this.budget = budget;
+        this.window = 4 * this.lanes;
+    }
+
+    public Result run(List<? extends NPUTask> tasks) {
+        PowerBudget power = new PowerBudget(budget);
+        LinkedList<NPUTask> pending = new LinkedList<>(tasks);
+        PriorityQueue<Running> running = new PriorityQueue<>((a, b) -> Long.compare(a.end(), b.end()));
+        long now = 0;
+        double energy = 0.0;
+        int completed = 0;
+        int overBudget = 0;
+        NPUTask head = null;
+        int overtaken = 0;
+        int maxOvertaken = 0;
+
+        while (!pending.isEmpty() || !running.isEmpty()) {
+            if (pending.peek() != head) {
+                head = pending.peek();
+                overtaken = 0;
+            }
+
+            // Age bound: a head the knapsack keeps passing over blocks further admissions, so running work
+            // drains until it fits instead of starving behind a stream of smaller tasks
+            int slots = lanes - running.size();
+            List<NPUTask> admitted = head != null && overtaken >= window
+                    ? (slots > 0 ? List.of(head) : List.of())
+                    : admit(pending, slots, power.getAvailable());
+            for (NPUTask task : admitted) {
+                double draw = PowerModel.estimate(task);
+                if (power.tryAcquire(draw)) {
+                    pending.remove(task);
+                    running.add(new Running(now + task.getExecutionTime(), draw));
+                    energy += draw * task.getExecutionTime();
+                    if (task == head) {
+                        head = null;
+                    } else if (head != null) {
+                        maxOvertaken = Math.max(maxOvertaken, ++overtaken);
+                    }
+                }
+            }
+
+            if (running.isEmpty()) {
+                NPUTask forced = pending.poll();
+                double draw = PowerModel.estimate(forced);
+                power.forceAcquire(draw);
+                running.add(new Running(now + forced.getExecutionTime(), draw));
+                energy += draw * forced.getExecutionTime();
+                overBudget++;
+            }
+
+            Running done = running.poll();
+            now = done.end();
+            power.release(done.power());
+            completed++;
+            while (!running.isEmpty() && running.peek().end() == now) {
+                power.release(running.poll().power());
+                completed++;
+            }
+        }
+        return new Result(completed, now, energy, power.getPeak(), overBudget, maxOvertaken);
+    }
+
+    // 0/1 knapsack over the head of the queue: maximise admitted work (ms of execution) subject to the
+    // free power and free lanes. Weights round up so the chosen set never exceeds the real budget
+    private List<NPUTask> admit(List<NPUTask> pending, int slots, double available) {
+        List<NPUTask> candidates = new ArrayList<>(pending.subList(0, Math.min(window, pending.size())));
+        if (slots <= 0 || candidates.isEmpty()) {
+            return List.of();
+        }
+        if (Double.isInfinite(available)) {
+            return candidates.subList(0, Math.min(slots, candidates.size()));
+        }
+
+        int n = candidates.size();
+        double unit = Math.max(available, 1e-9) / RESOLUTION;
+        int[] weight = new int[n];
+        for (int i = 0; i < n; i++) {
+            weight[i] = (int) Math.min(RESOLUTION + 1, Math.ceil(PowerModel.estimate(candidates.get(i)) / unit));
+        }
+
+        int maxItems = Math.min(slots, n);
+        long[][][] best = new long[n + 1][maxItems + 1][RESOLUTION + 1];
+        for (int i = 1; i <= n; i++) {
+            long value = Math.max(1, candidates.get(i - 1).getExecutionTime());
+            for (int k = 0; k <= maxItems; k++) {
+                for (int c = 0; c <= RESOLUTION; c++) {
+                    best[i][k][c] = best[i - 1][k][c];
+                    if (k > 0 && weight[i - 1] <= c) {
+                        best[i][k][c] = Math.max(best[i][k][c], best[i - 1][k - 1][c - weight[i - 1]] + value);
+                    }
+                }
+            }
+        }
+
+        List<NPUTask> chosen = new ArrayList<>();
+        int k = maxItems;
+        int c = RESOLUTION;
+        for (int i = n; i > 0; i--) {
+            if (best[i][k][c] != best[i - 1][k][c]) {
+                chosen.add(candidates.get(i - 1));
+                k--;
+                c -= weight[i - 1];
+            }
+        }
+        return chosen;
+    }
+
+    public int getLanes() { return lanes; }
+
+    public double getBudget() { return budget; }
+}
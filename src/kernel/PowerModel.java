@@ -0,0 +1,34 @@
+package kernel;
+
+import status.Quantization;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+import task.VectorTask;
+
+public class PowerModel {
+    private PowerModel() {}
+
+    public static double getTypeFactor(NPUTask task) {
+        return switch (task) {
+            case TensorTask t -> t.getTensorType() == Quantization.FLOAT32 ? 1.5 : 1.0;
+            case VectorTask v when v.getVectorOperation() != null -> switch (v.getVectorOperation()) {
+                case ADD -> 1.0;
+                case MUL -> 1.2;
+                case REDUCE -> 1.5;
+            };
+            case MemoryTask m -> switch (m.getMemoryType()) {
+                case CACHE -> 0.5;
+                case RAM -> 1.0;
+                case VRAM -> 1.5;
+                case DISK -> 2.0;
+            };
+            default -> 1.0;
+        };
+    }
+
+    // Draw while running, available before the task has been dispatched
+    public static double estimate(NPUTask task) {
+        return task.estimatePowerConsumption() * getTypeFactor(task);
+    }
+}
@@ -0,0 +1,140 @@
+package kernel;
+
+import task.MemoryTask;
+import task.TensorTask;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class PrefetchScheduler {
+    private final long capacity;
+    private final int lookahead;
+    private final Map<Long, Long> cancellations;
+
+    public record Step(MemoryTask load, TensorTask compute) {}
+
+    public record Result(int completed, int cancelled, long makespan, long hiddenTransfer,
+                         long exposedTransfer, long wastedTransfer, long peakResident) {}
+
+    private record Buffer(long size, long freeAt) {}
+
+    // Capacity is in the same units as task memory sizes; lookahead 0 loads on demand
+    public PrefetchScheduler(long capacity, int lookahead) {
+        this.capacity = Math.max(1, capacity);
+        this.lookahead = Math.max(0, lookahead);
+        this.cancellations = new HashMap<>();
+    }
+
+    // Slower tiers need their loads issued further ahead of the consumer
+    public int lookaheadFor(MemoryTask load) {
+        return (int) Math.ceil(lookahead * load.getMemoryTypeMultiplier());
+    }
+
+    // Plan change: the consumer of dataId is dropped if it has not started by then, aborting its transfer
+    public void cancel(long dataId, long atTime) {
+        cancellations.put(dataId, Math.max(0, atTime));
+    }
+
+    // One DMA engine and one compute engine in virtual time. Each load targets the estimated start of its
+    // consumer minus its own transfer time, and holds its buffer until the consumer finishes
+    public Result run(List<Step> plan) {
+        int n = plan.size();
+        long[] computeStart = new long[n];
+        long[] computeTime = new long[n];
+        ArrayDeque<Buffer> resident = new ArrayDeque<>();
+        long used = 0;
+        long peak = 0;
+        long dmaFree = 0;
+        long computeFree = 0;
+        long hidden = 0;
+        long exposed = 0;
+        long wasted = 0;
+        int completed = 0;
+        int cancelled = 0;
+
+        for (int i = 0; i < n; i++) {
+            Step step = plan.get(i);
+            long size = step.load().getMemorySize();
+            long transfer = step.load().getExecutionTime();
+            if (size > capacity) {
+                throw new IllegalArgumentException(
+                        String.format("Load of %d exceeds prefetch capacity %d", size, capacity));
+            }
+
+            long issue = Math.max(dmaFree, targetIssue(i, step.load(), transfer, computeStart, computeTime, computeFree));
+            Iterator<Buffer> buffers = resident.iterator();
+            while (buffers.hasNext()) {
+                Buffer buffer = buffers.next();
+                if (buffer.freeAt() <= issue) {
+                    used -= buffer.size();
+                    buffers.remove();
+                }
+            }
+            while (used + size > capacity) {
+                Buffer oldest = resident.poll();
+                used -= oldest.size();
+                issue = Math.max(issue, oldest.freeAt());
+            }
+
+            Long cancelAt = cancellations.get(step.compute().getDataId());
+            if (cancelAt != null && cancelAt <= issue) {
+                cancelled++;
+                continue;
+            }
+
+            long loaded = issue + transfer;
+            used += size;
+            peak = Math.max(peak, used);
+            if (cancelAt != null && cancelAt < Math.max(loaded, computeFree)) {
+                long stop = Math.min(loaded, cancelAt);
+                wasted += stop - issue;
+                dmaFree = stop;
+                resident.add(new Buffer(size, cancelAt));
+                cancelled++;
+                continue;
+            }
+
+            dmaFree = loaded;
+            long start = Math.max(computeFree, loaded);
+            long stall = Math.max(0, loaded - computeFree);
+            exposed += Math.min(stall, transfer);
+            hidden += transfer - Math.min(stall, transfer);
+
+            computeStart[i] = start;
+            computeTime[i] = step.compute().getExecutionTime();
+            computeFree = start + computeTime[i];
+            resident.add(new Buffer(size, computeFree));
+            completed++;
+        }
+        return new Result(completed, cancelled, computeFree, hidden, exposed, wasted, peak);
+    }
+
+    private long targetIssue(int i, MemoryTask load, long transfer, long[] computeStart, long[] computeTime,
+                             long computeFree) {
+        int window = lookaheadFor(load);
+        if (window == 0 || i == 0) {
+            return i == 0 ? 0 : computeFree;
+        }
+
+        int from = Math.max(0, i - window);
+        while (from < i && computeTime[from] == 0) {
+            from++;
+        }
+        if (from == i) {
+            return computeFree;
+        }
+
+        long estimatedStart = computeStart[from];
+        for (int j = from; j < i; j++) {
+            estimatedStart += computeTime[j];
+        }
+        return Math.max(computeStart[from], estimatedStart - transfer);
+    }
+
+    public long getCapacity() { return capacity; }
+
+    public int getLookahead() { return lookahead; }
+}
@@ -0,0 +1,204 @@
+package kernel;
+
+import status.Memory;
+import status.Retention;
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+import task.VectorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class RecomputePlanner {
+    private final long budget;
+    private final int bandwidth;
+    private final long alignment;
+
+    public record Decision(long taskId, Retention retention, int from, int to, long size, long cost) {}
+
+    public record Plan(TaskGraph graph, List<Decision> decisions, MemoryPlanner.Plan memory, long addedTime,
+                       boolean fits) {
+        public long count(Retention retention) {
+            return decisions.stream().filter(decision -> decision.retention() == retention).count();
+        }
+    }
+
+    private record Candidate(NPUTask tensor, int from, int to, Retention retention, long cost) {}
+
+    // Budget is the VRAM arena in MB; bandwidth prices the RAM round trip of an offload
+    public RecomputePlanner(long budget, int bandwidth, long alignment) {
+        if (budget <= 0 || bandwidth <= 0 || alignment <= 0) {
+            throw new IllegalArgumentException("Budget, bandwidth and alignment must be positive");
+        }
+        this.budget = budget;
+        this.bandwidth = bandwidth;
+        this.alignment = alignment;
+    }
+
+    // Repeatedly takes the step with the most live memory and frees the tensor idle across it that is
+    // cheapest per MB: recompute its producer right before the next use, or store it to RAM after the
+    // previous use and load it back. Recompute is only offered when the producer's inputs are still live at
+    // the next use, so it never stretches another lifetime
+    public Plan plan(TaskGraph source) {
+        TaskGraph graph = source;
+        List<Decision> decisions = new ArrayList<>();
+        long addedTime = 0;
+        MemoryPlanner.Plan memory = MemoryPlanner.plan(graph, alignment);
+        int limit = 4 * source.size();
+        while (memory.peak() > budget) {
+            Candidate best = decisions.size() < limit ? cheapest(graph) : null;
+            if (best == null) {
+                return new Plan(graph, decisions, memory, addedTime, false);
+            }
+
+            graph = apply(graph, best);
+            addedTime += best.cost();
+            decisions.add(new Decision(best.tensor().getTaskId(), best.retention(), best.from(), best.to(),
+                    best.tensor().getMemorySize(), best.cost()));
+            memory = MemoryPlanner.plan(graph, alignment);
+        }
+        return new Plan(graph, decisions, memory, addedTime, true);
+    }
+
+    private Candidate cheapest(TaskGraph graph) {
+        List<NPUTask> tasks = graph.getTasks();
+        List<MemoryPlanner.Lifetime> lifetimes = MemoryPlanner.lifetimes(graph);
+        long[] live = MemoryPlanner.liveBytes(lifetimes, tasks.size());
+        int peak = 0;
+        for (int step = 1; step < live.length; step++) {
+            if (live[step] > live[peak]) {
+                peak = step;
+            }
+        }
+
+        Candidate best = null;
+        double bestScore = Double.MAX_VALUE;
+        for (NPUTask tensor : tasks) {
+            if (!MemoryPlanner.isOnDevice(tensor) || tensor.getMemorySize() == 0) {
+                continue;
+            }
+            int from = graph.getIndex(tensor);
+            int to = -1;
+            boolean usedAtPeak = from == peak;
+            for (NPUTask consumer : graph.getConsumers(tensor)) {
+                int use = graph.getIndex(consumer);
+                usedAtPeak |= use == peak;
+                if (use < peak) {
+                    from = Math.max(from, use);
+                } else if (use > peak && (to < 0 || use < to)) {
+                    to = use;
+                }
+            }
+            if (usedAtPeak || from > peak || to < 0) {
+                continue;
+            }
+
+            for (Candidate candidate : options(graph, lifetimes, tensor, from, to)) {
+                double score = (double) candidate.cost() / tensor.getMemorySize();
+                if (score < bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<Candidate> options(TaskGraph graph, List<MemoryPlanner.Lifetime> lifetimes, NPUTask tensor,
+                                    int from, int to) {
+        List<Candidate> options = new ArrayList<>();
+        options.add(new Candidate(tensor, from, to, Retention.OFFLOAD,
+                store(tensor, 0).getExecutionTime() + load(tensor, 0).getExecutionTime()));
+
+        NPUTask copy = copyOf(tensor, 0);
+        boolean inputsLive = copy != null;
+        for (NPUTask input : graph.getInputs(tensor)) {
+            inputsLive &= lifetimes.get(graph.getIndex(input)).end() >= to;
+        }
+        if (inputsLive) {
+            options.add(new Candidate(tensor, from, to, Retention.RECOMPUTE, copy.getExecutionTime()));
+        }
+        return options;
+    }
+
+    // Readers from the next use on switch to the replacement; an offload also gains a store after the last
+    // earlier use. Added tasks take reserved ids, so they never collide with ids the simulation hands out
+    private TaskGraph apply(TaskGraph graph, Candidate candidate) {
+        NPUTask tensor = candidate.tensor();
+        NPUTask store = candidate.retention() == Retention.OFFLOAD ? store(tensor, TaskIds.reserve()) : null;
+        NPUTask replacement = store != null ? load(tensor, TaskIds.reserve()) : copyOf(tensor, TaskIds.reserve());
+        NPUTask[] replacementInputs = store != null
+                ? new NPUTask[]{store}
+                : graph.getInputs(tensor).toArray(new NPUTask[0]);
+
+        TaskGraph rebuilt = new TaskGraph();
+        List<NPUTask> tasks = graph.getTasks();
+        for (int i = 0; i < tasks.size(); i++) {
+            NPUTask task = tasks.get(i);
+            if (i == candidate.to()) {
+                rebuilt.add(replacement, replacementInputs);
+            }
+
+            List<NPUTask> inputs = graph.getInputs(task);
+            NPUTask[] mapped = new NPUTask[inputs.size()];
+            for (int k = 0; k < mapped.length; k++) {
+                mapped[k] = inputs.get(k) == tensor && i >= candidate.to() ? replacement : inputs.get(k);
+            }
+            rebuilt.add(task, mapped);
+
+            if (i == candidate.from() && store != null) {
+                rebuilt.add(store, tensor);
+            }
+        }
+        return rebuilt;
+    }
+
+    private MemoryTask store(NPUTask tensor, long id) {
+        MemoryTask task = new MemoryTask(id, tensor.getPriority(), (int) tensor.getMemorySize(), bandwidth, Memory.RAM);
+        task.setDataId(tensor.getDataId());
+        return task;
+    }
+
+    private MemoryTask load(NPUTask tensor, long id) {
+        MemoryTask task = new MemoryTask(id, tensor.getPriority(), (int) tensor.getMemorySize(), bandwidth, Memory.VRAM);
+        task.setDataId(tensor.getDataId());
+        return task;
+    }
+
+    // A fresh task that produces the same tensor at the same cost; only plain task types are rebuilt, anything
+    // else is offloaded
+    private static NPUTask copyOf(NPUTask task, long id) {
+        NPUTask copy;
+        if (task instanceof TensorTask tensor && task.getClass() == TensorTask.class) {
+            TensorTask clone = tensor.getData() != null
+                    ? new TensorTask(id, tensor.getPriority(), (int) tensor.getMemorySize(), tensor.getComputeUnits(),
+                            tensor.getBatchSize(), tensor.getData())
+                    : new TensorTask(id, tensor.getPriority(), (int) tensor.getMemorySize(), tensor.getComputeUnits(),
+                            tensor.getBatchSize(), tensor.getDimensions(), tensor.getTensorType());
+            if (tensor.getConvolution() != null) {
+                clone.setConvolution(tensor.getConvolution());
+            }
+            if (tensor.getData() == null) {
+                clone.setSparsity(tensor.getSparsity());
+            }
+            copy = clone;
+        } else if (task instanceof VectorTask vector && task.getClass() == VectorTask.class) {
+            copy = new VectorTask(id, vector.getPriority(), (int) vector.getMemorySize(), vector.getComputeUnits(),
+                    vector.getBatchSize(), vector.getVectorSize(), vector.getVectorOperation());
+        } else if (task.getClass() == ComputeTask.class) {
+            ComputeTask compute = (ComputeTask) task;
+            copy = new ComputeTask(id, compute.getPriority(), (int) compute.getMemorySize(), compute.getComputeUnits(),
+                    compute.getBatchSize());
+        } else {
+            return null;
+        }
+        copy.setDataId(task.getDataId());
+        return copy;
+    }
+
+    public long getBudget() { return budget; }
+
+    public int getBandwidth() { return bandwidth; }
+}
@@ -0,0 +1,176 @@
+package kernel;
+
+import status.Eviction;
+import status.Memory;
+import task.MemoryTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResidencyCache {
+    private static final int HISTORY_LIMIT = 4096;
+
+    private final long capacity;
+    private final Eviction policy;
+    private final Map<Long, Entry> resident;
+    private final Map<Long, Long> history;
+    private long used;
+    private long clock;
+    private double inflation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long megabytesSaved;
+    private long timeSaved;
+
+    public record Victim(long dataId, long size) {}
+
+    private static class Entry {
+        private final long size;
+        private long frequency;
+        private long lastUse;
+        private double priority;
+
+        private Entry(long size) {
+            this.size = size;
+        }
+    }
+
+    // Capacity and sizes are in the same units as task memory sizes (MB)
+    public ResidencyCache(long capacity, Eviction policy) {
+        this.capacity = Math.max(0, capacity);
+        this.policy = policy;
+        this.resident = new HashMap<>();
+        this.history = new HashMap<>();
+    }
+
+    public static boolean isCacheable(MemoryTask task) {
+        return task.getMemoryType() == Memory.VRAM;
+    }
+
+    // A hit means the tensor is already on the device and the transfer can be skipped
+    public synchronized boolean lookup(MemoryTask task) {
+        record(task.getDataId());
+        Entry entry = resident.get(task.getDataId());
+        if (entry == null || entry.size != task.getMemorySize()) {
+            misses++;
+            return false;
+        }
+
+        hits++;
+        megabytesSaved += entry.size;
+        timeSaved += task.getExecutionTime();
+        touch(task.getDataId(), entry);
+        return true;
+    }
+
+    // Called once the transfer has landed; tensors larger than the whole cache are never admitted.
+    // Returns whatever was evicted to make room
+    public synchronized List<Victim> admit(MemoryTask task) {
+        long size = task.getMemorySize();
+        List<Victim> victims = new ArrayList<>();
+        if (size > capacity) {
+            return victims;
+        }
+
+        Entry previous = resident.remove(task.getDataId());
+        if (previous != null) {
+            used -= previous.size;
+        }
+        while (used + size > capacity) {
+            victims.add(evict());
+        }
+
+        Entry entry = new Entry(size);
+        resident.put(task.getDataId(), entry);
+        used += size;
+        touch(task.getDataId(), entry);
+        return victims;
+    }
+
+    public synchronized boolean load(MemoryTask task) {
+        if (lookup(task)) {
+            return true;
+        }
+        admit(task);
+        return false;
+    }
+
+    // The tensor changed on the host, so the device copy is stale
+    public synchronized void invalidate(long dataId) {
+        Entry entry = resident.remove(dataId);
+        if (entry != null) {
+            used -= entry.size;
+        }
+    }
+
+    // Request counts survive eviction so a re-admitted weight keeps its history; counts halve whenever the
+    // table fills, which ages out one-shot tensors
+    private void record(long dataId) {
+        history.merge(dataId, 1L, Long::sum);
+        if (history.size() > HISTORY_LIMIT) {
+            history.replaceAll((id, count) -> count / 2);
+            history.values().removeIf(count -> count == 0);
+        }
+    }
+
+    // GreedyDual-Size-Frequency for SIZE_AWARE: priority = inflation + frequency / size, and the inflation
+    // rises to each evicted priority so long-idle entries age out
+    private void touch(long dataId, Entry entry) {
+        entry.frequency = history.getOrDefault(dataId, 1L);
+        entry.lastUse = ++clock;
+        entry.priority = inflation + (double) entry.frequency / Math.max(1, entry.size);
+    }
+
+    private Victim evict() {
+        Long victim = null;
+        Entry worst = null;
+        for (Map.Entry<Long, Entry> candidate : resident.entrySet()) {
+            if (worst == null || isWorse(candidate.getValue(), worst)) {
+                victim = candidate.getKey();
+                worst = candidate.getValue();
+            }
+        }
+
+        resident.remove(victim);
+        used -= worst.size;
+        evictions++;
+        if (policy == Eviction.SIZE_AWARE) {
+            inflation = worst.priority;
+        }
+        return new Victim(victim, worst.size);
+    }
+
+    private boolean isWorse(Entry a, Entry b) {
+        return switch (policy) {
+            case LRU -> a.lastUse < b.lastUse;
+            case LFU -> a.frequency < b.frequency || (a.frequency == b.frequency && a.lastUse < b.lastUse);
+            case SIZE_AWARE -> a.priority < b.priority || (a.priority == b.priority && a.lastUse < b.lastUse);
+        };
+    }
+
+    public synchronized boolean isResident(long dataId) { return resident.containsKey(dataId); }
+
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public synchronized long getHits() { return hits; }
+
+    public synchronized long getMisses() { return misses; }
+
+    public synchronized long getEvictions() { return evictions; }
+
+    public synchronized long getMegabytesSaved() { return megabytesSaved; }
+
+    public synchronized long getTimeSaved() { return timeSaved; }
+
+    public synchronized long getUsed() { return used; }
+
+    public long getCapacity() { return capacity; }
+
+    public Eviction getPolicy() { return policy; }
+}
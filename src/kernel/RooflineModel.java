@@ -0,0 +1,120 @@
+package kernel;
+
+import status.Bound;
+import status.Convolution;
+import status.Operation;
+import status.Quantization;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+import task.VectorTask;
+import tensor.TensorData;
+
+public class RooflineModel {
+    private final double peakFlops;
+    private final double bandwidth;
+    private final int computeUnits;
+
+    public record Estimate(double flops, double bytes, Bound bound, double millis) {
+        public double intensity() {
+            return bytes == 0 ? Double.POSITIVE_INFINITY : flops / bytes;
+        }
+    }
+
+    // peakFlops is the whole device at FLOAT32; a task gets the share of its compute units
+    public RooflineModel(double peakFlops, double bandwidth, int computeUnits) {
+        if (peakFlops <= 0 || bandwidth <= 0 || computeUnits <= 0) {
+            throw new IllegalArgumentException("Roofline peaks and unit count must be positive");
+        }
+        this.peakFlops = peakFlops;
+        this.bandwidth = bandwidth;
+        this.computeUnits = computeUnits;
+    }
+
+    // 16 TFLOP/s FLOAT32 over 16 units, 400 GB/s
+    public static RooflineModel standard() {
+        return new RooflineModel(16e12, 400e9, 16);
+    }
+
+    public double getPeakFlops(Quantization type, int units) {
+        double share = Math.min(units, computeUnits) / (double) computeUnits;
+        return peakFlops * share * switch (type) {
+            case FLOAT32 -> 1.0;
+            case BFLOAT16 -> 2.0;
+            case INT8 -> 4.0;
+        };
+    }
+
+    // Intensity above which a task at the given type and units is compute-bound
+    public double getRidgePoint(Quantization type, int units) {
+        return getPeakFlops(type, units) / bandwidth;
+    }
+
+    public Estimate estimate(NPUTask task) {
+        return switch (task) {
+            case TensorTask t -> roofline(tensorFlops(t), tensorBytes(t), t.getTensorType(), t.getComputeUnits());
+            case VectorTask v -> roofline(vectorFlops(v), vectorBytes(v), Quantization.FLOAT32, v.getComputeUnits());
+            case MemoryTask m -> roofline(0, m.getMemorySize() * 1024.0 * 1024.0, Quantization.FLOAT32, computeUnits);
+            default -> roofline(0, task.getMemorySize() * 1024.0 * 1024.0, Quantization.FLOAT32, computeUnits);
+        };
+    }
+
+    private Estimate roofline(double flops, double bytes, Quantization type, int units) {
+        double computeTime = flops / getPeakFlops(type, units);
+        double memoryTime = bytes / bandwidth;
+        Bound bound = computeTime >= memoryTime ? Bound.COMPUTE : Bound.MEMORY;
+        return new Estimate(flops, bytes, bound, Math.max(computeTime, memoryTime) * 1000.0);
+    }
+
+    // {N}: element-wise; {M, K}: M x K by K x K weights; {H, W, C}: 3x3 same-padded convolution to C channels,
+    // with Winograd F(2x2,3x3) needing 2.25x fewer multiplies. Higher ranks fold the leading dims into M
+    private static double tensorFlops(TensorTask task) {
+        int[] dims = task.getDimensions();
+        double batch = task.getBatchSize();
+        if (dims.length <= 1) {
+            return batch * (dims.length == 0 ? 1 : dims[0]);
+        }
+        if (dims.length == 3) {
+            double flops = 2.0 * dims[0] * dims[1] * dims[2] * dims[2] * 9;
+            return batch * (task.getConvolution() == Convolution.WINOGRAD ? flops / 2.25 : flops);
+        }
+        double k = dims[dims.length - 1];
+        return batch * 2.0 * rows(dims) * k * k;
+    }
+
+    // Activations in and out once per sample, weights once per batch
+    private static double tensorBytes(TensorTask task) {
+        int[] dims = task.getDimensions();
+        double width = TensorData.elementBytes(task.getTensorType());
+        double activations = TensorData.elementCount(dims);
+        double weights = switch (dims.length) {
+            case 0, 1 -> 0;
+            case 3 -> 9.0 * dims[2] * dims[2];
+            default -> (double) dims[dims.length - 1] * dims[dims.length - 1];
+        };
+        return width * (2 * activations * task.getBatchSize() + weights);
+    }
+
+    private static double rows(int[] dims) {
+        double rows = 1;
+        for (int i = 0; i < dims.length - 1; i++) {
+            rows *= dims[i];
+        }
+        return rows;
+    }
+
+    private static double vectorFlops(VectorTask task) {
+        return (double) task.getVectorSize() * task.getBatchSize();
+    }
+
+    // Two FLOAT32 operands in and one vector out; a reduction writes a single value
+    private static double vectorBytes(VectorTask task) {
+        double elements = (double) task.getVectorSize() * task.getBatchSize();
+        double output = task.getVectorOperation() == Operation.REDUCE ? task.getBatchSize() : elements;
+        return 4.0 * (2 * elements + output);
+    }
+
+    public double getBandwidth() { return bandwidth; }
+
+    public int getComputeUnits() { return computeUnits; }
+}
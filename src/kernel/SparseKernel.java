@@ -0,0 +1,82 @@
+package kernel;
+
+import status.Storage;
+import task.TensorTask;
+import tensor.BlockSparseTensor;
+import tensor.CooTensor;
+import tensor.CsrTensor;
+import tensor.SparseTensor;
+import tensor.TensorData;
+
+public class SparseKernel {
+    // Crossovers measured with KernelBenchmark on 512x512 operands (see benchmarkSparsity)
+    public static final double CSR_THRESHOLD = 0.30;
+    public static final double BLOCK_FILL_THRESHOLD = 0.75;
+    public static final double COO_THRESHOLD = 0.999;
+    public static final int BLOCK_SIZE = 8;
+
+    private SparseKernel() {}
+
+    public static Storage selectStorage(TensorTask task) {
+        // Measured data is ground truth, block layout included; the task's own sparsity is capped for the
+        // cost model and says nothing about where the zeros are
+        TensorData data = task.getData();
+        if (data != null) {
+            return selectStorage(data.getSparsity(), BlockSparseTensor.blockSparsity(data, BLOCK_SIZE));
+        }
+        return selectStorage(task.getSparsity(), 0.0);
+    }
+
+    public static Storage selectStorage(double sparsity, double blockSparsity) {
+        if (sparsity < CSR_THRESHOLD) {
+            return Storage.DENSE;
+        }
+
+        // Block storage only pays off when the surviving blocks are mostly filled
+        double blockFill = blockSparsity < 1.0 ? (1.0 - sparsity) / (1.0 - blockSparsity) : 0.0;
+        if (blockFill >= BLOCK_FILL_THRESHOLD) {
+            return Storage.BLOCK_SPARSE;
+        }
+        return sparsity >= COO_THRESHOLD ? Storage.COO : Storage.CSR;
+    }
+
+    public static float[] multiply(float[] a, float[] b, int m, int k, int n) {
+        Storage storage = selectStorage(measureSparsity(a, m * k),
+                BlockSparseTensor.blockSparsity(a, m, k, BLOCK_SIZE));
+        return multiply(storage, a, b, m, k, n);
+    }
+
+    public static float[] multiply(Storage storage, float[] a, float[] b, int m, int k, int n) {
+        if (storage == Storage.DENSE) {
+            return MatMulKernel.multiplyFloat32(a, b, m, k, n);
+        }
+        if (b.length < k * n) {
+            throw new IllegalArgumentException(
+                    String.format("Operands do not match shape %dx%d * %dx%d", m, k, k, n));
+        }
+        return pack(storage, a, m, k).multiply(b, n);
+    }
+
+    public static SparseTensor pack(Storage storage, float[] dense, int rows, int cols) {
+        if (dense.length < rows * cols) {
+            throw new IllegalArgumentException(
+                    String.format("Operand does not match shape %dx%d", rows, cols));
+        }
+        return switch (storage) {
+            case CSR -> CsrTensor.fromDense(dense, rows, cols);
+            case COO -> CooTensor.fromDense(dense, rows, cols);
+            case BLOCK_SPARSE -> BlockSparseTensor.fromDense(dense, rows, cols, BLOCK_SIZE);
+            case DENSE -> throw new IllegalArgumentException("Dense storage has no sparse packing");
+        };
+    }
+
+    public static double measureSparsity(float[] values, int length) {
+        if (length == 0) return 0.0;
+
+        int zeros = 0;
+        for (int i = 0; i < length; i++) {
+            if (values[i] == 0.0f) zeros++;
+        }
+        return (double) zeros / length;
+    }
+}
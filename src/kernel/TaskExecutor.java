@@ -1,18 +1,40 @@
 package kernel;
 
+import task.MemoryTask;
 import task.NPUTask;
+import status.Memory;
 import status.Status;
+import java.io.IOException;
 import java.util.concurrent.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class TaskExecutor {
     private static final TaskExecutor INSTANCE = new TaskExecutor();
     private final ExecutorService executor;
     private final Map<Long, Future<?>> runningTasks;
+    private final Map<Long, NPUTask> dispatchedBy;
+    private final Map<Long, CompletableFuture<NPUTask>> completions;
+    private final List<NPUTask> pendingTasks;
+    private final AtomicLong fusedTasks;
+    private final Map<Memory, BuddyAllocator> allocators;
+    private final Map<Long, Allocation> allocations;
+    private volatile ResidencyCache residencyCache;
+    private volatile DiskIoEngine diskIoEngine;
+
+    private record Allocation(BuddyAllocator allocator, BuddyAllocator.Block block) {}
 
     private TaskExecutor() {
-        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        // Simulated work is a sleep, so each dispatch gets its own virtual thread rather than queueing behind
+        // unrelated sleeps on a pool sized to the host's cores
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
         this.runningTasks = new ConcurrentHashMap<>();
+        this.dispatchedBy = new ConcurrentHashMap<>();
+        this.completions = new ConcurrentHashMap<>();
+        this.pendingTasks = new ArrayList<>();
+        this.fusedTasks = new AtomicLong();
+        this.allocators = new ConcurrentHashMap<>();
+        this.allocations = new ConcurrentHashMap<>();
     }
 
     public static TaskExecutor getInstance() {
@@ -20,27 +42,190 @@ public class TaskExecutor {
     }
 
     public void executeTask(NPUTask task) {
-        Future<?> future = executor.submit(() -> {
+        ResidencyCache cache = residencyCache;
+        MemoryTask load = cache != null && task instanceof MemoryTask m && ResidencyCache.isCacheable(m) ? m : null;
+        if (load != null && cache.lookup(load)) {
+            task.setStatus(Status.COMPLETED);
+            complete(task);
+            return;
+        }
+        if (!allocate(task)) {
+            task.setStatus(Status.FAILED);
+            complete(task);
+            return;
+        }
+
+        DiskIoEngine disk = diskIoEngine;
+        MemoryTask diskTransfer = disk != null && task instanceof MemoryTask m && m.getMemoryType() == Memory.DISK
+                ? m : null;
+        FutureTask<Void> future = new FutureTask<>(() -> {
             try {
-                Thread.sleep(task.getExecutionTime());
+                // Only real I/O is a measurement; a simulated sleep would just echo the prediction back
+                if (diskTransfer != null) {
+                    DiskIoEngine.Transfer measured = disk.transfer(diskTransfer);
+                    NPUTask.getCostModel().observe(task, TimeUnit.NANOSECONDS.toMillis(measured.nanos()));
+                } else {
+                    Thread.sleep(task.getExecutionTime());
+                }
                 task.setStatus(Status.COMPLETED);
+                if (load != null) {
+                    cache.admit(load);
+                }
 
             } catch (InterruptedException e) {
                 task.setStatus(Status.FAILED);
                 Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                task.setStatus(Status.FAILED);
             } finally {
-                runningTasks.remove(task.getTaskId());
+                release(task.getTaskId());
+                // A cancelled dispatch is finished by cancelTask, which cancels the futures instead
+                if (!Thread.currentThread().isInterrupted()) {
+                    complete(task);
+                }
+            }
+        }, null);
+
+        // Registered before the task can start, so a fast task cannot finish before its ids are tracked
+        for (NPUTask member : membersOf(task)) {
+            dispatchedBy.put(member.getTaskId(), task);
+            runningTasks.put(member.getTaskId(), future);
+        }
+        executor.execute(future);
+    }
+
+    // A fused or batched task stands in for the tasks it absorbed, so their ids finish, run and cancel with it
+    private static List<NPUTask> membersOf(NPUTask task) {
+        List<NPUTask> members = new ArrayList<>();
+        members.add(task);
+        if (task instanceof FusedVectorTask fused) {
+            members.addAll(fused.getTasks());
+        } else if (task instanceof BatchedComputeTask batched) {
+            members.addAll(batched.getTasks());
+        }
+        return members;
+    }
+
+    private void complete(NPUTask task) {
+        for (NPUTask member : membersOf(task)) {
+            runningTasks.remove(member.getTaskId());
+            dispatchedBy.remove(member.getTaskId());
+            CompletableFuture<NPUTask> done = completions.remove(member.getTaskId());
+            if (done != null) {
+                done.complete(member);
             }
-        });
+        }
+    }
 
-        runningTasks.put(task.getTaskId(), future);
+    // Memory is taken on dispatch from the allocator for the task's tier; a task that does not fit fails
+    // like an out-of-memory on the device
+    private boolean allocate(NPUTask task) {
+        BuddyAllocator allocator = allocators.get(tierOf(task));
+        if (allocator == null) {
+            return true;
+        }
+        BuddyAllocator.Block block = allocator.allocate(Math.max(1, task.getMemorySize()));
+        if (block == null) {
+            return false;
+        }
+        allocations.put(task.getTaskId(), new Allocation(allocator, block));
+        return true;
+    }
+
+    // Runs on completion and on cancellation; whichever comes first frees the block
+    private void release(long taskId) {
+        Allocation allocation = allocations.remove(taskId);
+        if (allocation != null) {
+            allocation.allocator().free(allocation.block());
+        }
+    }
+
+    private static Memory tierOf(NPUTask task) {
+        return task instanceof MemoryTask memoryTask ? memoryTask.getMemoryType() : Memory.VRAM;
+    }
+
+    // Register before execute() so a fast task cannot finish unobserved
+    public CompletableFuture<NPUTask> onCompletion(NPUTask task) {
+        return completions.computeIfAbsent(task.getTaskId(), id -> new CompletableFuture<>());
+    }
+
+    public void submit(NPUTask task) {
+        synchronized (pendingTasks) {
+            pendingTasks.add(task);
+        }
+    }
+
+    public List<NPUTask> dispatchPending() {
+        List<NPUTask> queued;
+        synchronized (pendingTasks) {
+            queued = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+        }
+
+        List<NPUTask> dispatched = FusionPass.apply(queued);
+        fusedTasks.addAndGet(queued.size() - dispatched.size());
+        for (NPUTask task : dispatched) {
+            task.execute();
+        }
+        return dispatched;
+    }
+
+    public int getPendingCount() {
+        synchronized (pendingTasks) {
+            return pendingTasks.size();
+        }
+    }
+
+    // VRAM loads of tensors already on the device complete without a transfer; null disables the cache
+    public void setResidencyCache(ResidencyCache cache) {
+        this.residencyCache = cache;
+    }
+
+    public ResidencyCache getResidencyCache() {
+        return residencyCache;
+    }
+
+    // Transfers allocate in their own tier, everything else in VRAM; null stops tracking that tier
+    public void setAllocator(Memory tier, BuddyAllocator allocator) {
+        if (allocator == null) {
+            allocators.remove(tier);
+        } else {
+            allocators.put(tier, allocator);
+        }
+    }
+
+    public BuddyAllocator getAllocator(Memory tier) {
+        return allocators.get(tier);
+    }
+
+    // DISK transfers do real reads and writes through the engine instead of sleeping; their measured time
+    // reaches the cost model like any other. Null returns to simulated I/O
+    public void setDiskIoEngine(DiskIoEngine engine) {
+        this.diskIoEngine = engine;
+    }
+
+    public DiskIoEngine getDiskIoEngine() {
+        return diskIoEngine;
+    }
+
+    public long getFusedTaskCount() {
+        return fusedTasks.get();
     }
 
     public void cancelTask(String taskId) {
         Long taskIdLong = Long.parseLong(taskId);
         Future<?> future = runningTasks.get(taskIdLong);
-        if (future != null) {
-            future.cancel(true);
+        NPUTask owner = dispatchedBy.get(taskIdLong);
+        if (future != null && owner != null && future.cancel(true)) {
+            release(owner.getTaskId());
+            for (NPUTask member : membersOf(owner)) {
+                runningTasks.remove(member.getTaskId());
+                dispatchedBy.remove(member.getTaskId());
+                CompletableFuture<NPUTask> done = completions.remove(member.getTaskId());
+                if (done != null) {
+                    done.cancel(false);
+                }
+            }
         }
     }
 
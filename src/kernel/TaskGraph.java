@@ -0,0 +1,75 @@
+package kernel;
+
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskGraph {
+    private final Map<Long, Node> nodes;
+
+    private static class Node {
+        private final NPUTask task;
+        private final int index;
+        private final List<NPUTask> inputs;
+        private final List<NPUTask> consumers = new ArrayList<>();
+
+        private Node(NPUTask task, int index, List<NPUTask> inputs) {
+            this.task = task;
+            this.index = index;
+            this.inputs = inputs;
+        }
+    }
+
+    public TaskGraph() {
+        this.nodes = new LinkedHashMap<>();
+    }
+
+    // Each task produces one output tensor of its memorySize and reads the outputs of its inputs. Inputs must
+    // already be in the graph, so insertion order is always a valid topological schedule and cycles cannot form
+    public TaskGraph add(NPUTask task, NPUTask... inputs) {
+        if (nodes.containsKey(task.getTaskId())) {
+            throw new IllegalArgumentException("Task " + task.getTaskId() + " is already in the graph");
+        }
+        for (NPUTask input : inputs) {
+            if (!nodes.containsKey(input.getTaskId())) {
+                throw new IllegalArgumentException("Input " + input.getTaskId() + " must be added before its consumer");
+            }
+        }
+
+        nodes.put(task.getTaskId(), new Node(task, nodes.size(), List.of(inputs)));
+        for (NPUTask input : inputs) {
+            nodes.get(input.getTaskId()).consumers.add(task);
+        }
+        return this;
+    }
+
+    public List<NPUTask> getTasks() {
+        List<NPUTask> tasks = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            tasks.add(node.task);
+        }
+        return tasks;
+    }
+
+    public List<NPUTask> getInputs(NPUTask task) { return node(task).inputs; }
+
+    public List<NPUTask> getConsumers(NPUTask task) { return Collections.unmodifiableList(node(task).consumers); }
+
+    public int getIndex(NPUTask task) { return node(task).index; }
+
+    public boolean contains(NPUTask task) { return nodes.containsKey(task.getTaskId()); }
+
+    public int size() { return nodes.size(); }
+
+    private Node node(NPUTask task) {
+        Node node = nodes.get(task.getTaskId());
+        if (node == null) {
+            throw new IllegalArgumentException("Task " + task.getTaskId() + " is not in the graph");
+        }
+        return node;
+    }
+}
@@ -0,0 +1,15 @@
+package kernel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TaskIds {
+    private static final AtomicLong NEXT = new AtomicLong(-1);
+
+    private TaskIds() {}
+
+    // Tasks the kernel creates on its own count down from -1, so they can never take an id the simulation
+    // hands out, now or later, and the executor never confuses them with a caller's task
+    public static long reserve() {
+        return NEXT.getAndDecrement();
+    }
+}
@@ -0,0 +1,59 @@
+package kernel;
+
+public class ThermalModel {
+    private static final double MIN_SPEED = 0.4;
+
+    private final double ambient;
+    private final double resistance;
+    private final double capacitance;
+    private final double throttleAt;
+    private final double critical;
+    private double temperature;
+
+    // Lumped RC: resistance in degrees per power unit, capacitance in power-unit-ms per degree
+    public ThermalModel(double ambient, double resistance, double capacitance, double throttleAt, double critical) {
+        if (resistance <= 0 || capacitance <= 0 || critical <= throttleAt) {
+            throw new IllegalArgumentException("Thermal model needs positive R, C and critical > throttle");
+        }
+        this.ambient = ambient;
+        this.resistance = resistance;
+        this.capacitance = capacitance;
+        this.throttleAt = throttleAt;
+        this.critical = critical;
+        this.temperature = ambient;
+    }
+
+    // Heats to 95 C under ~14k units (a full lane set of FLOAT32 tensors), 5 s time constant
+    public static ThermalModel standard() {
+        return new ThermalModel(25.0, 0.005, 1_000_000.0, 85.0, 105.0);
+    }
+
+    // Exact solution of C dT/dt = P - (T - ambient) / R for constant power over the step
+    public void step(double power, long millis) {
+        double target = getSteadyState(power);
+        temperature = target + (temperature - target) * Math.exp(-millis / (resistance * capacitance));
+    }
+
+    // Clock fraction: full speed below the throttle point, falling linearly to MIN_SPEED at critical
+    public double getSpeedFactor() {
+        if (temperature <= throttleAt) return 1.0;
+        double over = Math.min(1.0, (temperature - throttleAt) / (critical - throttleAt));
+        return 1.0 - over * (1.0 - MIN_SPEED);
+    }
+
+    public double getSteadyState(double power) {
+        return ambient + power * resistance;
+    }
+
+    public void reset() {
+        this.temperature = ambient;
+    }
+
+    public double getTemperature() { return temperature; }
+
+    public double getAmbient() { return ambient; }
+
+    public double getThrottleAt() { return throttleAt; }
+
+    public double getCritical() { return critical; }
+}
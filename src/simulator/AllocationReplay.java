@@ -0,0 +1,98 @@
+package simulator;
+
+import kernel.BuddyAllocator;
+import task.NPUTask;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class AllocationReplay {
+    private final int lanes;
+    private final long capacity;
+    private final long minBlock;
+
+    public record Result(int completed, int dropped, long makespan, int stalls, long stallTime, long peakUsage,
+                         long failedAllocations, long fragmentedFailures, double meanFragmentation) {}
+
+    private record Running(long end, BuddyAllocator.Block block) {}
+
+    public AllocationReplay(int lanes, long capacity, long minBlock) {
+        this.lanes = Math.max(1, lanes);
+        this.capacity = capacity;
+        this.minBlock = minBlock;
+    }
+
+    // Trace order on identical lanes; each task allocates its memory size when it starts and frees it when it
+    // ends. A task that does not fit waits for running tasks to free memory, and is dropped only when nothing
+    // is left running to free any. Failures count tasks, not the retries made while one waits
+    public Result replay(List<? extends NPUTask> tasks) {
+        BuddyAllocator allocator = new BuddyAllocator(capacity, minBlock);
+        PriorityQueue<Long> laneFree = new PriorityQueue<>();
+        for (int i = 0; i < lanes; i++) {
+            laneFree.add(0L);
+        }
+        PriorityQueue<Running> running = new PriorityQueue<>((a, b) -> Long.compare(a.end(), b.end()));
+
+        long makespan = 0;
+        int completed = 0;
+        int dropped = 0;
+        int stalls = 0;
+        long stallTime = 0;
+        long failed = 0;
+        long fragmented = 0;
+        double fragmentation = 0.0;
+        for (NPUTask task : tasks) {
+            long now = laneFree.poll();
+            freeUntil(allocator, running, now);
+
+            long size = Math.max(1, task.getMemorySize());
+            long fragmentedBefore = allocator.getFragmentedFailures();
+            BuddyAllocator.Block block = allocator.allocate(size);
+            if (block == null) {
+                failed++;
+                if (allocator.getFragmentedFailures() > fragmentedBefore) {
+                    fragmented++;
+                }
+            }
+            long waitedFrom = now;
+            while (block == null && !running.isEmpty()) {
+                now = Math.max(now, running.peek().end());
+                freeUntil(allocator, running, now);
+                block = allocator.allocate(size);
+            }
+            if (now > waitedFrom) {
+                stalls++;
+                stallTime += now - waitedFrom;
+            }
+            fragmentation += allocator.getFragmentation();
+
+            if (block == null) {
+                dropped++;
+                laneFree.add(now);
+                continue;
+            }
+            long end = now + task.getExecutionTime();
+            running.add(new Running(end, block));
+            laneFree.add(end);
+            makespan = Math.max(makespan, end);
+            completed++;
+        }
+        freeUntil(allocator, running, Long.MAX_VALUE);
+
+        return new Result(completed, dropped, makespan, stalls, stallTime, allocator.getPeak(),
+                failed, fragmented,
+                tasks.isEmpty() ? 0.0 : fragmentation / tasks.size());
+    }
+
+    private static void freeUntil(BuddyAllocator allocator, PriorityQueue<Running> running, long now) {
+        while (!running.isEmpty() && running.peek().end() <= now) {
+            allocator.free(running.poll().block());
+        }
+    }
+
+    public int getLanes() { return lanes; }
+
+    public long getCapacity() { return capacity; }
+
+    public long getMinBlock() { return minBlock; }
+}
@@ -0,0 +1,59 @@
+package simulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EnergyTimeline {
+    private final List<Interval> intervals;
+    private long end;
+
+    private record Interval(long start, long end, double power) {}
+
+    public EnergyTimeline() {
+        this.intervals = new ArrayList<>();
+    }
+
+    public void record(long start, long end, double power) {
+        if (end <= start) return;
+        intervals.add(new Interval(start, end, power));
+        this.end = Math.max(this.end, end);
+    }
+
+    // Power-units * ms
+    public double getEnergy() {
+        return getEnergy(0, end);
+    }
+
+    public double getEnergy(long from, long to) {
+        double energy = 0.0;
+        for (Interval interval : intervals) {
+            long overlap = Math.min(to, interval.end()) - Math.max(from, interval.start());
+            if (overlap > 0) {
+                energy += interval.power() * overlap;
+            }
+        }
+        return energy;
+    }
+
+    // Mean draw per bucket, for plotting the trace's power profile
+    public double[] getPowerSeries(long bucket) {
+        long width = Math.max(1, bucket);
+        double[] series = new double[(int) ((end + width - 1) / width)];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = getEnergy(i * width, (i + 1) * width) / width;
+        }
+        return series;
+    }
+
+    public double getPeakPower(long bucket) {
+        double peak = 0.0;
+        for (double power : getPowerSeries(bucket)) {
+            peak = Math.max(peak, power);
+        }
+        return peak;
+    }
+
+    public long getEnd() { return end; }
+
+    public int getIntervalCount() { return intervals.size(); }
+}
@@ -0,0 +1,116 @@
+package simulator;
+
+import kernel.TaskIds;
+import task.TensorTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class InferenceServer {
+    private final int lanes;
+    private final int maxBatch;
+    private final long maxWaitMillis;
+    private final long dispatchOverhead;
+    private final long[] batchTimes;
+
+    public record Request(long id, long arrival) {}
+
+    public record Report(int served, int batches, double meanBatch, double throughput,
+                         double meanLatency, long p50, long p99, long p999) {}
+
+    // Every batch size is priced once as a TensorTask of the model with that batch, padded to the even
+    // sizes the task runs, and the model's sparsity pinned so every batch of a size costs the same. Dispatch
+    // stays in virtual time: the executor sleeps in wall-clock time, which would make a load sweep take
+    // minutes and its percentiles depend on the host
+    public InferenceServer(TensorTask model, int lanes, int maxBatch, long maxWaitMillis, long dispatchOverhead) {
+        this.lanes = Math.max(1, lanes);
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitMillis = Math.max(0, maxWaitMillis);
+        this.dispatchOverhead = Math.max(0, dispatchOverhead);
+        this.batchTimes = new long[this.maxBatch + 1];
+        for (int size = 1; size <= this.maxBatch; size++) {
+            TensorTask batch = new TensorTask(TaskIds.reserve(), model.getPriority(), (int) model.getMemorySize(),
+                    model.getComputeUnits(), (size + 1) / 2 * 2, model.getDimensions(), model.getTensorType());
+            batch.setSparsity(model.getSparsity());
+            batchTimes[size] = Math.max(1, batch.getExecutionTime());
+        }
+    }
+
+    // Poisson arrivals in virtual milliseconds
+    public static List<Request> poisson(long seed, double requestsPerSecond, int count) {
+        Random random = new Random(seed);
+        List<Request> requests = new ArrayList<>(count);
+        double time = 0.0;
+        for (int i = 0; i < count; i++) {
+            time += -Math.log(1.0 - random.nextDouble()) * 1000.0 / requestsPerSecond;
+            requests.add(new Request(i + 1, (long) time));
+        }
+        return requests;
+    }
+
+    // Event loop in virtual time: a free lane takes everything queued up to maxBatch, waiting at most
+    // maxWaitMillis past the oldest arrival for the batch to fill, so batch size follows queue depth
+    public Report serve(List<Request> requests) {
+        PriorityQueue<Long> laneFree = new PriorityQueue<>();
+        for (int i = 0; i < lanes; i++) {
+            laneFree.add(0L);
+        }
+
+        ArrayDeque<Request> queue = new ArrayDeque<>();
+        LatencyStats latency = new LatencyStats();
+        int next = 0;
+        int batches = 0;
+        long now = 0;
+        long finished = 0;
+
+        while (next < requests.size() || !queue.isEmpty()) {
+            now = Math.max(now, laneFree.peek());
+            if (queue.isEmpty()) {
+                now = Math.max(now, requests.get(next).arrival());
+            }
+            while (next < requests.size() && requests.get(next).arrival() <= now) {
+                queue.add(requests.get(next++));
+            }
+
+            if (queue.size() < maxBatch && next < requests.size()) {
+                long deadline = queue.peek().arrival() + maxWaitMillis;
+                if (now < deadline) {
+                    now = Math.min(deadline, requests.get(next).arrival());
+                    continue;
+                }
+            }
+
+            int size = Math.min(queue.size(), maxBatch);
+            long end = now + dispatchOverhead + batchTime(size);
+            laneFree.poll();
+            laneFree.add(end);
+            for (int i = 0; i < size; i++) {
+                latency.record(end - queue.poll().arrival());
+            }
+            batches++;
+            finished = Math.max(finished, end);
+        }
+
+        int served = latency.getCount();
+        long span = served == 0 ? 0 : finished - requests.get(0).arrival();
+        return new Report(served, batches, batches == 0 ? 0.0 : (double) served / batches,
+                served * 1000.0 / Math.max(1, span), latency.getMean(),
+                latency.getPercentile(0.50), latency.getPercentile(0.99), latency.getPercentile(0.999));
+    }
+
+    public long batchTime(int size) {
+        if (size < 1 || size > maxBatch) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + maxBatch + ", got " + size);
+        }
+        return batchTimes[size];
+    }
+
+    public int getLanes() { return lanes; }
+
+    public int getMaxBatch() { return maxBatch; }
+
+    public long getMaxWaitMillis() { return maxWaitMillis; }
+}
@@ -0,0 +1,422 @@
+package simulator;
+
+import kernel.CacheSimulator;
+import kernel.ConvolutionKernel;
+import kernel.DiskIoEngine;
+import kernel.FusedKernel;
+import kernel.FusionCompiler;
+import kernel.MatMulKernel;
+import kernel.RooflineModel;
+import kernel.SparseKernel;
+import status.Convolution;
+import status.Memory;
+import status.Operation;
+import status.Quantization;
+import status.Replacement;
+import status.Storage;
+import tensor.BlockSparseTensor;
+import tensor.SparseTensor;
+import tensor.TensorCheckpoint;
+import task.MemoryTask;
+import task.TensorTask;
+import task.VectorTask;
+import tensor.TensorData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class KernelBenchmark {
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 10;
+    private static final double MODEL_FLOAT32_FACTOR = 1.8;
+
+    private static volatile float sink;
+
+    public static void main(String[] args) {
+        System.out.println("=== NPU Kernel Benchmark ===\n");
+
+        benchmarkMatMul(new int[]{128, 256, 512});
+
+        benchmarkSparsity(512, 64, new double[]{0.0, 0.3, 0.5, 0.6, 0.7, 0.8, 0.9, 0.95, 0.99, 0.999});
+
+        benchmarkSparsityScan(512);
+
+        benchmarkConvolution(new int[][]{{32, 32, 16}, {64, 64, 8}, {128, 128, 3}, {256, 256, 3}}, 16, 8);
+
+        benchmarkFusion(1 << 24);
+
+        benchmarkRoofline(new int[][]{{512, 512}, {256, 256}, {128, 128}, {64, 64}, {8192, 16}, {32768, 8}});
+
+        benchmarkCache(1 << 24);
+
+        // Pass a directory on the staging disk to measure it; the default is the system temp directory
+        benchmarkDisk(args.length > 0 ? Path.of(args[0]) : null, 256);
+
+        benchmarkCheckpoint(8, 32);
+    }
+
+    private static void benchmarkMatMul(int[] sizes) {
+        System.out.println("--- GEMM: INT8 (int32 accumulate) vs BFLOAT16 vs FLOAT32 ---");
+        System.out.println("BFLOAT16 is emulated: rounded operands through the FLOAT32 kernel, not a bf16 unit");
+        System.out.printf("%-6s %12s %12s %12s %10s %10s\n",
+                "size", "fp32 (ms)", "bf16 emu", "int8 (ms)", "bf16 emu f", "int8 fac");
+
+        Random random = new Random(42);
+        for (int size : sizes) {
+            float[] a = randomMatrix(random, size * size);
+            float[] b = randomMatrix(random, size * size);
+
+            float[] bf16A = MatMulKernel.toBFloat16(a);
+            float[] bf16B = MatMulKernel.toBFloat16(b);
+            float scaleA = MatMulKernel.symmetricScale(a);
+            float scaleB = MatMulKernel.symmetricScale(b);
+            byte[] int8A = MatMulKernel.quantize(a, scaleA);
+            byte[] int8B = MatMulKernel.quantize(b, scaleB);
+            // The output is quantised over the range of the FLOAT32 result, as a calibrated model would be
+            float outScale = scaleA * scaleB
+                    / MatMulKernel.symmetricScale(MatMulKernel.multiplyFloat32(a, b, size, size, size));
+
+            double fp32 = measure(() -> consume(MatMulKernel.multiplyFloat32(a, b, size, size, size)));
+            double bf16 = measure(() -> consume(MatMulKernel.multiplyFloat32(bf16A, bf16B, size, size, size)));
+            double int8 = measure(() -> consume(MatMulKernel.multiplyInt8(int8A, int8B, size, size, size,
+                    outScale, 0)));
+
+            // Factors are expressed on the TensorTask scale, anchored at the modelled FLOAT32 cost
+            System.out.printf("%-6d %12.3f %12.3f %12.3f %10.2f %10.2f\n",
+                    size, fp32, bf16, int8,
+                    MODEL_FLOAT32_FACTOR * bf16 / fp32,
+                    MODEL_FLOAT32_FACTOR * int8 / fp32);
+        }
+    }
+
+    private static void benchmarkSparsity(int size, int n, double[] sparsities) {
+        System.out.printf("\n--- Sparse vs dense GEMM: %dx%d * %dx%d ---\n", size, size, size, n);
+        System.out.printf("%-10s %-8s %10s %10s %10s %10s %12s %14s\n", "sparsity", "layout",
+                "dense", "csr", "coo", "block", "selected", "bytes (sel)");
+
+        Random random = new Random(42);
+        float[] b = randomMatrix(random, size * n);
+        for (double sparsity : sparsities) {
+            for (boolean blocked : new boolean[]{false, true}) {
+                float[] a = sparseMatrix(random, size, sparsity, blocked ? SparseKernel.BLOCK_SIZE : 1);
+                SparseTensor csr = SparseKernel.pack(Storage.CSR, a, size, size);
+                SparseTensor coo = SparseKernel.pack(Storage.COO, a, size, size);
+                SparseTensor block = SparseKernel.pack(Storage.BLOCK_SPARSE, a, size, size);
+
+                double dense = measure(() -> consume(MatMulKernel.multiplyFloat32(a, b, size, size, n)));
+                double csrTime = measure(() -> consume(csr.multiply(b, n)));
+                double cooTime = measure(() -> consume(coo.multiply(b, n)));
+                double blockTime = measure(() -> consume(block.multiply(b, n)));
+
+                Storage selected = SparseKernel.selectStorage(SparseKernel.measureSparsity(a, a.length),
+                        BlockSparseTensor.blockSparsity(a, size, size, SparseKernel.BLOCK_SIZE));
+                long bytes = selected == Storage.DENSE
+                        ? (long) a.length * Float.BYTES
+                        : SparseKernel.pack(selected, a, size, size).getBytes();
+                System.out.printf("%-10.3f %-8s %10.3f %10.3f %10.3f %10.3f %12s %14d\n",
+                        sparsity, blocked ? "block" : "random",
+                        dense, csrTime, cooTime, blockTime, selected, bytes);
+            }
+        }
+    }
+
+    private static void benchmarkSparsityScan(int megabytes) {
+        System.out.printf("\n--- Zero-count scan over %d MB ---\n", megabytes);
+        System.out.printf("%-10s %12s %12s %14s %10s\n", "type", "full (ms)", "GB/s", "1 block (ms)", "sparsity");
+
+        Random random = new Random(42);
+        for (Quantization type : Quantization.values()) {
+            long elements = (long) megabytes * 1024 * 1024 / TensorData.elementBytes(type);
+            TensorData data = TensorData.allocate(new int[]{(int) elements}, type,
+                    TensorData.DEFAULT_BLOCK_BYTES, true);
+            for (long i = 0; i < elements; i += 1 + random.nextInt(4)) {
+                data.setFloat(i, 1 + random.nextInt(100));
+            }
+
+            double full = measure(() -> {
+                data.invalidate();
+                consume(data.getSparsity());
+            });
+            double incremental = measure(() -> {
+                data.invalidate(0);
+                consume(data.getSparsity());
+            });
+            System.out.printf("%-10s %12.3f %12.2f %14.3f %10.3f\n", type, full,
+                    data.getBytes() / (full / 1000.0) / 1e9, incremental, data.getSparsity());
+        }
+    }
+
+    private static void benchmarkConvolution(int[][] shapes, int outChannels, int threads) {
+        System.out.printf("\n--- 3x3 convolution, %d filters, %d threads ---\n", outChannels, threads);
+        System.out.printf("%-14s %-10s %12s %14s %10s\n", "shape", "type", "im2col (ms)", "winograd (ms)", "ratio");
+
+        Random random = new Random(42);
+        for (int[] shape : shapes) {
+            float[] input = randomMatrix(random, shape[0] * shape[1] * shape[2]);
+            float[] weights = randomMatrix(random, outChannels * 9 * shape[2]);
+            for (Quantization type : Quantization.values()) {
+                double im2col = measure(() -> consume(ConvolutionKernel.convolve(Convolution.IM2COL, type, input,
+                        shape[0], shape[1], shape[2], weights, outChannels, threads)));
+                double winograd = measure(() -> consume(ConvolutionKernel.convolve(Convolution.WINOGRAD, type,
+                        input, shape[0], shape[1], shape[2], weights, outChannels, threads)));
+                System.out.printf("%-14s %-10s %12.3f %14.3f %10.2f\n",
+                        shape[0] + "x" + shape[1] + "x" + shape[2], type, im2col, winograd, winograd / im2col);
+            }
+        }
+    }
+
+    private static void benchmarkFusion(int length) {
+        System.out.printf("\n--- MUL -> ADD -> REDUCE over %d elements ---\n", length);
+
+        Random random = new Random(42);
+        float[] input = randomMatrix(random, length);
+        float[] scale = randomMatrix(random, length);
+        float[] shift = randomMatrix(random, length);
+        FusedKernel fused = FusionCompiler.compile(Operation.MUL, Operation.ADD, Operation.REDUCE);
+
+        double separate = measure(() -> {
+            float[] product = new float[length];
+            for (int i = 0; i < length; i++) product[i] = input[i] * scale[i];
+            float[] shifted = new float[length];
+            for (int i = 0; i < length; i++) shifted[i] = product[i] + shift[i];
+            float sum = 0.0f;
+            for (int i = 0; i < length; i++) sum += shifted[i];
+            sink = sum;
+        });
+        double single = measure(() -> consume(fused.apply(input, scale, shift)));
+        System.out.printf("three passes: %.3f ms, fused kernel: %.3f ms, speed-up %.2fx\n",
+                separate, single, separate / single);
+    }
+
+    static float[] sparseMatrix(Random random, int size, double sparsity, int blockSize) {
+        float[] values = new float[size * size];
+        for (int bi = 0; bi < size; bi += blockSize) {
+            for (int bj = 0; bj < size; bj += blockSize) {
+                if (random.nextDouble() < sparsity) continue;
+                for (int i = bi; i < Math.min(size, bi + blockSize); i++) {
+                    for (int j = bj; j < Math.min(size, bj + blockSize); j++) {
+                        values[i * size + j] = (float) random.nextGaussian();
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    // Calibrates a one-unit roofline to this machine, then compares it and the TensorTask heuristic with
+    // measured FLOAT32 GEMMs; shapes are {M, K} against K x K weights, batch 2 stacked into the rows, and the
+    // heuristic is scaled to match the first shape
+    private static void benchmarkRoofline(int[][] shapes) {
+        System.out.println("\n--- Roofline vs log-sum heuristic: FLOAT32 GEMM, batch 2 ---");
+
+        Random random = new Random(42);
+        int calibration = 512;
+        float[] ca = randomMatrix(random, calibration * calibration);
+        float[] cb = randomMatrix(random, calibration * calibration);
+        double calibrationMillis = measure(() -> consume(
+                MatMulKernel.multiplyFloat32(ca, cb, calibration, calibration, calibration)));
+        double peak = 2.0 * calibration * calibration * calibration / (calibrationMillis / 1000);
+        // The bandwidth roof streams the GEMM's inner loop, a unit-stride axpy that reads b and updates c,
+        // over arrays far larger than the caches; a clone() would also time allocation and zeroing
+        float[] x = randomMatrix(random, 1 << 24);
+        float[] y = randomMatrix(random, 1 << 24);
+        double bandwidth = 3.0 * 4 * x.length / (measure(() -> {
+            for (int j = 0; j < x.length; j++) {
+                y[j] += 0.5f * x[j];
+            }
+            sink = y[y.length - 1];
+        }) / 1000);
+        RooflineModel roofline = new RooflineModel(peak, bandwidth, 1);
+        System.out.printf("Calibrated peak %.1f GFLOP/s (512x512 GEMM), bandwidth %.1f GB/s (axpy stream)\n",
+                peak / 1e9, bandwidth / 1e9);
+
+        double heuristicScale = 0.0;
+        System.out.printf("%-12s %10s %10s %8s %8s %12s %12s\n", "shape", "measured", "roofline", "ratio", "bound",
+                "heuristic", "intensity");
+        for (int i = 0; i < shapes.length; i++) {
+            int m = shapes[i][0];
+            int k = shapes[i][1];
+            float[] a = randomMatrix(random, 2 * m * k);
+            float[] b = randomMatrix(random, k * k);
+            double measured = measure(() -> consume(MatMulKernel.multiplyFloat32(a, b, 2 * m, k, k)));
+
+            TensorTask task = new TensorTask(i, 100, 0, 1, 2, shapes[i], Quantization.FLOAT32);
+            RooflineModel.Estimate estimate = roofline.estimate(task);
+            if (heuristicScale == 0.0) {
+                heuristicScale = measured / Math.max(1, task.getExecutionTime());
+            }
+            System.out.printf("%-12s %10.3f %10.3f %8.2f %8s %12.3f %12.1f\n", m + "x" + k, measured,
+                    estimate.millis(), measured / estimate.millis(), estimate.bound(),
+                    heuristicScale * task.getExecutionTime(), estimate.intensity());
+        }
+
+        // An element-wise add is the memory-bound reference: two streams in, one out, one FLOP per element. The
+        // model does not count the write-allocate read of the output, so it lands somewhat above the roof
+        int elements = 1 << 22;
+        float[] out = new float[2 * elements];
+        double measured = measure(() -> {
+            for (int j = 0; j < out.length; j++) {
+                out[j] = x[j] + y[j];
+            }
+            sink = out[out.length - 1];
+        });
+        RooflineModel.Estimate estimate = roofline.estimate(
+                new VectorTask(shapes.length, 100, 0, 1, 2, elements, Operation.ADD));
+        System.out.printf("%-12s %10.3f %10.3f %8.2f %8s %12s %12.3f\n", "add 2x4M", measured, estimate.millis(),
+                measured / estimate.millis(), estimate.bound(), "-", estimate.intensity());
+        System.out.println("Thin shapes (K <= 16) sit above both roofs: short inner loops are bound by loop overhead");
+    }
+
+    private static void benchmarkCache(int accesses) {
+        System.out.println("\n--- Cache simulator: 32 MB, 16-way, 64 B lines ---");
+        System.out.printf("%-8s %-10s %14s %10s\n", "policy", "pattern", "M access/s", "hit ratio");
+
+        Random random = new Random(42);
+        long[] randomAddresses = new long[accesses];
+        long[] stridedAddresses = new long[accesses];
+        for (int i = 0; i < accesses; i++) {
+            randomAddresses[i] = (random.nextLong() & Long.MAX_VALUE) % (256L << 20);
+            stridedAddresses[i] = (i * 64L) % (48L << 20);
+        }
+
+        for (Replacement policy : Replacement.values()) {
+            for (boolean strided : new boolean[]{false, true}) {
+                long[] addresses = strided ? stridedAddresses : randomAddresses;
+                CacheSimulator cache = new CacheSimulator(32L << 20, 16, 64, policy);
+                double millis = measure(() -> {
+                    cache.reset();
+                    for (long address : addresses) {
+                        cache.access(address);
+                    }
+                });
+                System.out.printf("%-8s %-10s %14.1f %10.3f\n", policy, strided ? "stream" : "random",
+                        accesses / millis / 1000, cache.getHitRatio());
+            }
+        }
+    }
+
+    private static void benchmarkDisk(Path staging, int megabytes) {
+        System.out.printf("\n--- Disk staging: %d MB through FileChannel ---\n", megabytes);
+        System.out.printf("%-8s %-10s %12s %12s %14s\n", "threads", "readahead", "write MB/s", "read MB/s",
+                "model MB/s");
+
+        try {
+            Path directory = staging != null
+                    ? Files.createDirectories(staging.resolve("npu-disk-bench"))
+                    : Files.createTempDirectory("npu-disk-bench");
+            MemoryTask task = new MemoryTask(1, 110, megabytes, 2000, Memory.DISK);
+            for (int threads : new int[]{1, 4}) {
+                for (int readahead : new int[]{1, 16}) {
+                    try (DiskIoEngine engine = new DiskIoEngine(directory, 64 * 1024, readahead, threads)) {
+                        DiskIoEngine.Transfer written = engine.write(task.getDataId(), (long) megabytes << 20);
+                        DiskIoEngine.Transfer read = engine.read(task.getDataId());
+                        int bandwidth = DiskIoEngine.calibratedBandwidth(task, read);
+                        MemoryTask calibrated = new MemoryTask(1, 110, megabytes, bandwidth, Memory.DISK);
+                        System.out.printf("%-8d %-10d %12.1f %12.1f %14.1f\n", threads, readahead,
+                                written.megabytesPerSecond(), read.megabytesPerSecond(),
+                                megabytes * 1000.0 / Math.max(1, calibrated.getExecutionTime()));
+                        Files.deleteIfExists(engine.pathFor(task.getDataId()));
+                    }
+                }
+            }
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            System.out.println("Disk benchmark skipped: " + e.getMessage());
+        }
+    }
+
+    private static void benchmarkCheckpoint(int shards, int megabytes) {
+        System.out.printf("\n--- Checkpoint: %d shards of %d MB, mapped versus copied ---\n", shards, megabytes);
+
+        Path path = null;
+        try {
+            path = Files.createTempFile("npu-checkpoint", ".ckpt");
+            Map<Long, TensorData> tensors = new LinkedHashMap<>();
+            int columns = megabytes * (1 << 20) / 1024 / TensorData.elementBytes(Quantization.FLOAT32);
+            for (long id = 1; id <= shards; id++) {
+                TensorData data = TensorData.allocate(new int[]{1024, columns}, Quantization.FLOAT32);
+                for (long i = 0; i < data.getElements(); i += 7) {
+                    data.setFloat(i, i);
+                }
+                tensors.put(id, data);
+            }
+
+            long started = System.nanoTime();
+            TensorCheckpoint.write(path, tensors);
+            double write = (System.nanoTime() - started) / 1e6;
+            tensors.clear();
+
+            started = System.nanoTime();
+            try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path)) {
+                double open = (System.nanoTime() - started) / 1e6;
+                started = System.nanoTime();
+                Map<Long, TensorData> mapped = checkpoint.loadAll();
+                double map = (System.nanoTime() - started) / 1e6;
+                started = System.nanoTime();
+                double sparsity = 0;
+                for (TensorData data : mapped.values()) {
+                    sparsity += data.getSparsity();
+                }
+                double scan = (System.nanoTime() - started) / 1e6;
+
+                started = System.nanoTime();
+                byte[] copied = Files.readAllBytes(path);
+                double copy = (System.nanoTime() - started) / 1e6;
+                sink = copied[copied.length / 2];
+
+                System.out.printf("write %.1f ms, open %.3f ms, map all %.3f ms, first scan %.1f ms " +
+                                "(sparsity %.3f), full copy %.1f ms\n",
+                        write, open, map, scan, sparsity / shards, copy);
+            }
+        } catch (IOException e) {
+            System.out.println("Checkpoint benchmark skipped: " + e.getMessage());
+        } finally {
+            if (path != null) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // A leftover temp file is harmless
+                }
+            }
+        }
+    }
+
+    static double measure(Runnable kernel) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            kernel.run();
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            kernel.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+
+    // Every measured kernel hands its result here, so the JIT cannot drop the work as dead code
+    private static void consume(float[] result) {
+        sink = result[result.length - 1];
+    }
+
+    private static void consume(byte[] result) {
+        sink = result[result.length - 1];
+    }
+
+    private static void consume(double result) {
+        sink = (float) result;
+    }
+
+    static float[] randomMatrix(Random random, int length) {
+        float[] values = new float[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = (float) random.nextGaussian();
+        }
+        return values;
+    }
+}
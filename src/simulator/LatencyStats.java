@@ -0,0 +1,40 @@
+package simulator;
+
+import java.util.Arrays;
+
+public class LatencyStats {
+    private long[] samples;
+    private int count;
+    private long total;
+    private boolean sorted;
+
+    public LatencyStats() {
+        this.samples = new long[64];
+    }
+
+    public void record(long latency) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = Math.max(0, latency);
+        total += Math.max(0, latency);
+        sorted = false;
+    }
+
+    // Nearest-rank percentile, p in [0, 1]
+    public long getPercentile(double p) {
+        if (count == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(samples, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(Math.min(1.0, Math.max(0.0, p)) * count);
+        return samples[Math.max(0, rank - 1)];
+    }
+
+    public int getCount() { return count; }
+
+    public double getMean() { return count == 0 ? 0.0 : (double) total / count; }
+
+    public long getMax() { return getPercentile(1.0); }
+}
@@ -2,10 +2,29 @@ package simulator;
 
 import task.*;
 import task.ComputeTask;
+import kernel.AutoBatcher;
+import kernel.BuddyAllocator;
+import kernel.CacheSimulator;
+import kernel.CostCoefficients;
+import kernel.CostModel;
+import kernel.DvfsGovernor;
+import kernel.FusionPass;
+import kernel.MemoryPlanner;
+import kernel.OnlineCostModel;
+import kernel.PagedMemory;
+import kernel.Pipeline;
+import kernel.PowerCappedScheduler;
+import kernel.PowerModel;
+import kernel.PrefetchScheduler;
+import kernel.RecomputePlanner;
+import kernel.ResidencyCache;
+import kernel.TaskGraph;
 import kernel.TaskExecutor;
+import kernel.ThermalModel;
 import status.*;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class NPUSimulation {
@@ -21,6 +40,40 @@ public class NPUSimulation {
 
         simulateMixedWorkload();
 
+        simulateAutoBatching();
+
+        simulateFusionReplay();
+
+        simulateInferenceServer();
+
+        simulatePipeline();
+
+        simulatePrefetch();
+
+        simulatePowerCap();
+
+        simulateDvfs();
+
+        simulateThermalThrottling();
+
+        simulatePowerGating();
+
+        simulateCostCalibration();
+
+        simulateCacheHierarchy();
+
+        simulateResidencyCache();
+
+        simulatePlacement();
+
+        simulateAllocation();
+
+        simulateMemoryPlan();
+
+        simulateRecompute();
+
+        simulatePaging();
+
         executor.shutdown();
         System.out.println("\n=== Simulation Complete ===");
     }
@@ -127,13 +180,502 @@ public class NPUSimulation {
         waitForTask(compTask);
     }
 
+    private static void simulateAutoBatching() {
+        System.out.println("\n--- Auto-Batched Compute Requests ---");
+
+        int requests = 48;
+        AutoBatcher batcher = new AutoBatcher(32, 20);
+        List<CompletableFuture<ComputeTask>> results = new ArrayList<>();
+        long[] submitted = new long[requests];
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            submitted[i] = System.nanoTime();
+            results.add(batcher.submit(new ComputeTask(getNextTaskId(), 110, 256, 4, 2)));
+        }
+
+        long maxLatency = 0;
+        long totalLatency = 0;
+        for (int i = 0; i < requests; i++) {
+            results.get(i).join();
+            long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitted[i]);
+            maxLatency = Math.max(maxLatency, latency);
+            totalLatency += latency;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        batcher.shutdown();
+
+        System.out.printf("Requests: %d (batch 2), dispatches: %d (max batch %d, max wait %d ms)\n",
+                requests, batcher.getDispatchedBatches(), batcher.getMaxBatchSize(), batcher.getMaxWaitMillis());
+        System.out.printf("Throughput: %.1f requests/s, latency mean %d ms, max %d ms\n",
+                requests * 1000.0 / Math.max(1, elapsed), totalLatency / requests, maxLatency);
+    }
+
+    private static void simulateFusionReplay() {
+        System.out.println("\n--- Vector Fusion Replay ---");
+
+        int lanes = 4;
+        List<NPUTask> trace = Trace.synthetic(2110215, 400);
+        List<NPUTask> fused = FusionPass.apply(trace);
+
+        TraceReplay.Result baseline = TraceReplay.replay(trace, lanes, TraceReplay.DISPATCH_OVERHEAD);
+        TraceReplay.Result optimized = TraceReplay.replay(fused, lanes, TraceReplay.DISPATCH_OVERHEAD);
+
+        System.out.printf("Trace: %d tasks on %d lanes\n", trace.size(), lanes);
+        System.out.printf("Fused tasks: %d (dispatches %d -> %d)\n",
+                trace.size() - fused.size(), baseline.dispatched(), optimized.dispatched());
+        System.out.printf("Makespan: %d ms -> %d ms (%.1f%% faster)\n",
+                baseline.makespan(), optimized.makespan(),
+                100.0 * (baseline.makespan() - optimized.makespan()) / baseline.makespan());
+        System.out.printf("Memory traffic: %d MB -> %d MB\n",
+                baseline.memoryTraffic(), optimized.memoryTraffic());
+    }
+
+    private static void simulateInferenceServer() {
+        System.out.println("\n--- Dynamic-Batching Inference Server ---");
+
+        TensorTask model = new TensorTask(getNextTaskId(), 110, 512, 16, 2, new int[]{64, 64}, Quantization.INT8);
+        InferenceServer fixed = new InferenceServer(model, 2, 2, 0, 8);
+        InferenceServer dynamic = new InferenceServer(model, 2, 32, 10, 8);
+
+        for (double rate : new double[]{100, 400}) {
+            List<InferenceServer.Request> requests = InferenceServer.poisson(31, rate, 5000);
+            System.out.printf("Offered load: %.0f requests/s\n", rate);
+            printReport("fixed batch 2", fixed.serve(requests));
+            printReport("dynamic <= 32", dynamic.serve(requests));
+        }
+    }
+
+    private static void printReport(String label, InferenceServer.Report report) {
+        System.out.printf("  %-14s %7.1f req/s, mean batch %4.1f, p50 %d ms, p99 %d ms, p999 %d ms\n",
+                label, report.throughput(), report.meanBatch(), report.p50(), report.p99(), report.p999());
+    }
+
+    private static void simulatePipeline() {
+        System.out.println("\n--- Load/Compute/Store Pipeline ---");
+
+        List<TensorTask> layers = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            layers.add(new TensorTask(getNextTaskId(), 120, 1024, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16));
+        }
+        List<Pipeline.Stage> stages = Pipeline.stagesFor(layers, Memory.RAM, 1000);
+
+        Pipeline.Result serial = new Pipeline(1).run(stages);
+        System.out.printf("Serial: %d ms, compute utilization %.0f%%\n",
+                serial.makespan(), 100 * serial.computeUtilization());
+        for (int depth = 2; depth <= 4; depth++) {
+            Pipeline.Result result = new Pipeline(depth).run(stages);
+            System.out.printf("Depth %d: %d ms, compute utilization %.0f%%, %.2fx throughput\n",
+                    depth, result.makespan(), 100 * result.computeUtilization(),
+                    (double) serial.makespan() / result.makespan());
+        }
+    }
+
+    private static void simulatePrefetch() {
+        System.out.println("\n--- Prefetching Loads Ahead of Compute ---");
+
+        for (Memory tier : new Memory[]{Memory.RAM, Memory.DISK}) {
+            List<PrefetchScheduler.Step> plan = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                TensorTask layer = new TensorTask(getNextTaskId(), 120, 1024, 8, 16, new int[]{64, 64},
+                        Quantization.BFLOAT16);
+                MemoryTask load = new MemoryTask(getNextTaskId(), 120, 1024, 2000, tier);
+                load.setDataId(layer.getDataId());
+                plan.add(new PrefetchScheduler.Step(load, layer));
+            }
+
+            for (int lookahead : new int[]{0, 1}) {
+                PrefetchScheduler scheduler = new PrefetchScheduler(4096, lookahead);
+                scheduler.cancel(plan.get(20).compute().getDataId(), 0);
+                PrefetchScheduler.Result result = scheduler.run(plan);
+                System.out.printf("%-4s lookahead %2d: %d ms, transfer hidden %d ms, exposed %d ms, " +
+                                "cancelled %d, peak resident %d MB\n",
+                        tier, scheduler.lookaheadFor(plan.get(0).load()), result.makespan(),
+                        result.hiddenTransfer(), result.exposedTransfer(), result.cancelled(),
+                        result.peakResident());
+            }
+        }
+    }
+
+    private static void simulatePowerCap() {
+        System.out.println("\n--- Power-Capped Scheduling ---");
+
+        List<NPUTask> trace = Trace.synthetic(36, 300);
+        PowerCappedScheduler.Result uncapped = new PowerCappedScheduler(8, Double.POSITIVE_INFINITY).run(trace);
+        printPowerResult("uncapped", uncapped, uncapped);
+        for (double budget : new double[]{20000, 10000, 6000}) {
+            printPowerResult(String.format("cap %.0f", budget), new PowerCappedScheduler(8, budget).run(trace), uncapped);
+        }
+    }
+
+    private static void printPowerResult(String label, PowerCappedScheduler.Result result,
+                                         PowerCappedScheduler.Result baseline) {
+        System.out.printf("  %-10s %6d ms, peak %6.0f, mean %6.0f units, %.2f tasks/s, %.3f tasks/s per kilounit " +
+                        "(%.2fx uncapped), %d forced\n",
+                label, result.makespan(), result.peakPower(), result.averagePower(), result.throughput(),
+                1000 * result.throughputPerWatt(), result.throughputPerWatt() / baseline.throughputPerWatt(),
+                result.overBudget());
+    }
+
+    private static void simulateDvfs() {
+        System.out.println("\n--- DVFS Operating Points ---");
+
+        List<NPUTask> trace = Trace.synthetic(37, 400);
+        EnergyTimeline fixed = new EnergyTimeline();
+        TraceReplay.Result baseline = TraceReplay.replay(trace, 4, TraceReplay.DISPATCH_OVERHEAD, fixed);
+        double baselineEdp = fixed.getEnergy() * baseline.makespan();
+        System.out.printf("  %-12s %6d ms, energy %6.1f M, peak %5.0f units\n",
+                "P0 only", baseline.makespan(), fixed.getEnergy() / 1e6, fixed.getPeakPower(500));
+
+        for (int interval : new int[]{1, 8}) {
+            if (interval == 1) {
+                DvfsGovernor.applyPerTask(trace);
+            } else {
+                DvfsGovernor.applyPerInterval(trace, interval);
+            }
+            EnergyTimeline timeline = new EnergyTimeline();
+            TraceReplay.Result result = TraceReplay.replay(trace, 4, TraceReplay.DISPATCH_OVERHEAD, timeline);
+            double edp = timeline.getEnergy() * result.makespan();
+            System.out.printf("  %-12s %6d ms, energy %6.1f M (%.1f%% saved), peak %5.0f units, EDP %.1f%% lower\n",
+                    interval == 1 ? "per task" : "per " + interval + " tasks", result.makespan(),
+                    timeline.getEnergy() / 1e6, 100 * (1 - timeline.getEnergy() / fixed.getEnergy()),
+                    timeline.getPeakPower(500), 100 * (1 - edp / baselineEdp));
+        }
+        DvfsGovernor.reset(trace);
+    }
+
+    private static void simulateThermalThrottling() {
+        System.out.println("\n--- Thermal Throttling ---");
+
+        for (Quantization type : new Quantization[]{Quantization.INT8, Quantization.FLOAT32}) {
+            List<NPUTask> stream = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                stream.add(new TensorTask(getNextTaskId(), 120, 1024, 8, 16, new int[]{64, 64}, type));
+            }
+
+            ThermalReplay.Result peak = ThermalReplay.replay(stream, 8, TraceReplay.DISPATCH_OVERHEAD, null);
+            ThermalReplay.Result sustained = ThermalReplay.replay(stream, 8, TraceReplay.DISPATCH_OVERHEAD,
+                    ThermalModel.standard());
+            System.out.printf("  %-8s peak %.2f tasks/s, sustained %.2f tasks/s (%.0f%%), max %.1f C, " +
+                            "throttled %d of %d ms, mean clock %.0f%%\n",
+                    type, peak.throughput(), sustained.sustainedThroughput(),
+                    100 * sustained.sustainedThroughput() / peak.throughput(), sustained.peakTemperature(),
+                    sustained.throttledTime(), sustained.makespan(), 100 * sustained.meanSpeed());
+        }
+    }
+
+    private static void simulatePowerGating() {
+        System.out.println("\n--- Power Gating and Consolidation ---");
+
+        for (double rate : new double[]{10, 50, 200}) {
+            List<PowerGatingReplay.Arrival> arrivals = PowerGatingReplay.poisson(3, rate, 2000, 110, 512, 4, 8);
+            System.out.printf("Load %.0f tasks/s on 8 units\n", rate);
+            printGatingResult("spread", new PowerGatingReplay(8, Consolidation.SPREAD, 0).replay(arrivals));
+            for (long target : new long[]{40, 80, 160}) {
+                printGatingResult("pack <= " + target + " ms",
+                        new PowerGatingReplay(8, Consolidation.PACK, target).replay(arrivals));
+            }
+        }
+    }
+
+    private static void printGatingResult(String label, PowerGatingReplay.Result result) {
+        System.out.printf("  %-15s energy/task %6.0f (static %5.0f), p50 %3d ms, p99 %3d ms, %d units, %d wake-ups\n",
+                label, result.energyPerTask(), result.staticEnergy() / result.completed(), result.p50(),
+                result.p99(), result.unitsUsed(), result.wakeups());
+    }
+
+    private static void simulateCostCalibration() {
+        System.out.println("\n--- Online Cost-Model Calibration ---");
+
+        // Stand-in for real hardware: different coefficients plus 5% log-normal timing noise
+        CostModel hardware = CostModel.fixed(new CostCoefficients(130, 30, 768, 12, 1300, 2.2, 0.5, 1.1));
+        CostModel fixed = CostModel.fixed(CostCoefficients.DEFAULT);
+        OnlineCostModel online = new OnlineCostModel();
+        Random noise = new Random(4);
+
+        List<NPUTask> trace = Trace.synthetic(40, 3000);
+        int[] windows = {0, 100, 500, trace.size()};
+        for (int w = 0; w + 1 < windows.length; w++) {
+            double fixedError = 0.0;
+            double onlineError = 0.0;
+            for (int i = windows[w]; i < windows[w + 1]; i++) {
+                NPUTask task = trace.get(i);
+                long measured = Math.max(1, Math.round(predict(task, hardware) * Math.exp(0.05 * noise.nextGaussian())));
+                fixedError += Math.abs(predict(task, fixed) - measured) / (double) measured;
+                onlineError += Math.abs(predict(task, online) - measured) / (double) measured;
+                online.observe(task, measured);
+            }
+            int count = windows[w + 1] - windows[w];
+            System.out.printf("Tasks %4d-%4d: mean error fixed %.1f%%, online %.1f%%\n",
+                    windows[w], windows[w + 1], 100 * fixedError / count, 100 * onlineError / count);
+        }
+        CostCoefficients fitted = online.getCoefficients();
+        System.out.printf("Fitted tensor factors: FLOAT32 %.2f, INT8 %.2f, BFLOAT16 %.2f (hardware 2.2/0.5/1.1)\n",
+                fitted.float32Factor(), fitted.int8Factor(), fitted.bfloat16Factor());
+        NPUTask.setCostModel(null);
+    }
+
+    private static long predict(NPUTask task, CostModel model) {
+        NPUTask.setCostModel(model);
+        task.refreshExecutionTime();
+        return task.getExecutionTime();
+    }
+
+    private static void simulateCacheHierarchy() {
+        System.out.println("\n--- Cache in Front of RAM ---");
+
+        // 48 tensors of 1-4 MB packed contiguously, read with a skewed reuse pattern
+        Random random = new Random(42);
+        int tensors = 48;
+        long[] offsets = new long[tensors];
+        int[] sizes = new int[tensors];
+        long next = 0;
+        for (int i = 0; i < tensors; i++) {
+            sizes[i] = 1 + random.nextInt(4);
+            offsets[i] = next;
+            next += (long) sizes[i] << 20;
+        }
+        int[] reads = new int[600];
+        for (int i = 0; i < reads.length; i++) {
+            reads[i] = (int) (tensors * Math.pow(random.nextDouble(), 3));
+        }
+
+        long flatRam = 0;
+        long flatCache = 0;
+        for (int read : reads) {
+            flatRam += new MemoryTask(0, 110, sizes[read], 2000, Memory.RAM).getExecutionTime();
+            flatCache += new MemoryTask(0, 110, sizes[read], 2000, Memory.CACHE).getExecutionTime();
+        }
+        System.out.printf("Flat tiers: all RAM %d ms, all CACHE %d ms\n", flatRam, flatCache);
+
+        for (long megabytes : new long[]{8, 32, 128}) {
+            for (Replacement policy : Replacement.values()) {
+                CacheSimulator cache = new CacheSimulator(megabytes << 20, 16, 64, policy);
+                long total = 0;
+                for (int read : reads) {
+                    MemoryTask task = new MemoryTask(getNextTaskId(), 110, sizes[read], 2000, Memory.RAM);
+                    cache.apply(task, offsets[read]);
+                    total += task.getExecutionTime();
+                }
+                System.out.printf("%4d MB %-4s: hit ratio %.3f, transfer time %d ms\n",
+                        megabytes, policy, cache.getHitRatio(), total);
+            }
+        }
+    }
+
+    private static void simulateResidencyCache() {
+        System.out.println("\n--- Device Residency Cache ---");
+
+        // Training steps reload the same 32 weights, with a fresh activation loaded after every fourth layer
+        Random random = new Random(7);
+        int[] weights = new int[32];
+        long weightTotal = 0;
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 8 << random.nextInt(4);
+            weightTotal += weights[i];
+        }
+        System.out.printf("Weights: %d MB per step\n", weightTotal);
+
+        for (long capacity : new long[]{512, 1024, 1536}) {
+            for (Eviction policy : Eviction.values()) {
+                ResidencyCache cache = new ResidencyCache(capacity, policy);
+                long activation = 1_000_000;
+                long transferred = 0;
+                for (int step = 0; step < 20; step++) {
+                    for (int i = 0; i < weights.length; i++) {
+                        MemoryTask weight = new MemoryTask(getNextTaskId(), 110, weights[i], 2000, Memory.VRAM);
+                        weight.setDataId(i);
+                        transferred += cache.load(weight) ? 0 : weight.getExecutionTime();
+                        if (i % 4 == 0) {
+                            MemoryTask input = new MemoryTask(getNextTaskId(), 110, 16, 2000, Memory.VRAM);
+                            input.setDataId(activation++);
+                            transferred += cache.load(input) ? 0 : input.getExecutionTime();
+                        }
+                    }
+                }
+                System.out.printf("%4d MB %-10s: hit rate %.3f, saved %d MB / %d ms, transfer time %d ms\n",
+                        capacity, policy, cache.getHitRate(), cache.getMegabytesSaved(), cache.getTimeSaved(),
+                        transferred);
+            }
+        }
+    }
+
+    private static void simulatePlacement() {
+        System.out.println("\n--- Locality-Aware Placement ---");
+
+        // Tensor layers share 24 weights with a skew towards the first few; everything else keeps its own data
+        List<NPUTask> tasks = Trace.synthetic(11, 3000);
+        Random random = new Random(5);
+        for (NPUTask task : tasks) {
+            if (task instanceof TensorTask) {
+                task.setDataId(1 + (long) (24 * Math.pow(random.nextDouble(), 2)));
+            }
+        }
+
+        for (long capacity : new long[]{4096, 16384}) {
+            for (Placement policy : Placement.values()) {
+                PlacementReplay.Result result = new PlacementReplay(4, capacity, Eviction.LRU, 2000, policy)
+                        .replay(tasks);
+                System.out.printf("%5d MB %-11s: makespan %d ms, %.2f tasks/s, %d transfers (%d MB, %d ms), " +
+                                "hit rate %.3f, imbalance %.3f\n",
+                        capacity, policy, result.makespan(), result.throughput(), result.transfers(),
+                        result.transferredMegabytes(), result.transferTime(), result.hitRate(), result.imbalance());
+            }
+        }
+    }
+
+    private static void simulateAllocation() {
+        System.out.println("\n--- Buddy Allocation in VRAM ---");
+
+        // Uneven model sizes so blocks round up and the free space splinters between long and short tasks
+        Random random = new Random(3);
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            tasks.add(new ComputeTask(getNextTaskId(), 110, 64 + random.nextInt(3000), 4, 1 + random.nextInt(16)));
+        }
+
+        for (long capacity : new long[]{8192, 12288, 16384}) {
+            AllocationReplay.Result result = new AllocationReplay(8, capacity, 1).replay(tasks);
+            System.out.printf("%5d MB: makespan %d ms, %d stalls (%d ms), %d failed allocations " +
+                            "(%d with enough free memory), peak %d MB, mean fragmentation %.3f\n",
+                    capacity, result.makespan(), result.stalls(), result.stallTime(), result.failedAllocations(),
+                    result.fragmentedFailures(), result.peakUsage(), result.meanFragmentation());
+        }
+    }
+
+    private static void simulateMemoryPlan() {
+        System.out.println("\n--- Static Memory Plan ---");
+
+        TaskGraph graph = unetGraph(5, 1024);
+        MemoryPlanner.Plan plan = MemoryPlanner.plan(graph, 64);
+        System.out.printf("U-Net, %d tasks: sum of sizes %d MB, live lower bound %d MB, planned arena %d MB " +
+                        "(%.1f%% less)\n",
+                graph.size(), plan.naive(), plan.lowerBound(), plan.peak(), plan.savings() * 100);
+
+        for (long capacity : new long[]{4096, 8192, 16384}) {
+            BuddyAllocator allocator = new BuddyAllocator(capacity, 64);
+            System.out.printf("%5d MB VRAM: sum of sizes %s, planned arena %s\n", capacity,
+                    plan.naive() <= capacity ? "fits" : "does not fit",
+                    plan.reserve(allocator) != null ? "fits" : "does not fit");
+        }
+    }
+
+    // Encoder levels halve the activation and keep it for the matching decoder level's skip connection
+    private static TaskGraph unetGraph(int levels, int topSize) {
+        TaskGraph graph = new TaskGraph();
+        NPUTask current = new MemoryTask(getNextTaskId(), 110, topSize, 2000, Memory.VRAM);
+        graph.add(current);
+
+        List<NPUTask> skips = new ArrayList<>();
+        int size = topSize;
+        for (int level = 0; level < levels; level++) {
+            NPUTask conv = new TensorTask(getNextTaskId(), 120, size, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16);
+            NPUTask relu = new VectorTask(getNextTaskId(), 110, size, 4, 16, 4096, Operation.MUL);
+            graph.add(conv, current).add(relu, conv);
+            skips.add(relu);
+            size /= 2;
+            current = new TensorTask(getNextTaskId(), 120, size, 8, 16, new int[]{32, 32}, Quantization.BFLOAT16);
+            graph.add(current, relu);
+        }
+        for (int level = levels - 1; level >= 0; level--) {
+            size *= 2;
+            NPUTask up = new TensorTask(getNextTaskId(), 120, size, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16);
+            NPUTask merge = new VectorTask(getNextTaskId(), 110, size, 4, 16, 4096, Operation.ADD);
+            graph.add(up, current).add(merge, up, skips.get(level));
+            current = merge;
+        }
+        return graph;
+    }
+
+    private static void simulateRecompute() {
+        System.out.println("\n--- Recompute versus Offload ---");
+
+        TaskGraph graph = trainingGraph(12, 256);
+        System.out.printf("Training graph, %d tasks: planned arena %d MB\n",
+                graph.size(), MemoryPlanner.plan(graph, 64).peak());
+
+        for (int bandwidth : new int[]{500, 2000}) {
+            for (long budget : new long[]{2048, 1024, 768}) {
+                RecomputePlanner.Plan plan = new RecomputePlanner(budget, bandwidth, 64).plan(graph);
+                System.out.printf("%4d MB/s link, %4d MB budget: %s at %d MB, %d recomputed, %d offloaded, " +
+                                "+%d ms over %d tasks\n",
+                        bandwidth, budget, plan.fits() ? "fits" : "does not fit", plan.memory().peak(),
+                        plan.count(Retention.RECOMPUTE), plan.count(Retention.OFFLOAD), plan.addedTime(),
+                        plan.graph().size());
+            }
+        }
+    }
+
+    // Forward layers alternate matmul and activation; each backward layer reads the upstream gradient and the
+    // activation its forward layer consumed
+    private static TaskGraph trainingGraph(int layers, int size) {
+        TaskGraph graph = new TaskGraph();
+        List<NPUTask> activations = new ArrayList<>();
+        NPUTask input = new MemoryTask(getNextTaskId(), 110, size, 2000, Memory.VRAM);
+        graph.add(input);
+        activations.add(input);
+        for (int i = 0; i < layers; i++) {
+            NPUTask forward = i % 2 == 0
+                    ? new TensorTask(getNextTaskId(), 120, size, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16)
+                    : new VectorTask(getNextTaskId(), 110, size, 4, 16, 4096, Operation.MUL);
+            graph.add(forward, activations.get(i));
+            activations.add(forward);
+        }
+
+        NPUTask gradient = new ComputeTask(getNextTaskId(), 120, size, 4, 8);
+        graph.add(gradient, activations.get(layers));
+        for (int i = layers; i >= 1; i--) {
+            NPUTask backward = new TensorTask(getNextTaskId(), 120, size, 8, 16, new int[]{64, 64},
+                    Quantization.BFLOAT16);
+            graph.add(backward, gradient, activations.get(i - 1));
+            gradient = backward;
+        }
+        return graph;
+    }
+
+    private static void simulatePaging() {
+        System.out.println("\n--- Oversubscription and Demand Paging ---");
+
+        // Ten passes over 32 layers of 64-512 MB weights, with 30% of steps revisiting a skewed hot set
+        Random random = new Random(21);
+        int[] sizes = new int[32];
+        long workingSet = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = 64 << random.nextInt(4);
+            workingSet += sizes[i];
+        }
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int pass = 0; pass < 10; pass++) {
+            for (int i = 0; i < sizes.length; i++) {
+                int layer = random.nextDouble() < 0.3 ? (int) (sizes.length * Math.pow(random.nextDouble(), 3)) : i;
+                TensorTask task = new TensorTask(getNextTaskId(), 120, sizes[layer], 8, 16, new int[]{64, 64},
+                        Quantization.BFLOAT16);
+                task.setDataId(1 + layer);
+                tasks.add(task);
+            }
+        }
+        System.out.printf("Working set %d MB\n", workingSet);
+
+        for (Memory backing : new Memory[]{Memory.RAM, Memory.DISK}) {
+            for (double ratio : new double[]{0.9, 1.0, 1.1, 1.5, 2.0}) {
+                StringBuilder line = new StringBuilder(String.format("%-4s %.1fx oversubscribed:", backing, ratio));
+                for (Eviction policy : Eviction.values()) {
+                    PagedMemory memory = new PagedMemory((long) (workingSet / ratio), policy, backing, 2000);
+                    PagingReplay.Result result = PagingReplay.replay(tasks, memory);
+                    line.append(String.format(" %s %.2f tasks/s (%d faults, %.0f%% paging)", policy,
+                            result.throughput(), result.faults(), result.pagingShare() * 100));
+                }
+                System.out.println(line);
+            }
+        }
+    }
+
     private static void waitForTask(NPUTask task) {
         try {
             // Wait for task completion
             while (executor.isTaskRunning(String.valueOf(task.getTaskId()))) {
                 TimeUnit.MILLISECONDS.sleep(100);
             }
-            double basePower = getBasePower(task);
+            double basePower = task.getPowerConsumption() * PowerModel.getTypeFactor(task);
 
             task.setPowerConsumption(basePower);
             System.out.printf("Task %d completed with status: %s\n",
@@ -145,27 +687,6 @@ public class NPUSimulation {
         }
     }
 
-    private static double getBasePower(NPUTask task) {
-        double basePower = task.getPowerConsumption();
-        switch (task) {
-            case TensorTask t -> basePower *= (t.getTensorType() == Quantization.FLOAT32 ? 1.5 : 1.0);
-            case VectorTask v -> basePower *= switch (v.getVectorOperation()) {
-                case ADD -> 1.0;
-                case MUL -> 1.2;
-                case REDUCE -> 1.5;
-            };
-            case MemoryTask m -> basePower *= switch (m.getMemoryType()) {
-                case CACHE -> 0.5;
-                case RAM -> 1.0;
-                case VRAM -> 1.5;
-                case DISK -> 2.0;
-            };
-            default -> {
-            }
-        }
-        return basePower;
-    }
-
     private static long getNextTaskId() {
         return taskIdCounter++;
     }
@@ -0,0 +1,39 @@
+package simulator;
+
+import kernel.PagedMemory;
+import task.MemoryTask;
+import task.NPUTask;
+
+import java.util.List;
+
+public class PagingReplay {
+    private PagingReplay() {}
+
+    public record Result(int completed, long makespan, long computeTime, long pagingTime, long faults,
+                         long pageOuts, long pagedMegabytes) {
+        public double throughput() {
+            return makespan == 0 ? 0.0 : completed * 1000.0 / makespan;
+        }
+
+        public double pagingShare() {
+            return makespan == 0 ? 0.0 : (double) pagingTime / makespan;
+        }
+    }
+
+    // One device in trace order; each task first waits for the page-outs and fault its operands need
+    public static Result replay(List<? extends NPUTask> tasks, PagedMemory memory) {
+        long now = 0;
+        long compute = 0;
+        long paging = 0;
+        for (NPUTask task : tasks) {
+            for (MemoryTask transfer : memory.access(task)) {
+                paging += transfer.getExecutionTime();
+                now += transfer.getExecutionTime();
+            }
+            compute += task.getExecutionTime();
+            now += task.getExecutionTime();
+        }
+        return new Result(tasks.size(), now, compute, paging, memory.getFaults(), memory.getPageOuts(),
+                memory.getPagedIn() + memory.getPagedOut());
+    }
+}
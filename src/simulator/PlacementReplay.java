@@ -0,0 +1,106 @@
+package simulator;
+
+import kernel.Device;
+import status.Eviction;
+import status.Placement;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PlacementReplay {
+    private final int devices;
+    private final long vramCapacity;
+    private final Eviction eviction;
+    private final int bandwidth;
+    private final Placement policy;
+
+    public record Result(int completed, long makespan, int transfers, long transferredMegabytes, long transferTime,
+                         double hitRate, double imbalance) {
+        public double throughput() {
+            return makespan == 0 ? 0.0 : completed * 1000.0 / makespan;
+        }
+    }
+
+    public PlacementReplay(int devices, long vramCapacity, Eviction eviction, int bandwidth, Placement policy) {
+        if (bandwidth <= 0) {
+            throw new IllegalArgumentException("Bandwidth must be positive");
+        }
+        this.devices = Math.max(1, devices);
+        this.vramCapacity = Math.max(0, vramCapacity);
+        this.eviction = eviction;
+        this.bandwidth = bandwidth;
+        this.policy = policy;
+    }
+
+    // Tasks are placed in trace order; tasks on the same data still run one after another.
+    // ROUND_ROBIN rotates over devices and stages whatever operands are missing. LOCALITY picks the device
+    // that finishes soonest counting its backlog plus any transfer, so data only moves when the queue it
+    // leaves behind is longer than the copy
+    public Result replay(List<? extends NPUTask> tasks) {
+        List<Device> pool = new ArrayList<>();
+        for (int i = 0; i < devices; i++) {
+            pool.add(new Device(i, vramCapacity, eviction, bandwidth));
+        }
+
+        Map<Long, Long> dataReady = new HashMap<>();
+        long makespan = 0;
+        int next = 0;
+        for (NPUTask task : tasks) {
+            long readyAt = task.getDataId() == 0 ? 0 : dataReady.getOrDefault(task.getDataId(), 0L);
+            Device chosen = switch (policy) {
+                case ROUND_ROBIN -> pool.get(next++ % devices);
+                case LOCALITY -> closest(pool, task, readyAt);
+            };
+
+            long end = chosen.run(task, readyAt);
+            if (task.getDataId() != 0) {
+                dataReady.put(task.getDataId(), end);
+            }
+            makespan = Math.max(makespan, end);
+        }
+
+        int transfers = 0;
+        long transferredMegabytes = 0;
+        long transferTime = 0;
+        long hits = 0;
+        long accesses = 0;
+        long busiest = 0;
+        long busy = 0;
+        for (Device device : pool) {
+            transfers += device.getTransfers();
+            transferredMegabytes += device.getTransferredMegabytes();
+            transferTime += device.getTransferTime();
+            hits += device.getMemory().getHits();
+            accesses += device.getMemory().getHits() + device.getMemory().getMisses();
+            busiest = Math.max(busiest, device.getBusyTime());
+            busy += device.getBusyTime();
+        }
+        return new Result(tasks.size(), makespan, transfers, transferredMegabytes, transferTime,
+                accesses == 0 ? 0.0 : (double) hits / accesses,
+                busy == 0 ? 1.0 : busiest * (double) devices / busy);
+    }
+
+    // The device that finishes the task soonest, transfer included; ties go to the one free earliest
+    public static Device closest(List<Device> pool, NPUTask task, long readyAt) {
+        Device best = null;
+        long bestFinish = Long.MAX_VALUE;
+        for (Device device : pool) {
+            long finish = device.getFinishTime(task, readyAt);
+            if (finish < bestFinish
+                    || (finish == bestFinish && device.getAvailableAt() < best.getAvailableAt())) {
+                best = device;
+                bestFinish = finish;
+            }
+        }
+        return best;
+    }
+
+    public int getDevices() { return devices; }
+
+    public long getVramCapacity() { return vramCapacity; }
+
+    public Placement getPolicy() { return policy; }
+}
@@ -0,0 +1,144 @@
+package simulator;
+
+import kernel.PowerModel;
+import status.Consolidation;
+import task.ComputeTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class PowerGatingReplay {
+    public static final double IDLE_POWER = 150.0;
+    public static final long WAKE_LATENCY = 5;
+    public static final long GATE_AFTER = 20;
+
+    private final int units;
+    private final Consolidation policy;
+    private final long latencyTarget;
+    private final double idlePower;
+    private final long wakeLatency;
+    private final long gateAfter;
+
+    public record Arrival(long time, ComputeTask task) {}
+
+    public record Result(int completed, double dynamicEnergy, double staticEnergy, int wakeups, int unitsUsed,
+                         double meanLatency, long p50, long p99) {
+        public double energyPerTask() {
+            return completed == 0 ? 0.0 : (dynamicEnergy + staticEnergy) / completed;
+        }
+    }
+
+    public PowerGatingReplay(int units, Consolidation policy, long latencyTarget) {
+        this(units, policy, latencyTarget, IDLE_POWER, WAKE_LATENCY, GATE_AFTER);
+    }
+
+    // A unit idles at idlePower for gateAfter ms after its last task, then gates off and pays wakeLatency
+    // (powered, not yet running) before it can take the next one
+    public PowerGatingReplay(int units, Consolidation policy, long latencyTarget, double idlePower,
+                             long wakeLatency, long gateAfter) {
+        this.units = Math.max(1, units);
+        this.policy = policy;
+        this.latencyTarget = Math.max(0, latencyTarget);
+        this.idlePower = Math.max(0.0, idlePower);
+        this.wakeLatency = Math.max(0, wakeLatency);
+        this.gateAfter = Math.max(0, gateAfter);
+    }
+
+    public static List<Arrival> poisson(long seed, double tasksPerSecond, int count, int priority, int memorySize,
+                                        int computeUnits, int batchSize) {
+        List<Arrival> arrivals = new ArrayList<>();
+        for (InferenceServer.Request request : InferenceServer.poisson(seed, tasksPerSecond, count)) {
+            arrivals.add(new Arrival(request.arrival(),
+                    new ComputeTask(request.id(), priority, memorySize, computeUnits, batchSize)));
+        }
+        return arrivals;
+    }
+
+    // SPREAD takes whichever unit can start soonest, oldest first, so load rotates over every unit.
+    // PACK takes the lowest-numbered unit that still meets the latency target, waking a gated unit
+    // only when no awake one can
+    public Result replay(List<Arrival> arrivals) {
+        long[] free = new long[units];
+        boolean[] used = new boolean[units];
+        Arrays.fill(free, Long.MIN_VALUE / 2);
+        LatencyStats latency = new LatencyStats();
+        double dynamic = 0.0;
+        long powered = 0;
+        int wakeups = 0;
+
+        for (Arrival arrival : arrivals) {
+            long now = arrival.time();
+            long duration = arrival.task().getExecutionTime();
+            int chosen = policy == Consolidation.PACK ? pack(free, now, duration) : soonest(free, now);
+            long chosenStart = readyAt(free[chosen], now);
+
+            if (isGated(free[chosen], now)) {
+                wakeups++;
+                powered += wakeLatency + (used[chosen] ? gateAfter : 0);
+            } else {
+                powered += chosenStart - free[chosen];
+            }
+            used[chosen] = true;
+            powered += duration;
+            free[chosen] = chosenStart + duration;
+            dynamic += PowerModel.estimate(arrival.task()) * duration;
+            latency.record(free[chosen] - now);
+        }
+
+        int unitsUsed = 0;
+        for (boolean unit : used) {
+            if (unit) {
+                unitsUsed++;
+                powered += gateAfter;
+            }
+        }
+        return new Result(latency.getCount(), dynamic, idlePower * powered, wakeups, unitsUsed,
+                latency.getMean(), latency.getPercentile(0.50), latency.getPercentile(0.99));
+    }
+
+    // Awake units first, then gated ones; when no unit meets the target, the soonest start wins
+    private int pack(long[] free, long now, long duration) {
+        for (boolean gated : new boolean[]{false, true}) {
+            for (int u = 0; u < units; u++) {
+                if (isGated(free[u], now) == gated && readyAt(free[u], now) + duration - now <= latencyTarget) {
+                    return u;
+                }
+            }
+        }
+        int chosen = 0;
+        for (int u = 1; u < units; u++) {
+            if (readyAt(free[u], now) < readyAt(free[chosen], now)) {
+                chosen = u;
+            }
+        }
+        return chosen;
+    }
+
+    private int soonest(long[] free, long now) {
+        int chosen = 0;
+        for (int u = 1; u < units; u++) {
+            long start = readyAt(free[u], now);
+            long chosenStart = readyAt(free[chosen], now);
+            if (start < chosenStart || (start == chosenStart && free[u] < free[chosen])) {
+                chosen = u;
+            }
+        }
+        return chosen;
+    }
+
+    private boolean isGated(long free, long now) {
+        return now - free > gateAfter;
+    }
+
+    private long readyAt(long free, long now) {
+        return isGated(free, now) ? now + wakeLatency : Math.max(now, free);
+    }
+
+    public int getUnits() { return units; }
+
+    public Consolidation getPolicy() { return policy; }
+
+    public long getLatencyTarget() { return latencyTarget; }
+}
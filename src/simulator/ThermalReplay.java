@@ -0,0 +1,111 @@
+package simulator;
+
+import kernel.PowerModel;
+import kernel.ThermalModel;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public class ThermalReplay {
+    public static final long TICK = 1;
+
+    public record Result(int completed, long makespan, double peakTemperature, long throttledTime,
+                         double meanSpeed, long lastQuarterCompleted) {
+        public double throughput() {
+            return makespan == 0 ? 0.0 : completed * 1000.0 / makespan;
+        }
+
+        // Completion rate over the last quarter of the run, once the die has heated up
+        public double sustainedThroughput() {
+            return makespan == 0 ? 0.0 : lastQuarterCompleted * 4000.0 / makespan;
+        }
+    }
+
+    private static class Running {
+        private final NPUTask task;
+        private final double power;
+        private double remaining;
+        private boolean waiting;
+
+        private Running(NPUTask task, double remaining) {
+            this.task = task;
+            this.power = PowerModel.estimate(task);
+            this.remaining = remaining;
+        }
+    }
+
+    private ThermalReplay() {}
+
+    // Time-stepped counterpart of TraceReplay: in-order dispatch onto free lanes, tasks on the same data
+    // run one after another. As in TraceReplay, a task whose data is busy holds its lane and waits without
+    // drawing power while later tasks on other data start. Every tick the running draw heats the model, and
+    // in-flight work advances at the throttled clock so the remaining time of every running task stretches
+    // while hot. A null model runs isothermal at full speed and matches TraceReplay
+    public static Result replay(List<? extends NPUTask> tasks, int lanes, long dispatchOverhead, ThermalModel model) {
+        List<Running> running = new ArrayList<>();
+        Set<Long> busyData = new HashSet<>();
+        List<Long> completions = new ArrayList<>();
+        int next = 0;
+        long now = 0;
+        long throttled = 0;
+        double speedSum = 0.0;
+        double peak = model == null ? 0.0 : model.getTemperature();
+
+        while (next < tasks.size() || !running.isEmpty()) {
+            // Waiters are in dispatch order, so the earliest one claims freed data first
+            for (Running task : running) {
+                if (task.waiting && busyData.add(task.task.getDataId())) {
+                    task.waiting = false;
+                }
+            }
+            while (next < tasks.size() && running.size() < Math.max(1, lanes)) {
+                NPUTask task = tasks.get(next++);
+                Running dispatched = new Running(task, dispatchOverhead + task.getExecutionTime());
+                dispatched.waiting = !busyData.add(task.getDataId());
+                running.add(dispatched);
+            }
+
+            double speed = model == null ? 1.0 : model.getSpeedFactor();
+            double power = 0.0;
+            for (Running task : running) {
+                if (!task.waiting) {
+                    power += task.power * speed;
+                }
+            }
+            if (model != null) {
+                model.step(power, TICK);
+                peak = Math.max(peak, model.getTemperature());
+            }
+            now += TICK;
+            speedSum += speed;
+            if (speed < 1.0) {
+                throttled += TICK;
+            }
+
+            Iterator<Running> iterator = running.iterator();
+            while (iterator.hasNext()) {
+                Running task = iterator.next();
+                if (task.waiting) {
+                    continue;
+                }
+                task.remaining -= TICK * speed;
+                if (task.remaining <= 1e-9) {
+                    iterator.remove();
+                    busyData.remove(task.task.getDataId());
+                    completions.add(now);
+                }
+            }
+        }
+
+        long lastQuarter = 0;
+        for (long end : completions) {
+            if (end > now * 3 / 4) lastQuarter++;
+        }
+        return new Result(completions.size(), now, peak, throttled, now == 0 ? 1.0 : speedSum / (now / TICK),
+                lastQuarter);
+    }
+}
@@ -0,0 +1,109 @@
+package simulator;
+
+import status.Memory;
+import status.Operation;
+import status.Quantization;
+import task.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class Trace {
+    private Trace() {}
+
+    // Lines: VECTOR,id,priority,memory,units,batch,size,op,dataId | TENSOR,id,priority,memory,units,batch,HxWxC,type,dataId
+    //        COMPUTE,id,priority,memory,units,batch,dataId        | MEMORY,id,priority,memory,bandwidth,tier,dataId
+    public static List<NPUTask> load(Path path) throws IOException {
+        List<NPUTask> tasks = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(path)) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+
+            try {
+                tasks.add(parse(trimmed.split("\\s*,\\s*")));
+            } catch (RuntimeException e) {
+                throw new IOException(String.format("%s:%d: %s", path, lineNumber, e.getMessage()), e);
+            }
+        }
+        return tasks;
+    }
+
+    private static NPUTask parse(String[] f) {
+        long id = Long.parseLong(f[1]);
+        int priority = Integer.parseInt(f[2]);
+        int memory = Integer.parseInt(f[3]);
+        String type = f[0].toUpperCase();
+        NPUTask task = switch (type) {
+            case "VECTOR" -> new VectorTask(id, priority, memory, Integer.parseInt(f[4]), Integer.parseInt(f[5]),
+                    Integer.parseInt(f[6]), Operation.valueOf(f[7].toUpperCase()));
+            case "TENSOR" -> new TensorTask(id, priority, memory, Integer.parseInt(f[4]), Integer.parseInt(f[5]),
+                    parseDimensions(f[6]), Quantization.valueOf(f[7].toUpperCase()));
+            case "COMPUTE" -> new ComputeTask(id, priority, memory, Integer.parseInt(f[4]), Integer.parseInt(f[5]));
+            case "MEMORY" -> new MemoryTask(id, priority, memory, Integer.parseInt(f[4]),
+                    Memory.valueOf(f[5].toUpperCase()));
+            default -> throw new IllegalArgumentException("Unknown task type " + f[0]);
+        };
+
+        int dataColumn = type.equals("VECTOR") || type.equals("TENSOR") ? 8 : 6;
+        if (f.length > dataColumn) {
+            task.setDataId(Long.parseLong(f[dataColumn]));
+        }
+        return task;
+    }
+
+    private static int[] parseDimensions(String value) {
+        String[] parts = value.split("x");
+        int[] dims = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            dims[i] = Integer.parseInt(parts[i]);
+        }
+        return dims;
+    }
+
+    // Inference-style mix: element-wise chains over one activation between tensor layers and transfers
+    public static List<NPUTask> synthetic(long seed, int length) {
+        Random random = new Random(seed);
+        List<NPUTask> tasks = new ArrayList<>();
+        long nextId = 1;
+        long nextData = 1_000_000;
+
+        while (tasks.size() < length) {
+            long dataId = nextData++;
+            double kind = random.nextDouble();
+            if (kind < 0.5) {
+                int chain = 1 + random.nextInt(4);
+                int vectorSize = 1 << (8 + random.nextInt(6));
+                for (int i = 0; i < chain && tasks.size() < length; i++) {
+                    Operation operation = i == chain - 1 && random.nextBoolean()
+                            ? Operation.REDUCE
+                            : random.nextBoolean() ? Operation.ADD : Operation.MUL;
+                    VectorTask task = new VectorTask(nextId++, 110, 1024, 4, 16, vectorSize, operation);
+                    task.setDataId(dataId);
+                    tasks.add(task);
+                }
+            } else if (kind < 0.7) {
+                TensorTask task = new TensorTask(nextId++, 120, 2048, 8, 16,
+                        new int[]{32 << random.nextInt(3), 32 << random.nextInt(3)},
+                        Quantization.values()[random.nextInt(Quantization.values().length)]);
+                task.setDataId(dataId);
+                tasks.add(task);
+            } else if (kind < 0.85) {
+                MemoryTask task = new MemoryTask(nextId++, 115, 512 << random.nextInt(4), 1000,
+                        Memory.values()[random.nextInt(3)]);
+                task.setDataId(dataId);
+                tasks.add(task);
+            } else {
+                ComputeTask task = new ComputeTask(nextId++, 125, 1024, 4, 2 << random.nextInt(4));
+                task.setDataId(dataId);
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,48 @@
+package simulator;
+
+import kernel.PowerModel;
+import task.NPUTask;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public class TraceReplay {
+    public static final long DISPATCH_OVERHEAD = 2;
+
+    public record Result(int dispatched, long makespan, long memoryTraffic) {}
+
+    private TraceReplay() {}
+
+    // List scheduling in trace order on identical lanes; tasks on the same data run one after another
+    public static Result replay(List<? extends NPUTask> tasks, int lanes, long dispatchOverhead) {
+        return replay(tasks, lanes, dispatchOverhead, null);
+    }
+
+    public static Result replay(List<? extends NPUTask> tasks, int lanes, long dispatchOverhead,
+                                EnergyTimeline timeline) {
+        PriorityQueue<Long> laneFree = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, lanes); i++) {
+            laneFree.add(0L);
+        }
+
+        Map<Long, Long> dataReady = new HashMap<>();
+        long makespan = 0;
+        long memoryTraffic = 0;
+        for (NPUTask task : tasks) {
+            long lane = laneFree.poll();
+            long start = Math.max(lane, dataReady.getOrDefault(task.getDataId(), 0L)) + dispatchOverhead;
+            long end = start + task.getExecutionTime();
+
+            laneFree.add(end);
+            if (timeline != null) {
+                timeline.record(start, end, PowerModel.estimate(task));
+            }
+            dataReady.put(task.getDataId(), end);
+            makespan = Math.max(makespan, end);
+            memoryTraffic += task.getMemorySize();
+        }
+        return new Result(tasks.size(), makespan, memoryTraffic);
+    }
+}
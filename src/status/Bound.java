@@ -0,0 +1,5 @@
+package status;
+
+public enum Bound {
+    COMPUTE, MEMORY
+}
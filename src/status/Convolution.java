@@ -0,0 +1,5 @@
+package status;
+
+public enum Convolution {
+    IM2COL, WINOGRAD
+}
@@ -0,0 +1,5 @@
+package status;
+
+public enum Eviction {
+    LRU, LFU, SIZE_AWARE
+}
@@ -0,0 +1,5 @@
+package status;
+
+public enum Placement {
+    ROUND_ROBIN, LOCALITY
+}
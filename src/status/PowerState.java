@@ -0,0 +1,5 @@
+package status;
+
+public enum PowerState {
+    P0, P1, P2, P3
+}
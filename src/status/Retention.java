@@ -0,0 +1,5 @@
+package status;
+
+public enum Retention {
+    RECOMPUTE, OFFLOAD
+}
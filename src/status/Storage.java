@@ -0,0 +1,5 @@
+package status;
+
+public enum Storage {
+    DENSE, CSR, COO, BLOCK_SPARSE
+}
@@ -17,7 +17,7 @@ public class ComputeTask extends NPUTask {
         super.calculateExecutionTime();
 
         double computeFactor = 1.0 / computeUnits;
-        double batchFactor = batchSize / 16.0;
+        double batchFactor = batchSize / getCoefficients().batchScale();
         this.executionTime = (long) (executionTime * computeFactor * batchFactor);
     }
 
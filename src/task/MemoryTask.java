@@ -5,6 +5,7 @@ import status.Memory;
 public class MemoryTask extends NPUTask {
     private int bandwidth;
     private final Memory memoryType;
+    private double cacheHitRatio = Double.NaN;
 
     public MemoryTask(long taskId, int priority, int memorySize, int bandwidth, Memory memoryType) {
         super(taskId, priority, memorySize);
@@ -21,12 +22,22 @@ public class MemoryTask extends NPUTask {
             return;
         }
 
-        double bandwidthFactor = 1000.0 / bandwidth;
+        double bandwidthFactor = getCoefficients().bandwidthScale() / bandwidth;
         double typeMultiplier = getMemoryTypeMultiplier();
         this.executionTime = (long)(executionTime * bandwidthFactor * typeMultiplier);
     }
 
-    private double getMemoryTypeMultiplier() {
+    // Transfers are bound by the memory tier, not the core clock
+    @Override
+    protected double getFrequencySensitivity() {
+        return 0.2;
+    }
+
+    // With a simulated hit ratio, CACHE and RAM transfers blend the cache and RAM costs; NaN keeps the flat tier
+    public double getMemoryTypeMultiplier() {
+        if (!Double.isNaN(cacheHitRatio) && (memoryType == Memory.CACHE || memoryType == Memory.RAM)) {
+            return cacheHitRatio * 0.5 + (1 - cacheHitRatio) * 1.0;
+        }
         return switch (memoryType) {
             case CACHE -> 0.5;
             case RAM -> 1.0;
@@ -41,6 +52,12 @@ public class MemoryTask extends NPUTask {
         calculateExecutionTime();
     }
 
+    public double getCacheHitRatio() { return cacheHitRatio; }
+    public void setCacheHitRatio(double ratio) {
+        this.cacheHitRatio = Double.isNaN(ratio) ? Double.NaN : Math.min(1.0, Math.max(0.0, ratio));
+        calculateExecutionTime();
+    }
+
     public Memory getMemoryType() {
         return memoryType;
     }
@@ -1,18 +1,27 @@
 package task;
 
+import kernel.CostCoefficients;
+import kernel.CostModel;
 import kernel.TaskExecutor;
+import status.PowerState;
 import status.Status;
 
 public class NPUTask {
+    private static volatile CostModel costModel = CostModel.fixed(CostCoefficients.DEFAULT);
+
     private final long taskId;
+    private long dataId;
     private int priority;
     private long memorySize;
     private Status status;
     private double powerConsumption;
+    private PowerState powerState = PowerState.P0;
+    private CostCoefficients coefficients;
     protected long executionTime;
 
     public NPUTask(long taskId, int priority, int memorySize) {
         this.taskId = taskId;
+        this.dataId = taskId;
         setPriority(priority);
         setMemorySize(memorySize);
         setPowerConsumption(0.0);
@@ -28,20 +37,69 @@ public class NPUTask {
         }
     }
 
+    // Subclasses read the same coefficient snapshot through getCoefficients(), so a model swap
+    // mid-calculation cannot mix old and new values
     protected void calculateExecutionTime() {
-        long baseTime = 100;
-        double priorityFactor = (priority - 100) / 39.0;
-        double memoryFactor = memorySize / 1024.0;
-        this.executionTime = (long)(baseTime * (1 + priorityFactor) * (1 + memoryFactor));
+        this.coefficients = costModel.getCoefficients();
+        double baseTime = coefficients.baseTime();
+        double priorityFactor = (priority - 100) / coefficients.priorityScale();
+        double memoryFactor = memorySize / coefficients.memoryScale();
+        this.executionTime = (long)(baseTime * (1 + priorityFactor) * (1 + memoryFactor) * getClockFactor());
+    }
+
+    public void refreshExecutionTime() {
+        calculateExecutionTime();
+    }
+
+    public CostCoefficients getCoefficients() {
+        return coefficients != null ? coefficients : costModel.getCoefficients();
+    }
+
+    public static CostModel getCostModel() { return costModel; }
+    public static void setCostModel(CostModel model) {
+        costModel = model == null ? CostModel.fixed(CostCoefficients.DEFAULT) : model;
+    }
+
+    // Only the clock-bound share of the work stretches when the frequency drops
+    private double getClockFactor() {
+        return 1 + getFrequencySensitivity() * (1 / getFrequencyFactor() - 1);
+    }
+
+    protected double getFrequencySensitivity() {
+        return 1.0;
+    }
+
+    public double getFrequencyFactor() {
+        return switch (powerState) {
+            case P0 -> 1.0;
+            case P1 -> 0.85;
+            case P2 -> 0.7;
+            case P3 -> 0.5;
+        };
+    }
+
+    public double getVoltageFactor() {
+        return switch (powerState) {
+            case P0 -> 1.0;
+            case P1 -> 0.92;
+            case P2 -> 0.85;
+            case P3 -> 0.75;
+        };
     }
 
     protected void calculatePowerConsumption() {
-        double value = memorySize * 0.01 * priority;
-        setPowerConsumption(value);
+        setPowerConsumption(estimatePowerConsumption());
+    }
+
+    public double estimatePowerConsumption() {
+        return memorySize * 0.01 * priority * getFrequencyFactor() * getVoltageFactor() * getVoltageFactor();
     }
 
     public long getTaskId() { return taskId; }
 
+    public long getDataId() { return dataId; }
+    public void setDataId(long dataId) { this.dataId = dataId; }
+
     public int getPriority() { return priority; }
     public void setPriority(int priority) {
         this.priority = Math.min(139, Math.max(100, priority));
@@ -56,6 +114,12 @@ public class NPUTask {
         calculateExecutionTime();
     }
 
+    public PowerState getPowerState() { return powerState; }
+    public void setPowerState(PowerState powerState) {
+        this.powerState = powerState == null ? PowerState.P0 : powerState;
+        calculateExecutionTime();
+    }
+
     public Status getStatus() { return status; }
     public void setStatus(Status status) { this.status = status; }
 
@@ -1,11 +1,15 @@
 package task;
 
+import status.Convolution;
 import status.Quantization;
+import tensor.TensorData;
 
 public class TensorTask extends ComputeTask {
     private int[] dimensions;
     private Quantization tensorType;
-    private final double sparsity;
+    private TensorData data;
+    private Convolution convolution;
+    private double sparsity;
 
     private static final double MAX_SPARSITY = 0.95;
 
@@ -18,6 +22,18 @@ public class TensorTask extends ComputeTask {
         calculateExecutionTime();
     }
 
+    // Like every task type, the data-backed constructor prices the task before a subclass could initialise
+    @SuppressWarnings("this-escape")
+    public TensorTask(long taskId, int priority, int memorySize, int computeUnits,
+                      int batchSize, TensorData data) {
+        super(taskId, priority, memorySize, computeUnits, batchSize);
+        this.dimensions = data.getShape();
+        this.tensorType = data.getType();
+        this.data = data;
+        this.sparsity = calculateSparsity();
+        calculateExecutionTime();
+    }
+
     @Override
     protected void calculateExecutionTime() {
         super.calculateExecutionTime();
@@ -31,8 +47,10 @@ public class TensorTask extends ComputeTask {
         double dimensionFactor = calculateDimensionFactor();
         double typeFactor = getTensorTypeFactor();
         double sparsityFactor = Math.max(0.1, 1.0 - (sparsity * 0.5));
+        double convolutionFactor = getConvolutionFactor();
 
-        this.executionTime = (long)(super.getExecutionTime() * dimensionFactor * typeFactor * sparsityFactor);
+        this.executionTime = (long)(super.getExecutionTime() * dimensionFactor * typeFactor * sparsityFactor
+                * convolutionFactor);
     }
 
     private double calculateDimensionFactor() {
@@ -53,16 +71,34 @@ public class TensorTask extends ComputeTask {
     private double getTensorTypeFactor() {
         if (tensorType == null) return 1.0;
         return switch(tensorType) {
-            case FLOAT32 -> 1.8;
-            case INT8 -> 0.4;
-            case BFLOAT16 -> 1.0;
+            case FLOAT32 -> getCoefficients().float32Factor();
+            case INT8 -> getCoefficients().int8Factor();
+            case BFLOAT16 -> getCoefficients().bfloat16Factor();
+        };
+    }
+
+    private double getConvolutionFactor() {
+        if (convolution == null) return 1.0;
+        return switch (convolution) {
+            case IM2COL -> 1.0;
+            case WINOGRAD -> 0.8;
         };
     }
 
     private double calculateSparsity() {
+        if (data != null) {
+            return Math.min(data.getSparsity(), MAX_SPARSITY);
+        }
         return Math.min(Math.random(), MAX_SPARSITY);
     }
 
+    public void refreshSparsity() {
+        if (data != null) {
+            this.sparsity = calculateSparsity();
+            calculateExecutionTime();
+        }
+    }
+
     public int[] getDimensions() {
         return dimensions.clone();
     }
@@ -81,4 +117,21 @@ public class TensorTask extends ComputeTask {
     public double getSparsity() {
         return sparsity;
     }
+
+    // Pins the random draw, e.g. so a rebuilt copy of a task costs the same as the original
+    public void setSparsity(double sparsity) {
+        if (sparsity < 0 || sparsity > 1) {
+            throw new IllegalArgumentException("Sparsity must be between 0 and 1");
+        }
+        this.sparsity = Math.min(sparsity, MAX_SPARSITY);
+        calculateExecutionTime();
+    }
+
+    public TensorData getData() { return data; }
+
+    public Convolution getConvolution() { return convolution; }
+    public void setConvolution(Convolution convolution) {
+        this.convolution = convolution;
+        calculateExecutionTime();
+    }
 }
\ No newline at end of file
@@ -25,14 +25,14 @@ public class VectorTask extends ComputeTask {
         }
 
         double sizeFactor = Math.log10(Math.max(2, vectorSize)) / Math.log10(2);
-        double operationFactor = getOperationFactor();
+        double operationFactor = getOperationFactor(vectorOperation);
         double optimizationFactor = isOptimized ? 0.7 : 1.0;
 
         this.executionTime = (long)(this.executionTime * sizeFactor * operationFactor * optimizationFactor);
     }
 
-    private double getOperationFactor() {
-        return switch (vectorOperation) {
+    protected static double getOperationFactor(Operation operation) {
+        return switch (operation) {
             case ADD -> 1.0;
             case MUL -> 1.2;
             case REDUCE -> 1.5;
@@ -0,0 +1,173 @@
+package tensor;
+
+import status.Storage;
+
+public class BlockSparseTensor implements SparseTensor {
+    private final int rows;
+    private final int cols;
+    private final int blockSize;
+    private final int nonZeros;
+    private final int[] blockRowPointers;
+    private final int[] blockColumns;
+    private final float[] blocks;
+
+    private BlockSparseTensor(int rows, int cols, int blockSize, int nonZeros,
+                              int[] blockRowPointers, int[] blockColumns, float[] blocks) {
+        this.rows = rows;
+        this.cols = cols;
+        this.blockSize = blockSize;
+        this.nonZeros = nonZeros;
+        this.blockRowPointers = blockRowPointers;
+        this.blockColumns = blockColumns;
+        this.blocks = blocks;
+    }
+
+    public static BlockSparseTensor fromDense(float[] dense, int rows, int cols, int blockSize) {
+        int size = Math.max(1, blockSize);
+        int blockRows = (rows + size - 1) / size;
+        int blockCols = (cols + size - 1) / size;
+
+        boolean[] occupied = new boolean[blockRows * blockCols];
+        int storedBlocks = 0;
+        int nonZeros = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (dense[i * cols + j] != 0.0f) {
+                    nonZeros++;
+                    int block = (i / size) * blockCols + j / size;
+                    if (!occupied[block]) {
+                        occupied[block] = true;
+                        storedBlocks++;
+                    }
+                }
+            }
+        }
+
+        int[] blockRowPointers = new int[blockRows + 1];
+        int[] blockColumns = new int[storedBlocks];
+        float[] blocks = new float[storedBlocks * size * size];
+        int next = 0;
+        for (int bi = 0; bi < blockRows; bi++) {
+            for (int bj = 0; bj < blockCols; bj++) {
+                if (!occupied[bi * blockCols + bj]) continue;
+
+                blockColumns[next] = bj;
+                int base = next * size * size;
+                for (int r = 0; r < size && bi * size + r < rows; r++) {
+                    for (int c = 0; c < size && bj * size + c < cols; c++) {
+                        blocks[base + r * size + c] = dense[(bi * size + r) * cols + bj * size + c];
+                    }
+                }
+                next++;
+            }
+            blockRowPointers[bi + 1] = next;
+        }
+        return new BlockSparseTensor(rows, cols, size, nonZeros, blockRowPointers, blockColumns, blocks);
+    }
+
+    public static double blockSparsity(float[] dense, int rows, int cols, int blockSize) {
+        int size = Math.max(1, blockSize);
+        int blockRows = (rows + size - 1) / size;
+        int blockCols = (cols + size - 1) / size;
+        if (blockRows * blockCols == 0) return 0.0;
+
+        boolean[] occupied = new boolean[blockRows * blockCols];
+        int storedBlocks = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                int block = (i / size) * blockCols + j / size;
+                if (!occupied[block] && dense[i * cols + j] != 0.0f) {
+                    occupied[block] = true;
+                    storedBlocks++;
+                }
+            }
+        }
+        return 1.0 - (double) storedBlocks / (blockRows * blockCols);
+    }
+
+    // The data is viewed as a matrix whose columns are its last dimension and read in place
+    public static double blockSparsity(TensorData data, int blockSize) {
+        int[] shape = data.getShape();
+        long cols = shape.length == 0 ? 1 : Math.max(0, shape[shape.length - 1]);
+        long rows = cols == 0 ? 0 : data.getElements() / cols;
+        int size = Math.max(1, blockSize);
+        long blockCols = (cols + size - 1) / size;
+        long blockRows = (rows + size - 1) / size;
+        if (blockRows * blockCols == 0) return 0.0;
+
+        boolean[] occupied = new boolean[Math.toIntExact(blockRows * blockCols)];
+        long storedBlocks = 0;
+        for (long i = 0; i < rows; i++) {
+            for (long j = 0; j < cols; j++) {
+                int block = (int) ((i / size) * blockCols + j / size);
+                if (!occupied[block] && data.getFloat(i * cols + j) != 0.0f) {
+                    occupied[block] = true;
+                    storedBlocks++;
+                }
+            }
+        }
+        return 1.0 - (double) storedBlocks / (blockRows * blockCols);
+    }
+
+    @Override
+    public float[] multiply(float[] dense, int n) {
+        float[] out = new float[rows * n];
+        for (int bi = 0; bi < blockRowPointers.length - 1; bi++) {
+            for (int p = blockRowPointers[bi]; p < blockRowPointers[bi + 1]; p++) {
+                int base = p * blockSize * blockSize;
+                int colStart = blockColumns[p] * blockSize;
+                for (int r = 0; r < blockSize && bi * blockSize + r < rows; r++) {
+                    int rowOut = (bi * blockSize + r) * n;
+                    for (int c = 0; c < blockSize && colStart + c < cols; c++) {
+                        float v = blocks[base + r * blockSize + c];
+                        int rowB = (colStart + c) * n;
+                        for (int j = 0; j < n; j++) {
+                            out[rowOut + j] += v * dense[rowB + j];
+                        }
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public float[] toDense() {
+        float[] dense = new float[rows * cols];
+        for (int bi = 0; bi < blockRowPointers.length - 1; bi++) {
+            for (int p = blockRowPointers[bi]; p < blockRowPointers[bi + 1]; p++) {
+                int base = p * blockSize * blockSize;
+                int colStart = blockColumns[p] * blockSize;
+                for (int r = 0; r < blockSize && bi * blockSize + r < rows; r++) {
+                    for (int c = 0; c < blockSize && colStart + c < cols; c++) {
+                        dense[(bi * blockSize + r) * cols + colStart + c] = blocks[base + r * blockSize + c];
+                    }
+                }
+            }
+        }
+        return dense;
+    }
+
+    public int getBlockSize() { return blockSize; }
+
+    public int getStoredBlocks() { return blockColumns.length; }
+
+    @Override
+    public Storage getStorage() { return Storage.BLOCK_SPARSE; }
+
+    @Override
+    public int getRows() { return rows; }
+
+    @Override
+    public int getCols() { return cols; }
+
+    @Override
+    public int getNonZeros() { return nonZeros; }
+
+    @Override
+    public long getBytes() {
+        return (long) blocks.length * Float.BYTES
+                + (long) blockColumns.length * Integer.BYTES
+                + (long) blockRowPointers.length * Integer.BYTES;
+    }
+}
@@ -0,0 +1,79 @@
+package tensor;
+
+import status.Storage;
+
+public class CooTensor implements SparseTensor {
+    private final int rows;
+    private final int cols;
+    private final int[] rowIndices;
+    private final int[] columnIndices;
+    private final float[] values;
+
+    private CooTensor(int rows, int cols, int[] rowIndices, int[] columnIndices, float[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowIndices = rowIndices;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public static CooTensor fromDense(float[] dense, int rows, int cols) {
+        int nonZeros = 0;
+        for (int i = 0; i < rows * cols; i++) {
+            if (dense[i] != 0.0f) nonZeros++;
+        }
+
+        int[] rowIndices = new int[nonZeros];
+        int[] columnIndices = new int[nonZeros];
+        float[] values = new float[nonZeros];
+        int next = 0;
+        for (int i = 0; i < rows * cols; i++) {
+            if (dense[i] != 0.0f) {
+                rowIndices[next] = i / cols;
+                columnIndices[next] = i % cols;
+                values[next++] = dense[i];
+            }
+        }
+        return new CooTensor(rows, cols, rowIndices, columnIndices, values);
+    }
+
+    @Override
+    public float[] multiply(float[] dense, int n) {
+        float[] out = new float[rows * n];
+        for (int p = 0; p < values.length; p++) {
+            float v = values[p];
+            int rowOut = rowIndices[p] * n;
+            int rowB = columnIndices[p] * n;
+            for (int j = 0; j < n; j++) {
+                out[rowOut + j] += v * dense[rowB + j];
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public float[] toDense() {
+        float[] dense = new float[rows * cols];
+        for (int p = 0; p < values.length; p++) {
+            dense[rowIndices[p] * cols + columnIndices[p]] = values[p];
+        }
+        return dense;
+    }
+
+    @Override
+    public Storage getStorage() { return Storage.COO; }
+
+    @Override
+    public int getRows() { return rows; }
+
+    @Override
+    public int getCols() { return cols; }
+
+    @Override
+    public int getNonZeros() { return values.length; }
+
+    @Override
+    public long getBytes() {
+        return (long) values.length * (Float.BYTES + 2 * Integer.BYTES);
+    }
+}
@@ -0,0 +1,86 @@
+package tensor;
+
+import status.Storage;
+
+public class CsrTensor implements SparseTensor {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final float[] values;
+
+    private CsrTensor(int rows, int cols, int[] rowPointers, int[] columnIndices, float[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public static CsrTensor fromDense(float[] dense, int rows, int cols) {
+        int nonZeros = 0;
+        for (int i = 0; i < rows * cols; i++) {
+            if (dense[i] != 0.0f) nonZeros++;
+        }
+
+        int[] rowPointers = new int[rows + 1];
+        int[] columnIndices = new int[nonZeros];
+        float[] values = new float[nonZeros];
+        int next = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                float v = dense[i * cols + j];
+                if (v != 0.0f) {
+                    columnIndices[next] = j;
+                    values[next++] = v;
+                }
+            }
+            rowPointers[i + 1] = next;
+        }
+        return new CsrTensor(rows, cols, rowPointers, columnIndices, values);
+    }
+
+    @Override
+    public float[] multiply(float[] dense, int n) {
+        float[] out = new float[rows * n];
+        for (int i = 0; i < rows; i++) {
+            int rowOut = i * n;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                float v = values[p];
+                int rowB = columnIndices[p] * n;
+                for (int j = 0; j < n; j++) {
+                    out[rowOut + j] += v * dense[rowB + j];
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public float[] toDense() {
+        float[] dense = new float[rows * cols];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                dense[i * cols + columnIndices[p]] = values[p];
+            }
+        }
+        return dense;
+    }
+
+    @Override
+    public Storage getStorage() { return Storage.CSR; }
+
+    @Override
+    public int getRows() { return rows; }
+
+    @Override
+    public int getCols() { return cols; }
+
+    @Override
+    public int getNonZeros() { return values.length; }
+
+    @Override
+    public long getBytes() {
+        return (long) values.length * (Float.BYTES + Integer.BYTES) + (long) (rows + 1) * Integer.BYTES;
+    }
+}
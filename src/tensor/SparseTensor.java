@@ -0,0 +1,24 @@
+package tensor;
+
+import status.Storage;
+
+public interface SparseTensor {
+    Storage getStorage();
+
+    int getRows();
+
+    int getCols();
+
+    int getNonZeros();
+
+    long getBytes();
+
+    float[] multiply(float[] dense, int n);
+
+    float[] toDense();
+
+    default double getSparsity() {
+        long elements = (long) getRows() * getCols();
+        return elements == 0 ? 0.0 : 1.0 - (double) getNonZeros() / elements;
+    }
+}
@@ -0,0 +1,238 @@
+package tensor;
+
+import status.Quantization;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TensorCheckpoint implements AutoCloseable {
+    public static final int MAGIC = 0x4E505554;
+    public static final int VERSION = 1;
+    public static final int ALIGNMENT = 4096;
+    public static final long MAX_WINDOW_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final long windowBytes;
+    private final Map<Long, Entry> entries;
+    private final Map<Long, TensorData> loaded;
+
+    // One header entry per tensor: where its raw little-endian bytes start in the file and how long they are
+    public record Entry(long id, int[] shape, Quantization type, int blockBytes, long offset, long length) {
+        public Entry {
+            shape = shape.clone();
+        }
+
+        @Override
+        public int[] shape() { return shape.clone(); }
+
+        private int headerBytes() {
+            return Long.BYTES + 3 * Integer.BYTES + shape.length * Integer.BYTES + 2 * Long.BYTES;
+        }
+    }
+
+    private TensorCheckpoint(FileChannel channel, Map<Long, Entry> entries, long windowBytes) {
+        this.channel = channel;
+        this.windowBytes = windowBytes;
+        this.entries = entries;
+        this.loaded = new ConcurrentHashMap<>();
+    }
+
+    // Layout: magic, version, count, then per tensor id, type, block bytes, rank, dims, offset, length;
+    // every tensor's data starts on a 4 KiB boundary so it maps page-aligned
+    public static void write(Path path, Map<Long, TensorData> tensors) throws IOException {
+        List<Entry> layout = new ArrayList<>();
+        long headerBytes = 3 * Integer.BYTES;
+        for (Map.Entry<Long, TensorData> tensor : tensors.entrySet()) {
+            TensorData data = tensor.getValue();
+            Entry entry = new Entry(tensor.getKey(), data.getShape(), data.getType(), data.getBlockBytes(), 0,
+                    data.getBytes());
+            layout.add(entry);
+            headerBytes += entry.headerBytes();
+        }
+
+        List<Entry> placed = new ArrayList<>();
+        long offset = align(headerBytes);
+        for (Entry entry : layout) {
+            placed.add(new Entry(entry.id(), entry.shape(), entry.type(), entry.blockBytes(), offset, entry.length()));
+            offset = align(offset + entry.length());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate((int) headerBytes).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putInt(placed.size());
+        for (Entry entry : placed) {
+            header.putLong(entry.id()).putInt(entry.type().ordinal()).putInt(entry.blockBytes())
+                    .putInt(entry.shape.length);
+            for (int dim : entry.shape) {
+                header.putInt(dim);
+            }
+            header.putLong(entry.offset()).putLong(entry.length());
+        }
+        header.flip();
+
+        try (FileChannel out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, header, 0);
+            int index = 0;
+            for (TensorData data : tensors.values()) {
+                long position = placed.get(index++).offset();
+                long remaining = data.getBytes();
+                for (int block = 0; block < data.getBlockCount() && remaining > 0; block++) {
+                    ByteBuffer bytes = data.getBlock(block);
+                    bytes.limit((int) Math.min(bytes.capacity(), remaining));
+                    remaining -= bytes.remaining();
+                    position += writeFully(out, bytes, position);
+                }
+            }
+            out.truncate(Math.max(align(headerBytes), offset));
+        }
+    }
+
+    // Reads only the header; tensor data is mapped when first asked for, so reopening costs the same
+    // whatever the checkpoint size
+    public static TensorCheckpoint open(Path path) throws IOException {
+        return open(path, MAX_WINDOW_BYTES);
+    }
+
+    // windowBytes caps a single mapping; blocks are sliced out of these windows, so even a multi-GB
+    // checkpoint needs only a handful of mappings and stays far below the kernel's map count limit
+    public static TensorCheckpoint open(Path path, long windowBytes) throws IOException {
+        if (windowBytes <= 0 || windowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Window must be between 1 byte and 2 GB, got " + windowBytes);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new TensorCheckpoint(channel, readHeader(channel), windowBytes);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static Map<Long, Entry> readHeader(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer prefix = read(channel, 0, 3 * Integer.BYTES);
+        if (prefix.getInt() != MAGIC) {
+            throw new IOException("Not a tensor checkpoint");
+        }
+        int version = prefix.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+
+        int count = prefix.getInt();
+        Map<Long, Entry> entries = new LinkedHashMap<>();
+        long position = prefix.capacity();
+        for (int i = 0; i < count; i++) {
+            ByteBuffer fixed = read(channel, position, Long.BYTES + 3 * Integer.BYTES);
+            long id = fixed.getLong();
+            int typeIndex = fixed.getInt();
+            int blockBytes = fixed.getInt();
+            int rank = fixed.getInt();
+            if (typeIndex < 0 || typeIndex >= Quantization.values().length || rank < 0 || rank > 64
+                    || blockBytes < Long.BYTES || blockBytes % Long.BYTES != 0) {
+                throw new IOException("Corrupt header entry " + i);
+            }
+
+            ByteBuffer rest = read(channel, position + fixed.capacity(), rank * Integer.BYTES + 2 * Long.BYTES);
+            int[] shape = new int[rank];
+            for (int d = 0; d < rank; d++) {
+                shape[d] = rest.getInt();
+            }
+            Entry entry = new Entry(id, shape, Quantization.values()[typeIndex], blockBytes, rest.getLong(),
+                    rest.getLong());
+            if (entry.offset() < 0 || entry.length() < 0 || entry.offset() + entry.length() > size
+                    || entry.length() < TensorData.elementCount(shape) * TensorData.elementBytes(entry.type())) {
+                throw new IOException("Tensor " + id + " lies outside the checkpoint");
+            }
+            entries.put(id, entry);
+            position += fixed.capacity() + rest.capacity();
+        }
+        return entries;
+    }
+
+    // Blocks are read-only slices of the mapped file, so pages fault in on first touch and nothing is copied
+    public TensorData load(long id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            throw new IllegalArgumentException("No tensor " + id + " in checkpoint");
+        }
+        return loaded.computeIfAbsent(id, key -> map(entry));
+    }
+
+    // Shards map independently, so loading them in parallel only contends on the page cache
+    public Map<Long, TensorData> loadAll() {
+        entries.keySet().parallelStream().forEach(this::load);
+        Map<Long, TensorData> all = new LinkedHashMap<>();
+        for (Long id : entries.keySet()) {
+            all.put(id, loaded.get(id));
+        }
+        return all;
+    }
+
+    private TensorData map(Entry entry) {
+        int blockBytes = entry.blockBytes();
+        int count = (int) Math.max(1, (entry.length() + blockBytes - 1) / blockBytes);
+        long window = Math.max(blockBytes, windowBytes / blockBytes * blockBytes);
+        ByteBuffer[] blocks = new ByteBuffer[count];
+        MappedByteBuffer mapping = null;
+        long mappedFrom = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                long start = (long) i * blockBytes;
+                int size = (int) Math.min(blockBytes, entry.length() - start);
+                if (mapping == null || start + size > mappedFrom + mapping.capacity()) {
+                    mappedFrom = start;
+                    mapping = channel.map(FileChannel.MapMode.READ_ONLY, entry.offset() + start,
+                            Math.min(window, entry.length() - start));
+                }
+                blocks[i] = mapping.slice((int) (start - mappedFrom), size);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not map tensor " + entry.id(), e);
+        }
+        return TensorData.wrap(entry.shape, entry.type(), blockBytes, blocks);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated checkpoint header");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+
+    public List<Entry> getEntries() { return List.copyOf(entries.values()); }
+
+    public boolean contains(long id) { return entries.containsKey(id); }
+
+    public int getLoadedCount() { return loaded.size(); }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
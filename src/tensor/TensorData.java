@@ -0,0 +1,217 @@
+package tensor;
+
+import status.Quantization;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+public class TensorData {
+    public static final int DEFAULT_BLOCK_BYTES = 1 << 20;
+
+    private static final long LOW_7_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS_8 = 0x8080808080808080L;
+    private static final long LOW_15_BITS = 0x7FFF7FFF7FFF7FFFL;
+    private static final long HIGH_BITS_16 = 0x8000800080008000L;
+    private static final long LOW_31_BITS = 0x7FFFFFFF7FFFFFFFL;
+    private static final long HIGH_BITS_32 = 0x8000000080000000L;
+
+    private final int[] shape;
+    private final Quantization type;
+    private final long elements;
+    private final int blockBytes;
+    private final ByteBuffer[] blocks;
+    private final long[] zeroCounts;
+
+    private TensorData(int[] shape, Quantization type, int blockBytes, ByteBuffer[] blocks) {
+        this.shape = shape.clone();
+        this.type = type;
+        this.elements = elementCount(shape);
+        this.blockBytes = blockBytes;
+        this.blocks = blocks;
+        this.zeroCounts = new long[blocks.length];
+        Arrays.fill(zeroCounts, -1);
+    }
+
+    public static TensorData allocate(int[] shape, Quantization type) {
+        return allocate(shape, type, DEFAULT_BLOCK_BYTES, false);
+    }
+
+    public static TensorData allocate(int[] shape, Quantization type, int blockBytes, boolean direct) {
+        int alignedBlock = alignBlockBytes(blockBytes);
+        long totalBytes = elementCount(shape) * elementBytes(type);
+        ByteBuffer[] blocks = new ByteBuffer[(int) ((totalBytes + alignedBlock - 1) / alignedBlock)];
+        for (int i = 0; i < blocks.length; i++) {
+            int size = (int) Math.min(alignedBlock, totalBytes - (long) i * alignedBlock);
+            blocks[i] = direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+            blocks[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new TensorData(shape, type, alignedBlock, blocks);
+    }
+
+    public static TensorData wrap(int[] shape, Quantization type, int blockBytes, ByteBuffer[] blocks) {
+        long totalBytes = elementCount(shape) * elementBytes(type);
+        long available = 0;
+        for (int i = 0; i < blocks.length; i++) {
+            if (i < blocks.length - 1 && blocks[i].capacity() != blockBytes) {
+                throw new IllegalArgumentException("Only the last block may be shorter than " + blockBytes);
+            }
+            blocks[i].order(ByteOrder.LITTLE_ENDIAN);
+            available += blocks[i].capacity();
+        }
+        if (blockBytes != alignBlockBytes(blockBytes) || available < totalBytes) {
+            throw new IllegalArgumentException(
+                    String.format("Blocks hold %d bytes, tensor needs %d", available, totalBytes));
+        }
+        return new TensorData(shape, type, blockBytes, blocks.clone());
+    }
+
+    public static int elementBytes(Quantization type) {
+        return switch (type) {
+            case INT8 -> 1;
+            case BFLOAT16 -> 2;
+            case FLOAT32 -> 4;
+        };
+    }
+
+    public static long elementCount(int[] shape) {
+        long count = 1;
+        for (int dim : shape) {
+            count *= Math.max(0, dim);
+        }
+        return count;
+    }
+
+    public float getFloat(long index) {
+        long offset = byteOffset(index);
+        ByteBuffer block = blocks[(int) (offset / blockBytes)];
+        int position = (int) (offset % blockBytes);
+        return switch (type) {
+            case INT8 -> block.get(position);
+            case BFLOAT16 -> Float.intBitsToFloat(block.getShort(position) << 16);
+            case FLOAT32 -> block.getFloat(position);
+        };
+    }
+
+    public void setFloat(long index, float value) {
+        long offset = byteOffset(index);
+        int blockIndex = (int) (offset / blockBytes);
+        ByteBuffer block = blocks[blockIndex];
+        int position = (int) (offset % blockBytes);
+        switch (type) {
+            case INT8 -> block.put(position, (byte) Math.min(127, Math.max(-128, Math.round(value))));
+            case BFLOAT16 -> block.putShort(position, toBFloat16Bits(value));
+            case FLOAT32 -> block.putFloat(position, value);
+        }
+        zeroCounts[blockIndex] = -1;
+    }
+
+    public void invalidate() {
+        Arrays.fill(zeroCounts, -1);
+    }
+
+    public void invalidate(int blockIndex) {
+        zeroCounts[blockIndex] = -1;
+    }
+
+    public double getSparsity() {
+        if (elements == 0) return 0.0;
+
+        IntStream.range(0, blocks.length)
+                .parallel()
+                .filter(i -> zeroCounts[i] < 0)
+                .forEach(i -> zeroCounts[i] = countZeros(i));
+
+        long zeros = 0;
+        for (long count : zeroCounts) {
+            zeros += count;
+        }
+        return (double) zeros / elements;
+    }
+
+    public int getStaleBlocks() {
+        int stale = 0;
+        for (long count : zeroCounts) {
+            if (count < 0) stale++;
+        }
+        return stale;
+    }
+
+    private long countZeros(int blockIndex) {
+        ByteBuffer block = blocks[blockIndex];
+        int width = elementBytes(type);
+        int limit = (int) Math.min(block.capacity(), getBytes() - (long) blockIndex * blockBytes);
+        int words = limit / Long.BYTES;
+        long zeros = 0;
+
+        // SWAR: each 64-bit load tests 8, 4 or 2 lanes at once for +/-0
+        switch (type) {
+            case INT8 -> {
+                for (int w = 0; w < words; w++) {
+                    long x = block.getLong(w * Long.BYTES);
+                    long nonZero = ((x & LOW_7_BITS) + LOW_7_BITS | x) & HIGH_BITS_8;
+                    zeros += 8 - Long.bitCount(nonZero);
+                }
+            }
+            case BFLOAT16 -> {
+                for (int w = 0; w < words; w++) {
+                    long x = block.getLong(w * Long.BYTES) & LOW_15_BITS;
+                    zeros += 4 - Long.bitCount((x + LOW_15_BITS) & HIGH_BITS_16);
+                }
+            }
+            case FLOAT32 -> {
+                for (int w = 0; w < words; w++) {
+                    long x = block.getLong(w * Long.BYTES) & LOW_31_BITS;
+                    zeros += 2 - Long.bitCount((x + LOW_31_BITS) & HIGH_BITS_32);
+                }
+            }
+        }
+
+        for (int position = words * Long.BYTES; position < limit; position += width) {
+            boolean zero = switch (type) {
+                case INT8 -> block.get(position) == 0;
+                case BFLOAT16 -> (block.getShort(position) & 0x7FFF) == 0;
+                case FLOAT32 -> (block.getInt(position) & 0x7FFFFFFF) == 0;
+            };
+            if (zero) zeros++;
+        }
+        return zeros;
+    }
+
+    private long byteOffset(long index) {
+        if (index < 0 || index >= elements) {
+            throw new IndexOutOfBoundsException("Element " + index + " outside tensor of " + elements);
+        }
+        return index * elementBytes(type);
+    }
+
+    private static short toBFloat16Bits(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            return (short) (bits >>> 16);
+        }
+        return (short) ((bits + 0x7FFF + ((bits >>> 16) & 1)) >>> 16);
+    }
+
+    private static int alignBlockBytes(int blockBytes) {
+        return Math.max(Long.BYTES, blockBytes / Long.BYTES * Long.BYTES);
+    }
+
+    public int[] getShape() { return shape.clone(); }
+
+    public Quantization getType() { return type; }
+
+    public long getElements() { return elements; }
+
+    public long getBytes() { return elements * elementBytes(type); }
+
+    public int getBlockBytes() { return blockBytes; }
+
+    public int getBlockCount() { return blocks.length; }
+
+    // Read-only so writes go through setFloat and keep the stale-block tracking honest
+    public ByteBuffer getBlock(int index) {
+        return blocks[index].asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,140 @@
+package test.built;
+
+import kernel.AutoBatcher;
+import kernel.TaskExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Quantization;
+import status.Status;
+import task.ComputeTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutoBatcherTest {
+    private static long nextId = 50_000L;
+    private AutoBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new AutoBatcher(8, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Full batches should dispatch immediately")
+    void testFullBatchDispatch() {
+        List<ComputeTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ComputeTask task = tinyTask(100);
+            tasks.add(task);
+            batcher.submit(task);
+        }
+
+        assertEquals(8, batcher.getSubmittedTasks());
+        assertEquals(2, batcher.getDispatchedBatches());
+        for (ComputeTask task : tasks) {
+            assertNotEquals(Status.PENDING, task.getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Incompatible tasks should not share a batch")
+    void testIncompatibleTasks() {
+        batcher.submit(tinyTask(100));
+        batcher.submit(tinyTask(130));
+        batcher.submit(tinyTask(100));
+        assertEquals(0, batcher.getDispatchedBatches());
+
+        batcher.flush();
+        assertEquals(2, batcher.getDispatchedBatches());
+    }
+
+    @Test
+    @DisplayName("Partial batches should dispatch once the wait cap expires")
+    void testMaxWait() throws InterruptedException {
+        ComputeTask task = tinyTask(100);
+        batcher.submit(task);
+        assertEquals(Status.PENDING, task.getStatus());
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (batcher.getDispatchedBatches() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, batcher.getDispatchedBatches());
+        assertNotEquals(Status.PENDING, task.getStatus());
+    }
+
+    @Test
+    @DisplayName("Subclasses and oversized tasks should bypass coalescing")
+    void testBypass() {
+        batcher.submit(new TensorTask(nextId++, 100, 0, 16, 2, new int[]{1}, Quantization.INT8));
+        batcher.submit(new ComputeTask(nextId++, 100, 0, 16, 8));
+        assertEquals(2, batcher.getDispatchedBatches());
+    }
+
+    @Test
+    @DisplayName("Tasks that already started should be rejected")
+    void testRejectsNonPending() {
+        ComputeTask running = tinyTask(100);
+        running.setStatus(Status.RUNNING);
+        ComputeTask completed = tinyTask(100);
+        completed.setStatus(Status.COMPLETED);
+
+        assertThrows(IllegalArgumentException.class, () -> batcher.submit(running));
+        assertThrows(IllegalArgumentException.class, () -> batcher.submit(completed));
+        assertEquals(0, batcher.getSubmittedTasks());
+    }
+
+    @Test
+    @DisplayName("Batched tasks should keep their own ids in the executor")
+    void testMemberIds() throws Exception {
+        ComputeTask first = tinyTask(100);
+        ComputeTask second = tinyTask(100);
+        CompletableFuture<NPUTask> firstDone = TaskExecutor.getInstance().onCompletion(first);
+        CompletableFuture<NPUTask> secondDone = TaskExecutor.getInstance().onCompletion(second);
+
+        CompletableFuture<ComputeTask> firstResult = batcher.submit(first);
+        batcher.submit(second);
+        batcher.flush();
+
+        assertSame(first, firstDone.get(10, TimeUnit.SECONDS));
+        assertSame(second, secondDone.get(10, TimeUnit.SECONDS));
+        assertSame(first, firstResult.get(10, TimeUnit.SECONDS));
+        assertEquals(Status.COMPLETED, second.getStatus());
+    }
+
+    @Test
+    @DisplayName("Cancelling a batched task should cancel its whole batch")
+    void testMemberCancel() {
+        ComputeTask first = new ComputeTask(nextId++, 139, 8192, 1, 4);
+        ComputeTask second = new ComputeTask(nextId++, 139, 8192, 1, 4);
+        CompletableFuture<ComputeTask> firstResult = batcher.submit(first);
+        batcher.submit(second);
+        batcher.flush();
+
+        TaskExecutor executor = TaskExecutor.getInstance();
+        assertTrue(executor.isTaskRunning(String.valueOf(second.getTaskId())));
+        executor.cancelTask(String.valueOf(second.getTaskId()));
+
+        assertTrue(firstResult.isCompletedExceptionally());
+        assertFalse(executor.isTaskRunning(String.valueOf(first.getTaskId())));
+        assertEquals(Status.FAILED, first.getStatus());
+    }
+
+    private static ComputeTask tinyTask(int priority) {
+        return new ComputeTask(nextId++, priority, 0, 16, 2);
+    }
+}
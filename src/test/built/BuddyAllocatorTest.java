@@ -0,0 +1,163 @@
+package test.built;
+
+import kernel.BuddyAllocator;
+import kernel.TaskExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.AllocationReplay;
+import status.Memory;
+import status.Status;
+import task.ComputeTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuddyAllocatorTest {
+
+    @AfterEach
+    void tearDown() {
+        TaskExecutor.getInstance().setAllocator(Memory.VRAM, null);
+    }
+
+    @Test
+    @DisplayName("Allocations should round up to a power of two and coalesce when freed")
+    void testSplitAndCoalesce() {
+        BuddyAllocator allocator = new BuddyAllocator(16, 1);
+        BuddyAllocator.Block block = allocator.allocate(3);
+
+        assertEquals(0, block.offset());
+        assertEquals(4, block.size());
+        assertEquals(4, allocator.getUsed());
+        assertEquals(0.25, allocator.getInternalFragmentation(), 1e-9);
+        assertEquals(8, allocator.getLargestFree());
+
+        allocator.free(block);
+        assertEquals(0, allocator.getUsed());
+        assertEquals(16, allocator.getLargestFree());
+        assertEquals(4, allocator.getPeak());
+    }
+
+    @Test
+    @DisplayName("A request should fail on fragmentation even when enough memory is free")
+    void testFragmentedFailure() {
+        BuddyAllocator allocator = new BuddyAllocator(16, 1);
+        List<BuddyAllocator.Block> blocks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            blocks.add(allocator.allocate(4));
+        }
+        allocator.free(blocks.get(0));
+        allocator.free(blocks.get(2));
+
+        assertEquals(8, allocator.getFree());
+        assertNull(allocator.allocate(8));
+        assertEquals(1, allocator.getFailures());
+        assertEquals(1, allocator.getFragmentedFailures());
+        assertEquals(0.5, allocator.getFragmentation(), 1e-9);
+
+        assertNull(allocator.allocate(32));
+        assertEquals(2, allocator.getFailures());
+        assertEquals(1, allocator.getFragmentedFailures());
+    }
+
+    @Test
+    @DisplayName("Capacities that are not a power of two should be fully usable")
+    void testUnevenCapacity() {
+        BuddyAllocator allocator = new BuddyAllocator(12, 1);
+        assertNotNull(allocator.allocate(8));
+        assertNotNull(allocator.allocate(4));
+        assertNull(allocator.allocate(1));
+        assertEquals(0, allocator.getFragmentedFailures());
+        assertEquals(12, allocator.getPeak());
+    }
+
+    @Test
+    @DisplayName("Concurrent allocations should never overlap and should all be returned")
+    void testConcurrent() throws InterruptedException {
+        BuddyAllocator allocator = new BuddyAllocator(1024, 1);
+        AtomicIntegerArray owner = new AtomicIntegerArray(1024);
+        AtomicBoolean overlap = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int id = t + 1;
+            threads.add(new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < 2000; i++) {
+                    BuddyAllocator.Block block = allocator.allocate(1 + random.nextInt(64));
+                    if (block == null) {
+                        continue;
+                    }
+                    for (long unit = block.offset(); unit < block.offset() + block.size(); unit++) {
+                        if (!owner.compareAndSet((int) unit, 0, id)) {
+                            overlap.set(true);
+                        }
+                    }
+                    for (long unit = block.offset(); unit < block.offset() + block.size(); unit++) {
+                        owner.set((int) unit, 0);
+                    }
+                    allocator.free(block);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(overlap.get());
+        assertEquals(0, allocator.getUsed());
+        assertEquals(0, allocator.getRequested());
+        assertNotNull(allocator.allocate(1024 / 4));
+    }
+
+    @Test
+    @DisplayName("The executor should fail tasks that do not fit and free memory on cancellation")
+    void testExecutorAllocation() {
+        BuddyAllocator allocator = new BuddyAllocator(1024, 1);
+        TaskExecutor executor = TaskExecutor.getInstance();
+        executor.setAllocator(Memory.VRAM, allocator);
+
+        ComputeTask oversized = new ComputeTask(95_001, 110, 2048, 4, 8);
+        oversized.execute();
+        assertEquals(Status.FAILED, oversized.getStatus());
+        assertEquals(1, allocator.getFailures());
+
+        ComputeTask task = new ComputeTask(95_002, 110, 300, 4, 8);
+        task.execute();
+        assertEquals(512, allocator.getUsed());
+        executor.cancelTask(String.valueOf(task.getTaskId()));
+        assertEquals(0, allocator.getUsed());
+    }
+
+    @Test
+    @DisplayName("Replay should stall tasks on memory and drop only those that can never fit")
+    void testReplay() {
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(new ComputeTask(i + 1, 110, 600, 4, 8));
+        }
+        tasks.add(new ComputeTask(21, 110, 4096, 4, 8));
+
+        AllocationReplay.Result result = new AllocationReplay(4, 2048, 1).replay(tasks);
+        assertEquals(20, result.completed());
+        assertEquals(1, result.dropped());
+        assertEquals(2048, result.peakUsage());
+        assertTrue(result.stalls() > 0);
+        assertTrue(result.failedAllocations() >= result.stalls());
+        assertTrue(result.failedAllocations() <= result.stalls() + result.dropped());
+    }
+
+    @Test
+    @DisplayName("Invalid allocator configurations should be rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new BuddyAllocator(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BuddyAllocator(64, 3));
+        assertThrows(IllegalArgumentException.class, () -> new BuddyAllocator(64, 1).allocate(0));
+    }
+}
@@ -0,0 +1,92 @@
+package test.built;
+
+import kernel.CacheSimulator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Memory;
+import status.Replacement;
+import task.MemoryTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheSimulatorTest {
+
+    @Test
+    @DisplayName("Repeated lines should hit and neighbouring bytes should share a line")
+    void testHitsAndLines() {
+        CacheSimulator cache = new CacheSimulator(1 << 12, 4, 64, Replacement.LRU);
+        assertFalse(cache.access(0));
+        assertTrue(cache.access(63));
+        assertFalse(cache.access(64));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(16, cache.getSets());
+    }
+
+    @Test
+    @DisplayName("LRU should evict the least recently used way")
+    void testLru() {
+        CacheSimulator cache = new CacheSimulator(4 * 64, 4, 64, Replacement.LRU);
+        for (long line = 0; line < 4; line++) {
+            cache.access(line * 64);
+        }
+        cache.access(0);
+        cache.access(4 * 64);
+
+        assertTrue(cache.access(0));
+        assertFalse(cache.access(64));
+    }
+
+    @Test
+    @DisplayName("Tree PLRU should evict away from recently touched ways")
+    void testPlru() {
+        CacheSimulator cache = new CacheSimulator(4 * 64, 4, 64, Replacement.PLRU);
+        for (long line = 0; line < 4; line++) {
+            cache.access(line * 64);
+        }
+        cache.access(0);
+        cache.access(4 * 64);
+
+        assertTrue(cache.access(0));
+        assertFalse(cache.access(2 * 64));
+    }
+
+    @Test
+    @DisplayName("A working set that fits should hit after the first pass")
+    void testWorkingSet() {
+        for (Replacement policy : Replacement.values()) {
+            CacheSimulator cache = new CacheSimulator(1 << 20, 8, 64, policy);
+            cache.accessRange(0, 512 << 10);
+            long hits = cache.accessRange(0, 512 << 10);
+
+            assertEquals((512 << 10) / 64, hits);
+            cache.reset();
+            assertEquals(0, cache.getHits() + cache.getMisses());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new CacheSimulator(3000, 4, 64, Replacement.LRU));
+        assertThrows(IllegalArgumentException.class, () -> new CacheSimulator(1 << 20, 64, 64, Replacement.PLRU));
+    }
+
+    @Test
+    @DisplayName("Memory task cost should follow the simulated hit ratio")
+    void testMemoryTaskCost() {
+        MemoryTask ram = new MemoryTask(1, 100, 2, 1000, Memory.RAM);
+        MemoryTask cached = new MemoryTask(2, 100, 2, 1000, Memory.CACHE);
+        MemoryTask task = new MemoryTask(3, 100, 2, 1000, Memory.RAM);
+        assertTrue(Double.isNaN(task.getCacheHitRatio()));
+
+        CacheSimulator cache = new CacheSimulator(8L << 20, 16, 64, Replacement.LRU);
+        assertEquals(0.0, cache.apply(task, 0), 1e-12);
+        assertEquals(ram.getExecutionTime(), task.getExecutionTime());
+
+        assertEquals(1.0, cache.apply(task, 0), 1e-12);
+        assertEquals(cached.getExecutionTime(), task.getExecutionTime());
+
+        task.setCacheHitRatio(Double.NaN);
+        assertEquals(ram.getExecutionTime(), task.getExecutionTime());
+        MemoryTask vram = new MemoryTask(4, 100, 2, 1000, Memory.VRAM);
+        long flat = vram.getExecutionTime();
+        vram.setCacheHitRatio(1.0);
+        assertEquals(flat, vram.getExecutionTime());
+    }
+}
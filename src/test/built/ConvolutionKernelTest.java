@@ -0,0 +1,113 @@
+package test.built;
+
+import kernel.ConvolutionKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import status.Convolution;
+import status.Quantization;
+import task.TensorTask;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConvolutionKernelTest {
+    private static final int HEIGHT = 9;
+    private static final int WIDTH = 7;
+    private static final int CHANNELS = 3;
+    private static final int FILTERS = 4;
+    private float[] input;
+    private float[] weights;
+    private float[] expected;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(11);
+        input = new float[HEIGHT * WIDTH * CHANNELS];
+        weights = new float[FILTERS * 9 * CHANNELS];
+        for (int i = 0; i < input.length; i++) input[i] = (float) random.nextGaussian();
+        for (int i = 0; i < weights.length; i++) weights[i] = (float) random.nextGaussian();
+        expected = directConvolution();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Convolution.class)
+    @DisplayName("FLOAT32 convolution should match the direct sliding window")
+    void testMatchesDirectConvolution(Convolution algorithm) {
+        for (int threads : new int[]{1, 3, 8}) {
+            float[] actual = ConvolutionKernel.convolve(algorithm, Quantization.FLOAT32, input,
+                    HEIGHT, WIDTH, CHANNELS, weights, FILTERS, threads);
+            assertArrayEquals(expected, actual, 1e-3f, algorithm + " with " + threads + " threads");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Quantization.class)
+    @DisplayName("Reduced precisions should stay close to FLOAT32")
+    void testQuantizedConvolution(Quantization type) {
+        for (Convolution algorithm : Convolution.values()) {
+            float[] actual = ConvolutionKernel.convolve(algorithm, type, input,
+                    HEIGHT, WIDTH, CHANNELS, weights, FILTERS, 2);
+            assertArrayEquals(expected, actual, 0.5f, algorithm + " " + type);
+        }
+    }
+
+    @Test
+    @DisplayName("INT8 im2col should not depend on the thread count")
+    void testInt8ThreadIndependent() {
+        float[] single = ConvolutionKernel.convolve(Convolution.IM2COL, Quantization.INT8, input,
+                HEIGHT, WIDTH, CHANNELS, weights, FILTERS, 1);
+        for (int threads : new int[]{2, 3, 8}) {
+            assertArrayEquals(single, ConvolutionKernel.convolve(Convolution.IM2COL, Quantization.INT8, input,
+                    HEIGHT, WIDTH, CHANNELS, weights, FILTERS, threads), threads + " threads");
+        }
+    }
+
+    @Test
+    @DisplayName("TensorTask should drive shape, algorithm and threads")
+    void testTensorTaskConvolution() {
+        TensorTask task = new TensorTask(1L, 120, 4096, 4, 32,
+                new int[]{HEIGHT, WIDTH, CHANNELS}, Quantization.FLOAT32);
+        assertArrayEquals(expected, ConvolutionKernel.convolve(task, input, weights, FILTERS), 1e-3f);
+
+        long im2colTime = task.getExecutionTime();
+        task.setConvolution(Convolution.WINOGRAD);
+        assertEquals(Convolution.WINOGRAD, task.getConvolution());
+        assertTrue(task.getExecutionTime() < im2colTime);
+        assertArrayEquals(expected, ConvolutionKernel.convolve(task, input, weights, FILTERS), 1e-3f);
+    }
+
+    @Test
+    @DisplayName("Non-image tensors should be rejected")
+    void testRejectsNonImageTensor() {
+        TensorTask task = new TensorTask(1L, 120, 4096, 4, 32, new int[]{4, 4}, Quantization.FLOAT32);
+        assertThrows(IllegalArgumentException.class,
+                () -> ConvolutionKernel.convolve(task, new float[16], weights, FILTERS));
+    }
+
+    private float[] directConvolution() {
+        float[] out = new float[HEIGHT * WIDTH * FILTERS];
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                for (int k = 0; k < FILTERS; k++) {
+                    float sum = 0;
+                    for (int ky = 0; ky < 3; ky++) {
+                        for (int kx = 0; kx < 3; kx++) {
+                            int iy = y + ky - 1, ix = x + kx - 1;
+                            if (iy < 0 || iy >= HEIGHT || ix < 0 || ix >= WIDTH) continue;
+                            for (int c = 0; c < CHANNELS; c++) {
+                                sum += input[(iy * WIDTH + ix) * CHANNELS + c]
+                                        * weights[((k * 3 + ky) * 3 + kx) * CHANNELS + c];
+                            }
+                        }
+                    }
+                    out[(y * WIDTH + x) * FILTERS + k] = sum;
+                }
+            }
+        }
+        return out;
+    }
+}
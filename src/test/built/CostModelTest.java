@@ -0,0 +1,135 @@
+package test.built;
+
+import kernel.CostCoefficients;
+import kernel.CostModel;
+import kernel.OnlineCostModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.Trace;
+import status.Memory;
+import status.Quantization;
+import task.*;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CostModelTest {
+    private static final CostCoefficients HARDWARE = new CostCoefficients(130, 30, 768, 12, 1300, 2.2, 0.5, 1.1);
+
+    @AfterEach
+    void tearDown() {
+        NPUTask.setCostModel(null);
+    }
+
+    @Test
+    @DisplayName("Default coefficients should reproduce the built-in constants")
+    void testDefaultCoefficients() {
+        ComputeTask compute = new ComputeTask(1, 120, 1024, 4, 32);
+        double expected = 100 * (1 + 20 / 39.0) * (1 + 1024 / 1024.0);
+        expected = (long) expected;
+        assertEquals((long) (expected * 0.25 * 2.0), compute.getExecutionTime());
+
+        MemoryTask memory = new MemoryTask(2, 100, 0, 500, Memory.RAM);
+        assertEquals(200, memory.getExecutionTime());
+        assertSame(CostCoefficients.DEFAULT, NPUTask.getCostModel().getCoefficients());
+    }
+
+    @Test
+    @DisplayName("Swapped models should apply to new and refreshed tasks")
+    void testSwap() {
+        MemoryTask memory = new MemoryTask(1, 100, 0, 500, Memory.RAM);
+        NPUTask.setCostModel(CostModel.fixed(new CostCoefficients(200, 39, 1024, 16, 1000, 1.8, 0.4, 1.0)));
+
+        assertEquals(200, memory.getExecutionTime());
+        memory.refreshExecutionTime();
+        assertEquals(400, memory.getExecutionTime());
+        assertEquals(400, new MemoryTask(2, 100, 0, 500, Memory.RAM).getExecutionTime());
+        assertThrows(IllegalArgumentException.class, () -> new CostCoefficients(0, 1, 1, 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    @DisplayName("Online model should converge to measured hardware")
+    void testConvergence() {
+        OnlineCostModel online = new OnlineCostModel();
+        Random noise = new Random(1);
+        double error = 0.0;
+        List<NPUTask> trace = Trace.synthetic(11, 1500);
+        for (int i = 0; i < trace.size(); i++) {
+            NPUTask task = trace.get(i);
+            NPUTask.setCostModel(CostModel.fixed(HARDWARE));
+            task.refreshExecutionTime();
+            long measured = Math.max(1, Math.round(task.getExecutionTime() * Math.exp(0.03 * noise.nextGaussian())));
+
+            NPUTask.setCostModel(online);
+            task.refreshExecutionTime();
+            if (i >= 1000) {
+                error += Math.abs(task.getExecutionTime() - measured) / (double) measured;
+            }
+            online.observe(task, measured);
+        }
+
+        assertTrue(online.getObservations() >= 1500);
+        assertTrue(error / 500 < 0.08);
+        assertEquals(2.2, online.getCoefficients().float32Factor(), 0.2);
+        assertEquals(0.5, online.getCoefficients().int8Factor(), 0.05);
+    }
+
+    @Test
+    @DisplayName("Observing should not re-price the caller's task")
+    void testObserveLeavesTaskUntouched() {
+        TensorTask task = new TensorTask(1, 110, 512, 4, 16, new int[]{32, 32}, Quantization.INT8);
+        long priced = task.getExecutionTime();
+        CostCoefficients pricedWith = task.getCoefficients();
+        OnlineCostModel online = new OnlineCostModel();
+
+        online.observe(task, priced * 2);
+
+        assertEquals(priced, task.getExecutionTime());
+        assertSame(pricedWith, task.getCoefficients());
+        assertEquals(1, online.getObservations());
+        assertTrue(online.getCoefficients().int8Factor() > CostCoefficients.DEFAULT.int8Factor());
+    }
+
+    @Test
+    @DisplayName("Disk observations should only re-price transfers")
+    void testDiskObservationsLeaveCompute() {
+        OnlineCostModel online = new OnlineCostModel();
+        NPUTask.setCostModel(online);
+        ComputeTask compute = new ComputeTask(1, 120, 1024, 4, 32);
+        long computeTime = compute.getExecutionTime();
+        MemoryTask disk = new MemoryTask(2, 100, 256, 500, Memory.DISK);
+        long diskTime = disk.getExecutionTime();
+
+        for (int i = 0; i < 300; i++) {
+            online.observe(disk, Math.max(1, diskTime / 4));
+        }
+
+        assertEquals(CostCoefficients.DEFAULT.baseTime(), online.getCoefficients().baseTime(), 1e-9);
+        assertEquals(computeTime, new ComputeTask(3, 120, 1024, 4, 32).getExecutionTime());
+        disk.refreshExecutionTime();
+        assertEquals(diskTime / 4.0, disk.getExecutionTime(), diskTime * 0.05);
+    }
+
+    @Test
+    @DisplayName("Readers should always see a complete snapshot while the model updates")
+    void testConcurrentReads() throws InterruptedException {
+        OnlineCostModel online = new OnlineCostModel();
+        NPUTask.setCostModel(online);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                online.observe(new TensorTask(i, 110, 512, 4, 16, new int[]{32, 32}, Quantization.INT8), 40);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            CostCoefficients snapshot = online.getCoefficients();
+            assertNotNull(snapshot);
+            assertTrue(snapshot.int8Factor() > 0);
+        }
+        writer.join();
+        assertTrue(online.getObservations() >= 2000);
+    }
+}
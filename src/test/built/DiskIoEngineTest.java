@@ -0,0 +1,118 @@
+package test.built;
+
+import kernel.DiskIoEngine;
+import kernel.TaskExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import status.Memory;
+import task.MemoryTask;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskIoEngineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Writes should be aligned and reads should return every byte")
+    void testWriteAndRead() throws IOException {
+        try (DiskIoEngine engine = new DiskIoEngine(directory, 8192, 2, 3)) {
+            DiskIoEngine.Transfer written = engine.write(7, 100_000);
+            assertEquals(102_400, written.bytes());
+            assertEquals(102_400, Files.size(engine.pathFor(7)));
+
+            DiskIoEngine.Transfer read = engine.read(7);
+            assertEquals(102_400, read.bytes());
+            assertTrue(read.nanos() > 0);
+            assertEquals(102_400, engine.getBytesRead());
+            assertTrue(engine.getReadThroughput() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel chunks should land at their own offsets")
+    void testChunkPlacement() throws IOException {
+        try (DiskIoEngine engine = new DiskIoEngine(directory, 4096, 1, 4)) {
+            engine.write(1, 10 * 4096 + 100);
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(engine.pathFor(1))).order(ByteOrder.BIG_ENDIAN);
+            for (int position = 0; position < content.capacity(); position += 4096) {
+                assertEquals(position, content.getLong(position));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A DISK MemoryTask should stage its memory size, creating the file once")
+    void testTransfer() throws IOException {
+        try (DiskIoEngine engine = new DiskIoEngine(directory, 65536, 4, 2)) {
+            MemoryTask task = new MemoryTask(1, 110, 2, 2000, Memory.DISK);
+            task.setDataId(42);
+
+            assertEquals(2L << 20, engine.transfer(task).bytes());
+            assertEquals(2L << 20, engine.getBytesWritten());
+            engine.transfer(task);
+            assertEquals(2L << 20, engine.getBytesWritten());
+            assertEquals(4L << 20, engine.getBytesRead());
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> engine.transfer(new MemoryTask(2, 110, 1, 2000, Memory.RAM)));
+        }
+    }
+
+    @Test
+    @DisplayName("Staging should write the file without a measured read")
+    void testStage() throws IOException {
+        try (DiskIoEngine engine = new DiskIoEngine(directory, 65536, 4, 2)) {
+            MemoryTask task = new MemoryTask(1, 110, 1, 2000, Memory.DISK);
+            task.setDataId(43);
+            boolean direct = engine.isDirect();
+
+            assertThrows(NoSuchFileException.class, () -> engine.read(43));
+            assertEquals(direct, engine.isDirect());
+            engine.stage(task);
+            assertEquals(1L << 20, Files.size(engine.pathFor(43)));
+            assertEquals(0, engine.getBytesRead());
+            assertEquals(1L << 20, engine.transfer(task).bytes());
+            assertEquals(1L << 20, engine.getBytesWritten());
+        }
+    }
+
+    @Test
+    @DisplayName("Measured time should calibrate the bandwidth the cost model uses")
+    void testCalibration() {
+        MemoryTask task = new MemoryTask(1, 110, 256, 2000, Memory.DISK);
+        long predicted = task.getExecutionTime();
+
+        assertEquals(2000, DiskIoEngine.calibratedBandwidth(task,
+                new DiskIoEngine.Transfer(256L << 20, predicted * 1_000_000)));
+        assertEquals(4000, DiskIoEngine.calibratedBandwidth(task,
+                new DiskIoEngine.Transfer(256L << 20, predicted * 500_000)));
+
+        MemoryTask calibrated = new MemoryTask(2, 110, 256, 4000, Memory.DISK);
+        assertEquals(predicted / 2.0, calibrated.getExecutionTime(), 1.0);
+    }
+
+    @Test
+    @DisplayName("Invalid configurations should be rejected and the executor mode should be switchable")
+    void testValidation() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> new DiskIoEngine(directory, 1000, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DiskIoEngine(directory, 4096, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DiskIoEngine(directory, 4096, 1, 0));
+
+        try (DiskIoEngine engine = new DiskIoEngine(directory, 4096, 1, 1)) {
+            TaskExecutor.getInstance().setDiskIoEngine(engine);
+            assertSame(engine, TaskExecutor.getInstance().getDiskIoEngine());
+            TaskExecutor.getInstance().setDiskIoEngine(null);
+            assertNull(TaskExecutor.getInstance().getDiskIoEngine());
+        }
+    }
+}
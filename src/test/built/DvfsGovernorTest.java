@@ -0,0 +1,99 @@
+package test.built;
+
+import kernel.DvfsGovernor;
+import kernel.PowerModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.EnergyTimeline;
+import simulator.Trace;
+import simulator.TraceReplay;
+import status.Memory;
+import status.PowerState;
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DvfsGovernorTest {
+
+    @Test
+    @DisplayName("P0 should leave the cost model unchanged")
+    void testDefaultState() {
+        ComputeTask task = new ComputeTask(1, 120, 1024, 4, 16);
+        long time = task.getExecutionTime();
+        double power = task.estimatePowerConsumption();
+
+        assertEquals(PowerState.P0, task.getPowerState());
+        task.setPowerState(PowerState.P2);
+        task.setPowerState(PowerState.P0);
+        assertEquals(time, task.getExecutionTime());
+        assertEquals(power, task.estimatePowerConsumption(), 1e-9);
+        assertEquals(1024 * 0.01 * 120, power, 1e-9);
+    }
+
+    @Test
+    @DisplayName("Lower operating points should trade time for power")
+    void testScaling() {
+        ComputeTask task = new ComputeTask(1, 120, 1024, 4, 16);
+        long time = task.getExecutionTime();
+        double power = task.estimatePowerConsumption();
+
+        task.setPowerState(PowerState.P3);
+        assertEquals(time * 2, task.getExecutionTime(), 2);
+        assertEquals(power * 0.5 * 0.75 * 0.75, task.estimatePowerConsumption(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Memory-bound tasks should prefer the lowest state")
+    void testGovernorSelection() {
+        MemoryTask transfer = new MemoryTask(1, 110, 2048, 1000, Memory.RAM);
+        ComputeTask compute = new ComputeTask(2, 110, 2048, 4, 16);
+
+        assertEquals(PowerState.P3, DvfsGovernor.select(transfer));
+        assertNotEquals(PowerState.P3, DvfsGovernor.select(compute));
+        assertEquals(PowerState.P0, transfer.getPowerState());
+        assertTrue(DvfsGovernor.getEnergyDelay(compute) > 0);
+    }
+
+    @Test
+    @DisplayName("Governed traces should use less energy and lower EDP")
+    void testTraceSavings() {
+        List<NPUTask> trace = Trace.synthetic(37, 200);
+        EnergyTimeline fixed = new EnergyTimeline();
+        long baseline = TraceReplay.replay(trace, 4, TraceReplay.DISPATCH_OVERHEAD, fixed).makespan();
+
+        DvfsGovernor.applyPerTask(trace);
+        EnergyTimeline governed = new EnergyTimeline();
+        long makespan = TraceReplay.replay(trace, 4, TraceReplay.DISPATCH_OVERHEAD, governed).makespan();
+
+        assertTrue(governed.getEnergy() < fixed.getEnergy());
+        assertTrue(governed.getEnergy() * makespan < fixed.getEnergy() * baseline);
+
+        DvfsGovernor.applyPerInterval(trace, 8);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(trace.get(0).getPowerState(), trace.get(i).getPowerState());
+        }
+        DvfsGovernor.reset(trace);
+        assertEquals(PowerState.P0, trace.get(0).getPowerState());
+    }
+
+    @Test
+    @DisplayName("Energy timeline should integrate power over time")
+    void testTimeline() {
+        EnergyTimeline timeline = new EnergyTimeline();
+        timeline.record(0, 100, 10.0);
+        timeline.record(50, 150, 20.0);
+        timeline.record(10, 10, 99.0);
+
+        assertEquals(3000.0, timeline.getEnergy(), 1e-9);
+        assertEquals(1500.0, timeline.getEnergy(50, 100), 1e-9);
+        assertArrayEquals(new double[]{10.0, 30.0, 20.0}, timeline.getPowerSeries(50), 1e-9);
+        assertEquals(30.0, timeline.getPeakPower(50), 1e-9);
+        assertEquals(2, timeline.getIntervalCount());
+        assertEquals(150, timeline.getEnd());
+        assertEquals(PowerModel.estimate(new MemoryTask(1, 100, 100, 1000, Memory.CACHE)), 50.0, 1e-9);
+    }
+}
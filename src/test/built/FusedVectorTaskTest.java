@@ -0,0 +1,146 @@
+package test.built;
+
+import kernel.FusedVectorTask;
+import kernel.FusionPass;
+import kernel.TaskExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Operation;
+import status.Quantization;
+import status.Status;
+import task.NPUTask;
+import task.TensorTask;
+import task.VectorTask;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FusedVectorTaskTest {
+    private static final long DATA_ID = 77L;
+    private VectorTask mul;
+    private VectorTask add;
+    private VectorTask reduce;
+
+    @BeforeEach
+    void setUp() {
+        mul = vector(1L, Operation.MUL, 2048);
+        add = vector(2L, Operation.ADD, 2048);
+        reduce = vector(3L, Operation.REDUCE, 2048);
+    }
+
+    @Test
+    @DisplayName("Fused chain should cost less than its separate passes")
+    void testFusedExecutionTime() {
+        FusedVectorTask fused = new FusedVectorTask(List.of(mul, add, reduce));
+        long separate = mul.getExecutionTime() + add.getExecutionTime() + reduce.getExecutionTime();
+
+        assertTrue(fused.getExecutionTime() < separate);
+        assertTrue(fused.getExecutionTime() > reduce.getExecutionTime());
+        assertEquals(List.of(Operation.MUL, Operation.ADD, Operation.REDUCE), fused.getOperations());
+        assertEquals(DATA_ID, fused.getDataId());
+        assertNotEquals(mul.getTaskId(), fused.getTaskId());
+        assertNotEquals(new FusedVectorTask(List.of(mul, add)).getTaskId(), fused.getTaskId());
+    }
+
+    @Test
+    @DisplayName("Single-operation fusion should keep the original cost")
+    void testSingleOperation() {
+        assertEquals(add.getExecutionTime(), new FusedVectorTask(List.of(add)).getExecutionTime());
+    }
+
+    @Test
+    @DisplayName("Fusion pass should merge adjacent compatible tasks only")
+    void testFusionPass() {
+        VectorTask otherData = vector(4L, Operation.ADD, 2048);
+        otherData.setDataId(99L);
+        VectorTask otherSize = vector(5L, Operation.MUL, 1024);
+        TensorTask tensor = new TensorTask(6L, 120, 2048, 4, 16, new int[]{4, 4}, Quantization.INT8);
+        tensor.setDataId(DATA_ID);
+        VectorTask afterTensor = vector(7L, Operation.ADD, 2048);
+
+        List<NPUTask> result = FusionPass.apply(List.of(mul, add, reduce, add, otherData, otherSize,
+                tensor, afterTensor));
+
+        assertEquals(6, result.size());
+        assertInstanceOf(FusedVectorTask.class, result.get(0));
+        assertEquals(3, ((FusedVectorTask) result.get(0)).getTasks().size());
+        assertSame(add, result.get(1));
+        assertSame(otherData, result.get(2));
+        assertSame(otherSize, result.get(3));
+        assertSame(tensor, result.get(4));
+        assertSame(afterTensor, result.get(5));
+    }
+
+    @Test
+    @DisplayName("Fusion pass should not merge tasks with different batch, memory or priority")
+    void testFusionPassCostFields() {
+        VectorTask otherBatch = vector(8L, Operation.ADD, 2048);
+        otherBatch.setBatchSize(32);
+        VectorTask otherMemory = new VectorTask(9L, 110, 512, 4, 16, 2048, Operation.ADD);
+        otherMemory.setDataId(DATA_ID);
+        VectorTask otherPriority = new VectorTask(10L, 130, 1024, 4, 16, 2048, Operation.ADD);
+        otherPriority.setDataId(DATA_ID);
+
+        for (VectorTask next : List.of(otherBatch, otherMemory, otherPriority)) {
+            List<NPUTask> result = FusionPass.apply(List.of(mul, next));
+            assertEquals(2, result.size());
+            assertSame(mul, result.get(0));
+            assertSame(next, result.get(1));
+        }
+    }
+
+    @Test
+    @DisplayName("The executor should finish every absorbed task's future with the fused task")
+    void testExecutorMemberCompletion() throws Exception {
+        VectorTask first = new VectorTask(96_001L, 100, 1, 1, 2, 2, Operation.MUL);
+        VectorTask second = new VectorTask(96_002L, 100, 1, 1, 2, 2, Operation.ADD);
+        TaskExecutor executor = TaskExecutor.getInstance();
+        CompletableFuture<NPUTask> firstDone = executor.onCompletion(first);
+        CompletableFuture<NPUTask> secondDone = executor.onCompletion(second);
+
+        executor.executeTask(new FusedVectorTask(List.of(first, second)));
+
+        assertSame(first, firstDone.get(60, TimeUnit.SECONDS));
+        assertSame(second, secondDone.get(60, TimeUnit.SECONDS));
+        assertEquals(Status.COMPLETED, second.getStatus());
+        assertFalse(executor.isTaskRunning(String.valueOf(second.getTaskId())));
+    }
+
+    @Test
+    @DisplayName("Cancelling an absorbed task should cancel the whole fused dispatch")
+    void testExecutorMemberCancel() {
+        VectorTask first = new VectorTask(96_011L, 139, 8192, 1, 64, 1 << 20, Operation.MUL);
+        VectorTask second = new VectorTask(96_012L, 139, 8192, 1, 64, 1 << 20, Operation.ADD);
+        TaskExecutor executor = TaskExecutor.getInstance();
+        CompletableFuture<NPUTask> firstDone = executor.onCompletion(first);
+        CompletableFuture<NPUTask> secondDone = executor.onCompletion(second);
+
+        executor.executeTask(new FusedVectorTask(List.of(first, second)));
+        assertTrue(executor.isTaskRunning(String.valueOf(second.getTaskId())));
+        executor.cancelTask(String.valueOf(second.getTaskId()));
+
+        assertTrue(firstDone.isCancelled());
+        assertTrue(secondDone.isCancelled());
+        assertFalse(executor.isTaskRunning(String.valueOf(first.getTaskId())));
+    }
+
+    @Test
+    @DisplayName("Completion should fan out to the original tasks")
+    void testStatusFanOut() {
+        FusedVectorTask fused = new FusedVectorTask(List.of(mul, add));
+        fused.setStatus(Status.COMPLETED);
+        assertEquals(Status.COMPLETED, mul.getStatus());
+        assertEquals(Status.COMPLETED, add.getStatus());
+        assertEquals(Status.PENDING, reduce.getStatus());
+    }
+
+    private static VectorTask vector(long id, Operation operation, int size) {
+        VectorTask task = new VectorTask(id, 110, 1024, 4, 16, size, operation);
+        task.setDataId(DATA_ID);
+        return task;
+    }
+}
@@ -0,0 +1,67 @@
+package test.built;
+
+import kernel.FusedKernel;
+import kernel.FusionCompiler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Operation;
+import task.VectorTask;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FusionCompilerTest {
+    private static final float[] INPUT = {1, 2, 3, 4, 5};
+    private static final float[] SCALE = {2, 2, 2, 2, 2};
+    private static final float[] SHIFT = {1, -1, 1, -1, 1};
+
+    @Test
+    @DisplayName("MUL -> ADD -> REDUCE should fuse into a single sum")
+    void testMulAddReduce() {
+        FusedKernel kernel = FusionCompiler.compile(Operation.MUL, Operation.ADD, Operation.REDUCE);
+        assertTrue(kernel.isReducing());
+        assertEquals(2, kernel.getOperandCount());
+
+        float[] result = kernel.apply(INPUT, SCALE, SHIFT);
+        assertArrayEquals(new float[]{31}, result);
+    }
+
+    @Test
+    @DisplayName("Element-wise chains should produce a vector")
+    void testElementWiseChain() {
+        FusedKernel kernel = FusionCompiler.compile(Operation.ADD, Operation.MUL);
+        assertFalse(kernel.isReducing());
+        assertArrayEquals(new float[]{4, 2, 8, 6, 12}, kernel.apply(INPUT, SHIFT, SCALE));
+    }
+
+    @Test
+    @DisplayName("Kernels should be cached by operation sequence")
+    void testKernelCache() {
+        FusedKernel first = FusionCompiler.compile(List.of(Operation.MUL, Operation.REDUCE));
+        FusedKernel second = FusionCompiler.compile(Operation.MUL, Operation.REDUCE);
+        assertSame(first, second);
+        assertNotSame(first, FusionCompiler.compile(Operation.ADD, Operation.REDUCE));
+    }
+
+    @Test
+    @DisplayName("VectorTask chains should compile to their operation sequence")
+    void testCompileTasks() {
+        List<VectorTask> tasks = List.of(
+                new VectorTask(1L, 110, 1024, 4, 16, 5, Operation.MUL),
+                new VectorTask(2L, 110, 1024, 4, 16, 5, Operation.REDUCE));
+        FusedKernel kernel = FusionCompiler.compileTasks(tasks);
+        assertEquals(List.of(Operation.MUL, Operation.REDUCE), kernel.getOperations());
+        assertArrayEquals(new float[]{30}, kernel.apply(INPUT, SCALE));
+    }
+
+    @Test
+    @DisplayName("Invalid chains and operands should be rejected")
+    void testInvalidChains() {
+        assertThrows(IllegalArgumentException.class,
+                () -> FusionCompiler.compile(Operation.REDUCE, Operation.ADD));
+        FusedKernel kernel = FusionCompiler.compile(Operation.ADD);
+        assertThrows(IllegalArgumentException.class, () -> kernel.apply(INPUT));
+        assertThrows(IllegalArgumentException.class, () -> kernel.apply(INPUT, new float[2]));
+    }
+}
@@ -0,0 +1,88 @@
+package test.built;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.InferenceServer;
+import simulator.LatencyStats;
+import status.Quantization;
+import task.TensorTask;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InferenceServerTest {
+    private TensorTask model;
+
+    @BeforeEach
+    void setUp() {
+        model = new TensorTask(1L, 110, 512, 16, 2, new int[]{64, 64}, Quantization.INT8);
+    }
+
+    @Test
+    @DisplayName("Every request should be served within the batch cap")
+    void testAllServed() {
+        List<InferenceServer.Request> requests = InferenceServer.poisson(5, 200, 1000);
+        InferenceServer.Report report = new InferenceServer(model, 2, 16, 10, 8).serve(requests);
+
+        assertEquals(1000, report.served());
+        assertTrue(report.meanBatch() >= 1.0 && report.meanBatch() <= 16.0);
+        assertTrue(report.p50() <= report.p99());
+        assertTrue(report.p99() <= report.p999());
+    }
+
+    @Test
+    @DisplayName("Batch size should grow with queue depth")
+    void testBatchScalesWithLoad() {
+        InferenceServer server = new InferenceServer(model, 2, 32, 10, 8);
+        InferenceServer.Report light = server.serve(InferenceServer.poisson(5, 20, 1000));
+        InferenceServer.Report heavy = server.serve(InferenceServer.poisson(5, 800, 1000));
+
+        assertTrue(heavy.meanBatch() > light.meanBatch() * 4);
+    }
+
+    @Test
+    @DisplayName("Dynamic batching should sustain more load than fixed small batches")
+    void testThroughputGain() {
+        List<InferenceServer.Request> requests = InferenceServer.poisson(5, 600, 3000);
+        InferenceServer.Report fixed = new InferenceServer(model, 2, 2, 0, 8).serve(requests);
+        InferenceServer.Report dynamic = new InferenceServer(model, 2, 32, 10, 8).serve(requests);
+
+        assertTrue(dynamic.throughput() > fixed.throughput());
+        assertTrue(dynamic.p99() < fixed.p99());
+    }
+
+    @Test
+    @DisplayName("Batch time should price the model as a TensorTask of that batch")
+    void testBatchTime() {
+        InferenceServer server = new InferenceServer(model, 2, 32, 10, 8);
+
+        for (int size = 1; size <= 9; size++) {
+            TensorTask batch = new TensorTask(2L, 110, 512, 16, (size + 1) / 2 * 2, new int[]{64, 64},
+                    Quantization.INT8);
+            batch.setSparsity(model.getSparsity());
+            assertEquals(Math.max(1, batch.getExecutionTime()), server.batchTime(size));
+        }
+        assertEquals(server.batchTime(4), server.batchTime(3));
+        assertTrue(server.batchTime(3) > server.batchTime(2));
+        assertThrows(IllegalArgumentException.class, () -> server.batchTime(0));
+        assertThrows(IllegalArgumentException.class, () -> server.batchTime(33));
+    }
+
+    @Test
+    @DisplayName("Latency percentiles should use nearest rank")
+    void testPercentiles() {
+        LatencyStats stats = new LatencyStats();
+        for (int i = 100; i >= 1; i--) {
+            stats.record(i);
+        }
+
+        assertEquals(100, stats.getCount());
+        assertEquals(50, stats.getPercentile(0.50));
+        assertEquals(99, stats.getPercentile(0.99));
+        assertEquals(100, stats.getPercentile(0.999));
+        assertEquals(50.5, stats.getMean(), 1e-9);
+        assertEquals(0, new LatencyStats().getPercentile(0.5));
+    }
+}
@@ -0,0 +1,93 @@
+package test.built;
+
+import kernel.MatMulKernel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import status.Quantization;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatMulKernelTest {
+
+    @Test
+    @DisplayName("FLOAT32 GEMM should match the naive product")
+    void testFloat32Multiply() {
+        float[] a = {1, 2, 3, 4, 5, 6};       // 2x3
+        float[] b = {7, 8, 9, 10, 11, 12};    // 3x2
+        float[] c = MatMulKernel.multiplyFloat32(a, b, 2, 3, 2);
+        assertArrayEquals(new float[]{58, 64, 139, 154}, c);
+    }
+
+    @Test
+    @DisplayName("INT8 GEMM should accumulate in int32 without overflow")
+    void testInt8AccumulatesInInt32() {
+        int k = 300;
+        byte[] a = new byte[k];
+        byte[] b = new byte[k];
+        Arrays.fill(a, (byte) 127);
+        Arrays.fill(b, (byte) -128);
+
+        int[] c = MatMulKernel.multiplyInt8(a, b, 1, k, 1);
+        assertEquals(127 * -128 * k, c[0]);
+    }
+
+    @Test
+    @DisplayName("INT8 GEMM should match FLOAT32 within quantization error")
+    void testInt8MatchesFloat32() {
+        Random random = new Random(7);
+        int m = 17, k = 70, n = 300;
+        float[] a = new float[m * k];
+        float[] b = new float[k * n];
+        for (int i = 0; i < a.length; i++) a[i] = (float) random.nextGaussian();
+        for (int i = 0; i < b.length; i++) b[i] = (float) random.nextGaussian();
+
+        float[] exact = MatMulKernel.multiplyFloat32(a, b, m, k, n);
+        float[] approx = MatMulKernel.multiply(Quantization.INT8, a, b, m, k, n);
+        for (int i = 0; i < exact.length; i++) {
+            assertEquals(exact[i], approx[i], 0.5, "Element " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Requantization should round and saturate to INT8")
+    void testRequantize() {
+        byte[] out = MatMulKernel.requantize(new int[]{100, -100, 100000, -100000, 3}, 0.5f, 1);
+        assertArrayEquals(new byte[]{51, -49, 127, -128, 3}, out);
+    }
+
+    @Test
+    @DisplayName("Requantizing INT8 GEMM should return the rescaled INT8 output")
+    void testMultiplyInt8Requantized() {
+        byte[] a = {10, -20, 30, 40};
+        byte[] b = {5, 6, -7, 8};
+        int[] acc = MatMulKernel.multiplyInt8(a, b, 2, 2, 2);
+
+        byte[] out = MatMulKernel.multiplyInt8(a, b, 2, 2, 2, 0.1f, 3);
+        assertArrayEquals(MatMulKernel.requantize(acc, 0.1f, 3), out);
+        assertArrayEquals(new byte[]{22, -7, -10, 53}, out);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Quantization.class)
+    @DisplayName("Every quantization type should produce a result of the output shape")
+    void testAllTypesProduceOutput(Quantization type) {
+        float[] a = {1, 0, 0, 1};
+        float[] b = {2, 3, 4, 5};
+        float[] c = MatMulKernel.multiply(type, a, b, 2, 2, 2);
+        assertEquals(4, c.length);
+        assertEquals(2.0f, c[0], 0.05f);
+        assertEquals(5.0f, c[3], 0.05f);
+    }
+
+    @Test
+    @DisplayName("Mismatched operands should be rejected")
+    void testShapeMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> MatMulKernel.multiplyFloat32(new float[3], new float[4], 2, 2, 2));
+    }
+}
@@ -0,0 +1,117 @@
+package test.built;
+
+import kernel.BuddyAllocator;
+import kernel.MemoryPlanner;
+import kernel.TaskGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import task.ComputeTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryPlannerTest {
+
+    private static ComputeTask task(long id, int size) {
+        return new ComputeTask(id, 110, size, 4, 8);
+    }
+
+    @Test
+    @DisplayName("A chain should only need its two largest neighbours live at once")
+    void testChain() {
+        ComputeTask a = task(1, 100);
+        ComputeTask b = task(2, 50);
+        ComputeTask c = task(3, 100);
+        ComputeTask d = task(4, 20);
+        TaskGraph graph = new TaskGraph().add(a).add(b, a).add(c, b).add(d, c);
+
+        List<MemoryPlanner.Lifetime> lifetimes = MemoryPlanner.lifetimes(graph);
+        assertEquals(new MemoryPlanner.Lifetime(1, 100, 0, 1), lifetimes.get(0));
+        assertEquals(new MemoryPlanner.Lifetime(4, 20, 3, 3), lifetimes.get(3));
+
+        MemoryPlanner.Plan plan = MemoryPlanner.plan(graph);
+        assertEquals(270, plan.naive());
+        assertEquals(150, plan.lowerBound());
+        assertEquals(150, plan.peak());
+        assertEquals(plan.offsetOf(1), plan.offsetOf(3));
+        assertTrue(plan.savings() > 0.4);
+    }
+
+    @Test
+    @DisplayName("Skip connections should keep a tensor live until its last reader")
+    void testSkipConnection() {
+        ComputeTask input = task(1, 64);
+        ComputeTask left = task(2, 64);
+        ComputeTask right = task(3, 64);
+        ComputeTask merge = task(4, 64);
+        TaskGraph graph = new TaskGraph().add(input).add(left, input).add(right, left).add(merge, right, input);
+
+        assertEquals(3, MemoryPlanner.lifetimes(graph).get(0).end());
+        MemoryPlanner.Plan plan = MemoryPlanner.plan(graph);
+        assertEquals(192, plan.peak());
+        assertNotEquals(plan.offsetOf(1), plan.offsetOf(4));
+    }
+
+    @Test
+    @DisplayName("Tensors with overlapping lifetimes should never share memory")
+    void testNoOverlap() {
+        Random random = new Random(9);
+        TaskGraph graph = new TaskGraph();
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            ComputeTask next = task(i + 1, 16 + random.nextInt(500));
+            int inputs = tasks.isEmpty() ? 0 : 1 + random.nextInt(Math.min(3, tasks.size()));
+            NPUTask[] reads = new NPUTask[inputs];
+            for (int k = 0; k < inputs; k++) {
+                reads[k] = tasks.get(Math.max(0, tasks.size() - 1 - random.nextInt(8)));
+            }
+            graph.add(next, reads);
+            tasks.add(next);
+        }
+
+        MemoryPlanner.Plan plan = MemoryPlanner.plan(graph, 64);
+        List<MemoryPlanner.Assignment> assignments = plan.assignments();
+        for (int i = 0; i < assignments.size(); i++) {
+            MemoryPlanner.Assignment a = assignments.get(i);
+            assertEquals(0, a.offset() % 64);
+            assertTrue(a.end() <= plan.peak());
+            for (int j = i + 1; j < assignments.size(); j++) {
+                MemoryPlanner.Assignment b = assignments.get(j);
+                if (a.lifetime().overlaps(b.lifetime())) {
+                    assertTrue(a.end() <= b.offset() || b.end() <= a.offset());
+                }
+            }
+        }
+        assertTrue(plan.peak() >= plan.lowerBound());
+        assertTrue(plan.peak() < plan.naive());
+    }
+
+    @Test
+    @DisplayName("The planned arena should fit where the summed sizes would not")
+    void testReserve() {
+        ComputeTask a = task(1, 600);
+        ComputeTask b = task(2, 600);
+        ComputeTask c = task(3, 600);
+        MemoryPlanner.Plan plan = MemoryPlanner.plan(new TaskGraph().add(a).add(b, a).add(c, b));
+
+        BuddyAllocator allocator = new BuddyAllocator(1024, 1);
+        assertNull(allocator.allocate(plan.naive()));
+        assertNotNull(plan.reserve(new BuddyAllocator(2048, 1)));
+    }
+
+    @Test
+    @DisplayName("Graphs should reject unknown inputs and duplicate tasks")
+    void testGraphValidation() {
+        ComputeTask a = task(1, 10);
+        TaskGraph graph = new TaskGraph().add(a);
+        assertThrows(IllegalArgumentException.class, () -> graph.add(task(2, 10), task(3, 10)));
+        assertThrows(IllegalArgumentException.class, () -> graph.add(a));
+        assertThrows(IllegalArgumentException.class, () -> MemoryPlanner.plan(graph, 0));
+        assertEquals(1, graph.size());
+        assertEquals(List.of(), graph.getConsumers(a));
+    }
+}
@@ -0,0 +1,100 @@
+package test.built;
+
+import kernel.PagedMemory;
+import kernel.ResidencyCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.PagingReplay;
+import status.Eviction;
+import status.Memory;
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PagedMemoryTest {
+
+    private static ComputeTask touch(long id, long dataId, int size) {
+        ComputeTask task = new ComputeTask(id, 110, size, 4, 8);
+        task.setDataId(dataId);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Eviction should report its victims")
+    void testVictims() {
+        ResidencyCache cache = new ResidencyCache(20, Eviction.LRU);
+        MemoryTask first = new MemoryTask(1, 110, 10, 2000, Memory.VRAM);
+        MemoryTask second = new MemoryTask(2, 110, 20, 2000, Memory.VRAM);
+        assertTrue(cache.admit(first).isEmpty());
+        assertEquals(List.of(new ResidencyCache.Victim(1, 10)), cache.admit(second));
+    }
+
+    @Test
+    @DisplayName("First touches allocate in place and evicted tensors fault back from the backing tier")
+    void testFaults() {
+        PagedMemory memory = new PagedMemory(100, Eviction.LRU, Memory.DISK, 2000);
+        assertTrue(memory.access(touch(1, 1, 60)).isEmpty());
+
+        List<MemoryTask> transfers = memory.access(touch(2, 2, 60));
+        assertEquals(1, transfers.size());
+        assertEquals(Memory.DISK, transfers.get(0).getMemoryType());
+        assertEquals(1, transfers.get(0).getDataId());
+        assertFalse(memory.isResident(1));
+
+        transfers = memory.access(touch(3, 1, 60));
+        assertEquals(2, transfers.size());
+        assertEquals(2, transfers.get(0).getDataId());
+        assertEquals(1, transfers.get(1).getDataId());
+        assertEquals(1, memory.getFaults());
+        assertEquals(2, memory.getPageOuts());
+    }
+
+    @Test
+    @DisplayName("A clean copy on the backing tier should make later evictions free")
+    void testCleanEviction() {
+        PagedMemory memory = new PagedMemory(100, Eviction.LRU, Memory.RAM, 2000);
+        for (int round = 0; round < 3; round++) {
+            memory.access(touch(round * 2 + 1, 1, 60));
+            memory.access(touch(round * 2 + 2, 2, 60));
+        }
+        assertEquals(2, memory.getPageOuts());
+        assertEquals(4, memory.getFaults());
+        assertEquals(120 + 240, memory.getPagedOut() + memory.getPagedIn());
+    }
+
+    @Test
+    @DisplayName("Throughput should fall off once demand exceeds capacity, harder on DISK than RAM")
+    void testCliff() {
+        List<NPUTask> tasks = new ArrayList<>();
+        long id = 1;
+        for (int pass = 0; pass < 5; pass++) {
+            for (int layer = 0; layer < 8; layer++) {
+                tasks.add(touch(id++, 1 + layer, 256));
+            }
+        }
+
+        PagingReplay.Result fits = PagingReplay.replay(tasks, new PagedMemory(2048, Eviction.LRU, Memory.DISK, 2000));
+        PagingReplay.Result ram = PagingReplay.replay(tasks, new PagedMemory(1024, Eviction.LRU, Memory.RAM, 2000));
+        PagingReplay.Result disk = PagingReplay.replay(tasks, new PagedMemory(1024, Eviction.LRU, Memory.DISK, 2000));
+
+        assertEquals(0, fits.faults());
+        assertEquals(0.0, fits.pagingShare());
+        assertEquals(32, disk.faults());
+        assertTrue(ram.throughput() < fits.throughput());
+        assertTrue(disk.throughput() < ram.throughput());
+        assertEquals(fits.computeTime(), disk.computeTime());
+        assertEquals(disk.makespan(), disk.computeTime() + disk.pagingTime());
+    }
+
+    @Test
+    @DisplayName("Only RAM and DISK can back paged memory")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class, () -> new PagedMemory(100, Eviction.LRU, Memory.VRAM, 2000));
+        assertThrows(IllegalArgumentException.class, () -> new PagedMemory(100, Eviction.LRU, Memory.RAM, 0));
+    }
+}
@@ -0,0 +1,90 @@
+package test.built;
+
+import kernel.Pipeline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Memory;
+import status.Quantization;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PipelineTest {
+    private List<Pipeline.Stage> stages;
+    private long serialTime;
+
+    @BeforeEach
+    void setUp() {
+        List<TensorTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            tasks.add(new TensorTask(i + 1, 120, 1024, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16));
+        }
+        stages = Pipeline.stagesFor(tasks, Memory.RAM, 1000);
+        serialTime = 0;
+        for (Pipeline.Stage stage : stages) {
+            serialTime += stage.load().getExecutionTime() + stage.compute().getExecutionTime()
+                    + stage.store().getExecutionTime();
+        }
+    }
+
+    @Test
+    @DisplayName("Single buffering should match the serial sum")
+    void testSerialBaseline() {
+        Pipeline.Result result = new Pipeline(1).run(stages);
+        assertEquals(serialTime, result.makespan());
+        assertEquals(16, result.stages());
+    }
+
+    @Test
+    @DisplayName("Loads and stores should get their own ids but share the tensor's data")
+    void testTransferIds() {
+        Set<Long> ids = new HashSet<>();
+        for (Pipeline.Stage stage : stages) {
+            assertTrue(ids.add(stage.load().getTaskId()));
+            assertTrue(ids.add(stage.compute().getTaskId()));
+            assertTrue(ids.add(stage.store().getTaskId()));
+            assertTrue(stage.load().getTaskId() < 0);
+            assertTrue(stage.store().getTaskId() < 0);
+            assertEquals(stage.compute().getDataId(), stage.load().getDataId());
+            assertEquals(stage.compute().getDataId(), stage.store().getDataId());
+        }
+        assertEquals(48, ids.size());
+    }
+
+    @Test
+    @DisplayName("Deeper buffers should never be slower")
+    void testDepthMonotonic() {
+        long previous = Long.MAX_VALUE;
+        for (int depth = 1; depth <= 4; depth++) {
+            long makespan = new Pipeline(depth).run(stages).makespan();
+            assertTrue(makespan <= previous);
+            previous = makespan;
+        }
+    }
+
+    @Test
+    @DisplayName("Full overlap should be bounded by the busiest engine")
+    void testOverlapBound() {
+        Pipeline.Result result = new Pipeline(3).run(stages);
+        long busiest = Math.max(result.computeBusy(), Math.max(result.loadBusy(), result.storeBusy()));
+
+        assertTrue(result.makespan() >= busiest);
+        assertTrue(result.makespan() < serialTime * 0.75);
+        assertTrue(result.computeUtilization() > new Pipeline(1).run(stages).computeUtilization());
+    }
+
+    @Test
+    @DisplayName("Stages should wrap tensors in loads and stores of the same size")
+    void testStagesFor() {
+        Pipeline.Stage stage = stages.get(0);
+        assertEquals(stage.compute().getMemorySize(), stage.load().getMemorySize());
+        assertEquals(stage.compute().getDataId(), stage.store().getDataId());
+        assertEquals(1, new Pipeline(0).getBufferDepth());
+    }
+}
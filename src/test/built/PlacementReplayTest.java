@@ -0,0 +1,117 @@
+package test.built;
+
+import kernel.Device;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.PlacementReplay;
+import simulator.Trace;
+import status.Eviction;
+import status.Memory;
+import status.Placement;
+import status.Quantization;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlacementReplayTest {
+
+    private static TensorTask layer(long id, long dataId) {
+        TensorTask task = new TensorTask(id, 120, 2048, 8, 16, new int[]{64, 64}, Quantization.INT8);
+        task.setDataId(dataId);
+        return task;
+    }
+
+    @Test
+    @DisplayName("A device should only pay the transfer while operands are not resident")
+    void testDeviceCosts() {
+        Device device = new Device(0, 8192, Eviction.LRU, 2000);
+        TensorTask task = layer(1, 7);
+        long transfer = device.operandsOf(task).getExecutionTime();
+        assertEquals(transfer + task.getExecutionTime(), device.getRunCost(task));
+
+        long end = device.run(task, 0);
+        assertEquals(transfer + task.getExecutionTime(), end);
+        assertTrue(device.isResident(7));
+        assertEquals(0, device.getTransferCost(task));
+        assertEquals(end + task.getExecutionTime(), device.getFinishTime(task, 0));
+
+        MemoryTask reload = new MemoryTask(3, 110, 2048, 2000, Memory.VRAM);
+        reload.setDataId(7);
+        assertEquals(0, device.getRunCost(reload));
+        assertEquals(1, device.getTransfers());
+        assertEquals(2048, device.getTransferredMegabytes());
+    }
+
+    @Test
+    @DisplayName("Locality should keep reused weights where they already are")
+    void testLocalityAvoidsTransfers() {
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(layer(i + 1, 1 + i % 2));
+        }
+
+        PlacementReplay.Result roundRobin = new PlacementReplay(4, 8192, Eviction.LRU, 2000, Placement.ROUND_ROBIN)
+                .replay(tasks);
+        PlacementReplay.Result locality = new PlacementReplay(4, 8192, Eviction.LRU, 2000, Placement.LOCALITY)
+                .replay(tasks);
+
+        assertEquals(4, roundRobin.transfers());
+        assertEquals(2, locality.transfers());
+        assertEquals(0.75, locality.hitRate(), 1e-9);
+        assertTrue(locality.makespan() < roundRobin.makespan());
+    }
+
+    @Test
+    @DisplayName("Locality should move work off a backlogged device only when the copy is cheaper than waiting")
+    void testLocalityMovesWhenItPays() {
+        Device holder = new Device(0, 8192, Eviction.LRU, 2000);
+        Device idle = new Device(1, 8192, Eviction.LRU, 2000);
+        List<Device> pool = List.of(holder, idle);
+        holder.run(layer(1, 1), 0);
+        long transfer = idle.getTransferCost(layer(2, 1));
+        long readyAt = holder.getAvailableAt();
+
+        assertSame(holder, PlacementReplay.closest(pool, layer(2, 1), readyAt));
+
+        TensorTask other = layer(3, 0);
+        while (holder.getBacklog(readyAt) <= transfer) {
+            holder.run(other, 0);
+        }
+        assertSame(idle, PlacementReplay.closest(pool, layer(4, 1), readyAt));
+    }
+
+    @Test
+    @DisplayName("Locality should beat round-robin on a replayed trace with shared weights")
+    void testReplayedTrace() {
+        List<NPUTask> tasks = Trace.synthetic(11, 800);
+        Random random = new Random(5);
+        for (NPUTask task : tasks) {
+            if (task instanceof TensorTask) {
+                task.setDataId(1 + random.nextInt(12));
+            }
+        }
+
+        PlacementReplay.Result roundRobin = new PlacementReplay(4, 8192, Eviction.LRU, 2000, Placement.ROUND_ROBIN)
+                .replay(tasks);
+        PlacementReplay.Result locality = new PlacementReplay(4, 8192, Eviction.LRU, 2000, Placement.LOCALITY)
+                .replay(tasks);
+
+        assertEquals(800, locality.completed());
+        assertTrue(locality.transferredMegabytes() < roundRobin.transferredMegabytes());
+        assertTrue(locality.makespan() < roundRobin.makespan());
+        assertTrue(locality.hitRate() > roundRobin.hitRate());
+    }
+
+    @Test
+    @DisplayName("Non-positive bandwidth should be rejected")
+    void testValidation() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlacementReplay(2, 1024, Eviction.LRU, 0, Placement.LOCALITY));
+    }
+}
@@ -0,0 +1,117 @@
+package test.built;
+
+import kernel.PowerBudget;
+import kernel.PowerCappedScheduler;
+import kernel.PowerModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Memory;
+import status.Operation;
+import status.Quantization;
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+import task.VectorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PowerCappedSchedulerTest {
+    private List<NPUTask> tasks;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            tasks.add(switch (i % 3) {
+                case 0 -> new ComputeTask(i + 1, 110, 512, 4, 8);
+                case 1 -> new VectorTask(i + 1, 120, 256, 4, 16, 1024, Operation.MUL);
+                default -> new MemoryTask(i + 1, 100, 1024, 1000, Memory.VRAM);
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Capped runs should stay under the power budget")
+    void testBudgetRespected() {
+        PowerCappedScheduler.Result uncapped = new PowerCappedScheduler(8, Double.POSITIVE_INFINITY).run(tasks);
+        PowerCappedScheduler.Result capped = new PowerCappedScheduler(8, 3000).run(tasks);
+
+        assertEquals(60, uncapped.completed());
+        assertEquals(60, capped.completed());
+        assertTrue(uncapped.peakPower() > 3000);
+        assertTrue(capped.peakPower() <= 3000);
+        assertEquals(0, capped.overBudget());
+        assertTrue(capped.makespan() >= uncapped.makespan());
+        assertEquals(uncapped.energy(), capped.energy(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Tasks that exceed the budget on their own should run alone")
+    void testOversizedTask() {
+        PowerCappedScheduler.Result result = new PowerCappedScheduler(4, 1000).run(tasks);
+
+        assertEquals(60, result.completed());
+        assertEquals(20, result.overBudget());
+        assertEquals(1536.0, result.peakPower(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("A high-power head task should not be starved by smaller tasks behind it")
+    void testHeadNotStarved() {
+        List<NPUTask> trace = new ArrayList<>();
+        trace.add(new ComputeTask(1, 120, 4096, 8, 16));
+        for (int i = 0; i < 40; i++) {
+            trace.add(new ComputeTask(i + 2, 120, 1024, 1, 16 + 2 * (i % 4)));
+        }
+
+        PowerCappedScheduler.Result uncapped = new PowerCappedScheduler(4, Double.POSITIVE_INFINITY).run(trace);
+        PowerCappedScheduler.Result capped = new PowerCappedScheduler(4, 5000).run(trace);
+
+        assertEquals(0, uncapped.maxOvertaken());
+        assertEquals(41, capped.completed());
+        assertEquals(0, capped.overBudget());
+        assertTrue(capped.maxOvertaken() > 0);
+        assertTrue(capped.maxOvertaken() <= 16);
+    }
+
+    @Test
+    @DisplayName("Power budget accounting should be exact under contention")
+    void testBudgetConcurrency() throws InterruptedException {
+        PowerBudget budget = new PowerBudget(100);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (budget.tryAcquire(7.5)) {
+                        budget.release(7.5);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0.0, budget.getUsed(), 1e-9);
+        assertTrue(budget.getPeak() <= 100);
+        assertTrue(budget.tryAcquire(100));
+        assertFalse(budget.tryAcquire(0.001));
+    }
+
+    @Test
+    @DisplayName("Power estimates should apply the type factor before dispatch")
+    void testPowerModel() {
+        TensorTask tensor = new TensorTask(1, 100, 1000, 4, 2, new int[]{8, 8}, Quantization.FLOAT32);
+        MemoryTask disk = new MemoryTask(2, 100, 1000, 1000, Memory.DISK);
+
+        assertEquals(1500.0, PowerModel.estimate(tensor), 1e-9);
+        assertEquals(2000.0, PowerModel.estimate(disk), 1e-9);
+        assertEquals(0.0, tensor.getPowerConsumption());
+    }
+}
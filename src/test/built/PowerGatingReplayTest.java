@@ -0,0 +1,77 @@
+package test.built;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.PowerGatingReplay;
+import status.Consolidation;
+import task.ComputeTask;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PowerGatingReplayTest {
+
+    @Test
+    @DisplayName("Gated units should pay wake-up latency and idle tails")
+    void testWakeAccounting() {
+        ComputeTask first = new ComputeTask(1, 110, 512, 4, 8);
+        ComputeTask second = new ComputeTask(2, 110, 512, 4, 8);
+        long duration = first.getExecutionTime();
+        List<PowerGatingReplay.Arrival> arrivals = List.of(
+                new PowerGatingReplay.Arrival(0, first), new PowerGatingReplay.Arrival(100, second));
+
+        PowerGatingReplay.Result packed = new PowerGatingReplay(4, Consolidation.PACK, 100, 1.0, 5, 20)
+                .replay(arrivals);
+        assertEquals(2, packed.wakeups());
+        assertEquals(1, packed.unitsUsed());
+        assertEquals(duration + 5, packed.p99());
+        assertEquals(5 + duration + 5 + 20 + duration + 20, packed.staticEnergy(), 1e-9);
+
+        PowerGatingReplay.Result spread = new PowerGatingReplay(4, Consolidation.SPREAD, 100, 1.0, 5, 20)
+                .replay(arrivals);
+        assertEquals(2, spread.unitsUsed());
+        assertEquals(packed.dynamicEnergy(), spread.dynamicEnergy(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Packing should prefer an awake unit over waking a gated one")
+    void testPackPrefersAwake() {
+        List<PowerGatingReplay.Arrival> arrivals = List.of(
+                new PowerGatingReplay.Arrival(0, new ComputeTask(1, 100, 0, 5, 24)),
+                new PowerGatingReplay.Arrival(10, new ComputeTask(2, 100, 0, 1, 8)),
+                new PowerGatingReplay.Arrival(60, new ComputeTask(3, 100, 0, 5, 24)));
+
+        PowerGatingReplay.Result packed = new PowerGatingReplay(2, Consolidation.PACK, 40, 1.0, 5, 20)
+                .replay(arrivals);
+
+        assertEquals(3, packed.completed());
+        assertEquals(2, packed.wakeups());
+        assertEquals(2, packed.unitsUsed());
+        assertEquals(55, packed.p99());
+    }
+
+    @Test
+    @DisplayName("Packing should save static energy at light load")
+    void testConsolidationSaves() {
+        List<PowerGatingReplay.Arrival> arrivals = PowerGatingReplay.poisson(3, 50, 1000, 110, 512, 4, 8);
+        PowerGatingReplay.Result spread = new PowerGatingReplay(8, Consolidation.SPREAD, 0).replay(arrivals);
+        PowerGatingReplay.Result packed = new PowerGatingReplay(8, Consolidation.PACK, 80).replay(arrivals);
+
+        assertEquals(1000, packed.completed());
+        assertTrue(packed.unitsUsed() < spread.unitsUsed());
+        assertTrue(packed.staticEnergy() < spread.staticEnergy());
+        assertTrue(packed.energyPerTask() < spread.energyPerTask());
+        assertEquals(spread.dynamicEnergy(), packed.dynamicEnergy(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Packing should respect a reachable latency target")
+    void testLatencyTarget() {
+        List<PowerGatingReplay.Arrival> arrivals = PowerGatingReplay.poisson(9, 10, 1000, 110, 512, 4, 8);
+        for (long target : new long[]{40, 80, 160}) {
+            PowerGatingReplay.Result result = new PowerGatingReplay(8, Consolidation.PACK, target).replay(arrivals);
+            assertTrue(result.p99() <= target);
+        }
+    }
+}
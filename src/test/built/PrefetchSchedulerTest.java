@@ -0,0 +1,87 @@
+package test.built;
+
+import kernel.PrefetchScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Memory;
+import status.Quantization;
+import task.MemoryTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefetchSchedulerTest {
+    private List<PrefetchScheduler.Step> plan;
+    private long totalTransfer;
+
+    @BeforeEach
+    void setUp() {
+        plan = new ArrayList<>();
+        totalTransfer = 0;
+        for (int i = 0; i < 20; i++) {
+            TensorTask layer = new TensorTask(i + 1, 120, 1024, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16);
+            MemoryTask load = new MemoryTask(i + 1, 120, 1024, 2000, Memory.VRAM);
+            plan.add(new PrefetchScheduler.Step(load, layer));
+            totalTransfer += load.getExecutionTime();
+        }
+    }
+
+    @Test
+    @DisplayName("On-demand loading should expose every transfer")
+    void testOnDemand() {
+        PrefetchScheduler.Result result = new PrefetchScheduler(8192, 0).run(plan);
+
+        assertEquals(20, result.completed());
+        assertEquals(0, result.hiddenTransfer());
+        assertEquals(totalTransfer, result.exposedTransfer());
+    }
+
+    @Test
+    @DisplayName("Lookahead should hide transfers behind compute")
+    void testLookaheadHidesTransfers() {
+        PrefetchScheduler.Result onDemand = new PrefetchScheduler(8192, 0).run(plan);
+        PrefetchScheduler.Result prefetched = new PrefetchScheduler(8192, 2).run(plan);
+
+        assertEquals(totalTransfer, prefetched.hiddenTransfer() + prefetched.exposedTransfer());
+        assertTrue(prefetched.hiddenTransfer() > prefetched.exposedTransfer());
+        assertTrue(prefetched.makespan() < onDemand.makespan());
+    }
+
+    @Test
+    @DisplayName("Prefetching should respect memory capacity")
+    void testCapacity() {
+        PrefetchScheduler.Result single = new PrefetchScheduler(1024, 4).run(plan);
+        PrefetchScheduler.Result onDemand = new PrefetchScheduler(1024, 0).run(plan);
+
+        assertEquals(1024, single.peakResident());
+        assertEquals(onDemand.makespan(), single.makespan());
+        assertTrue(new PrefetchScheduler(2048, 4).run(plan).peakResident() <= 2048);
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchScheduler(512, 1).run(plan));
+    }
+
+    @Test
+    @DisplayName("Cancelled plans should drop their consumers and abort in-flight loads")
+    void testCancel() {
+        PrefetchScheduler scheduler = new PrefetchScheduler(8192, 2);
+        scheduler.cancel(plan.get(0).compute().getDataId(), 1);
+        scheduler.cancel(plan.get(10).compute().getDataId(), 0);
+        PrefetchScheduler.Result result = scheduler.run(plan);
+
+        assertEquals(18, result.completed());
+        assertEquals(2, result.cancelled());
+        assertEquals(1, result.wastedTransfer());
+    }
+
+    @Test
+    @DisplayName("Lookahead should scale with the tier multiplier")
+    void testTierLookahead() {
+        PrefetchScheduler scheduler = new PrefetchScheduler(8192, 2);
+        assertEquals(1, scheduler.lookaheadFor(new MemoryTask(1, 100, 64, 1000, Memory.CACHE)));
+        assertEquals(3, scheduler.lookaheadFor(new MemoryTask(1, 100, 64, 1000, Memory.VRAM)));
+        assertEquals(10, scheduler.lookaheadFor(new MemoryTask(1, 100, 64, 1000, Memory.DISK)));
+    }
+}
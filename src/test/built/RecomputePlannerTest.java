@@ -0,0 +1,169 @@
+package test.built;
+
+import kernel.MemoryPlanner;
+import kernel.RecomputePlanner;
+import kernel.TaskGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Memory;
+import status.Quantization;
+import status.Retention;
+import task.ComputeTask;
+import task.MemoryTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecomputePlannerTest {
+
+    // Forward layers keep their input activation for the matching backward layer
+    private static TaskGraph training(int layers, int size) {
+        TaskGraph graph = new TaskGraph();
+        long id = 1;
+        List<NPUTask> activations = new ArrayList<>();
+        NPUTask input = new MemoryTask(id++, 110, size, 2000, Memory.VRAM);
+        graph.add(input);
+        activations.add(input);
+        for (int i = 0; i < layers; i++) {
+            NPUTask forward = new TensorTask(id++, 120, size, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16);
+            graph.add(forward, activations.get(i));
+            activations.add(forward);
+        }
+        NPUTask gradient = new ComputeTask(id++, 120, size, 4, 8);
+        graph.add(gradient, activations.get(layers));
+        for (int i = layers; i >= 1; i--) {
+            NPUTask backward = new TensorTask(id++, 120, size, 8, 16, new int[]{64, 64}, Quantization.BFLOAT16);
+            graph.add(backward, gradient, activations.get(i - 1));
+            gradient = backward;
+        }
+        return graph;
+    }
+
+    @Test
+    @DisplayName("The plan should meet the budget and account for every added cost")
+    void testMeetsBudget() {
+        TaskGraph graph = training(8, 256);
+        long before = MemoryPlanner.plan(graph, 64).peak();
+        RecomputePlanner.Plan plan = new RecomputePlanner(1024, 2000, 64).plan(graph);
+
+        assertTrue(plan.fits());
+        assertTrue(before > 1024);
+        assertTrue(plan.memory().peak() <= 1024);
+        assertEquals(graph.size() + plan.count(Retention.RECOMPUTE) + 2 * plan.count(Retention.OFFLOAD),
+                plan.graph().size());
+        assertEquals(plan.decisions().stream().mapToLong(RecomputePlanner.Decision::cost).sum(), plan.addedTime());
+    }
+
+    @Test
+    @DisplayName("A slow link should favour recompute and a fast one offload")
+    void testChoiceFollowsCosts() {
+        TaskGraph graph = training(8, 256);
+        RecomputePlanner.Plan slow = new RecomputePlanner(1536, 100, 64).plan(graph);
+        RecomputePlanner.Plan fast = new RecomputePlanner(1536, 20000, 64).plan(graph);
+
+        assertTrue(slow.fits());
+        assertTrue(fast.fits());
+        assertTrue(slow.count(Retention.RECOMPUTE) > 0);
+        assertEquals(0, fast.count(Retention.RECOMPUTE));
+        assertTrue(fast.count(Retention.OFFLOAD) > 0);
+    }
+
+    @Test
+    @DisplayName("Readers after the gap should use the replacement tensor")
+    void testRewiring() {
+        TaskGraph graph = training(6, 256);
+        RecomputePlanner.Plan plan = new RecomputePlanner(1024, 2000, 64).plan(graph);
+        TaskGraph rebuilt = plan.graph();
+
+        assertFalse(plan.decisions().isEmpty());
+        for (RecomputePlanner.Decision decision : plan.decisions()) {
+            NPUTask tensor = find(rebuilt, decision.taskId());
+            NPUTask replacement = null;
+            for (NPUTask task : rebuilt.getTasks()) {
+                boolean copy = task.getTaskId() < 0 && task.getDataId() == tensor.getDataId()
+                        && MemoryPlanner.isOnDevice(task) && rebuilt.getIndex(task) > rebuilt.getIndex(tensor);
+                if (copy && (replacement == null || rebuilt.getIndex(task) < rebuilt.getIndex(replacement))) {
+                    replacement = task;
+                }
+            }
+
+            assertNotNull(replacement);
+            assertFalse(rebuilt.getConsumers(replacement).isEmpty());
+            for (NPUTask consumer : rebuilt.getConsumers(tensor)) {
+                assertTrue(rebuilt.getIndex(consumer) < rebuilt.getIndex(replacement));
+            }
+        }
+        for (NPUTask task : rebuilt.getTasks()) {
+            for (NPUTask input : rebuilt.getInputs(task)) {
+                assertTrue(rebuilt.getIndex(input) < rebuilt.getIndex(task));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A recomputed tensor should cost what its copy actually costs")
+    void testRecomputeCostMatchesCopy() {
+        TaskGraph graph = training(8, 256);
+        RecomputePlanner.Plan plan = new RecomputePlanner(1536, 100, 64).plan(graph);
+
+        assertTrue(plan.count(Retention.RECOMPUTE) > 0);
+        for (RecomputePlanner.Decision decision : plan.decisions()) {
+            if (decision.retention() != Retention.RECOMPUTE) {
+                continue;
+            }
+            TensorTask tensor = (TensorTask) find(plan.graph(), decision.taskId());
+            for (NPUTask task : plan.graph().getTasks()) {
+                if (task != tensor && task.getDataId() == tensor.getDataId() && task instanceof TensorTask copy) {
+                    assertEquals(tensor.getSparsity(), copy.getSparsity());
+                    assertEquals(copy.getExecutionTime(), decision.cost());
+                    assertEquals(tensor.getExecutionTime(), decision.cost());
+                }
+            }
+        }
+    }
+
+    private static NPUTask find(TaskGraph graph, long taskId) {
+        for (NPUTask task : graph.getTasks()) {
+            if (task.getTaskId() == taskId) {
+                return task;
+            }
+        }
+        throw new AssertionError("Task " + taskId + " missing");
+    }
+
+    @Test
+    @DisplayName("A graph already within budget should come back unchanged")
+    void testAlreadyFits() {
+        TaskGraph graph = training(4, 64);
+        RecomputePlanner.Plan plan = new RecomputePlanner(4096, 2000, 64).plan(graph);
+
+        assertTrue(plan.fits());
+        assertSame(graph, plan.graph());
+        assertTrue(plan.decisions().isEmpty());
+        assertEquals(0, plan.addedTime());
+    }
+
+    @Test
+    @DisplayName("A budget below a single step's working set should be reported as not fitting")
+    void testImpossibleBudget() {
+        RecomputePlanner.Plan plan = new RecomputePlanner(256, 2000, 64).plan(training(4, 256));
+        assertFalse(plan.fits());
+        assertTrue(plan.memory().peak() > 256);
+    }
+
+    @Test
+    @DisplayName("Tensors stored to RAM should not count against the device arena")
+    void testHostTensorsAreFree() {
+        ComputeTask producer = new ComputeTask(1, 110, 512, 4, 8);
+        MemoryTask store = new MemoryTask(2, 110, 512, 2000, Memory.RAM);
+        TaskGraph graph = new TaskGraph().add(producer).add(store, producer);
+
+        assertEquals(512, MemoryPlanner.plan(graph).naive());
+        assertFalse(MemoryPlanner.isOnDevice(store));
+        assertThrows(IllegalArgumentException.class, () -> new RecomputePlanner(0, 2000, 64));
+    }
+}
@@ -0,0 +1,132 @@
+package test.built;
+
+import kernel.ResidencyCache;
+import kernel.TaskExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Eviction;
+import status.Memory;
+import status.Status;
+import task.MemoryTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResidencyCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        TaskExecutor.getInstance().setResidencyCache(null);
+    }
+
+    private static MemoryTask load(long dataId, int size) {
+        MemoryTask task = new MemoryTask(dataId, 110, size, 2000, Memory.VRAM);
+        task.setDataId(dataId);
+        return task;
+    }
+
+    @Test
+    @DisplayName("A tensor should hit once its transfer has been admitted")
+    void testHitAfterAdmit() {
+        ResidencyCache cache = new ResidencyCache(100, Eviction.LRU);
+        assertFalse(cache.load(load(1, 10)));
+        assertTrue(cache.load(load(1, 10)));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+        assertEquals(10, cache.getMegabytesSaved());
+        assertEquals(load(1, 10).getExecutionTime(), cache.getTimeSaved());
+        assertEquals(10, cache.getUsed());
+    }
+
+    @Test
+    @DisplayName("LRU should evict the least recently used tensor")
+    void testLru() {
+        ResidencyCache cache = new ResidencyCache(30, Eviction.LRU);
+        cache.load(load(1, 10));
+        cache.load(load(2, 10));
+        cache.load(load(3, 10));
+        cache.load(load(1, 10));
+        cache.load(load(4, 10));
+
+        assertTrue(cache.isResident(1));
+        assertFalse(cache.isResident(2));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("LFU should keep frequently loaded tensors even across evictions")
+    void testLfu() {
+        ResidencyCache cache = new ResidencyCache(20, Eviction.LFU);
+        cache.load(load(1, 10));
+        cache.load(load(1, 10));
+        cache.load(load(2, 10));
+        cache.load(load(3, 10));
+
+        assertTrue(cache.isResident(1));
+        assertFalse(cache.isResident(2));
+        assertTrue(cache.isResident(3));
+    }
+
+    @Test
+    @DisplayName("Size-aware eviction should drop large tensors before small ones of equal frequency")
+    void testSizeAware() {
+        ResidencyCache cache = new ResidencyCache(100, Eviction.SIZE_AWARE);
+        cache.load(load(1, 60));
+        cache.load(load(2, 10));
+        cache.load(load(3, 10));
+        cache.load(load(4, 30));
+
+        assertFalse(cache.isResident(1));
+        assertTrue(cache.isResident(2));
+        assertTrue(cache.isResident(3));
+        assertTrue(cache.isResident(4));
+    }
+
+    @Test
+    @DisplayName("Tensors larger than the cache should not be admitted or flush it")
+    void testOversized() {
+        ResidencyCache cache = new ResidencyCache(50, Eviction.LRU);
+        cache.load(load(1, 20));
+        cache.load(load(2, 80));
+
+        assertTrue(cache.isResident(1));
+        assertFalse(cache.isResident(2));
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Invalidated tensors should miss and release their space")
+    void testInvalidate() {
+        ResidencyCache cache = new ResidencyCache(50, Eviction.LRU);
+        cache.load(load(1, 20));
+        cache.invalidate(1);
+
+        assertFalse(cache.isResident(1));
+        assertEquals(0, cache.getUsed());
+        assertFalse(cache.load(load(1, 20)));
+    }
+
+    @Test
+    @DisplayName("Only VRAM loads should be cacheable")
+    void testCacheable() {
+        assertTrue(ResidencyCache.isCacheable(load(1, 10)));
+        assertFalse(ResidencyCache.isCacheable(new MemoryTask(2, 110, 10, 2000, Memory.RAM)));
+    }
+
+    @Test
+    @DisplayName("The executor should complete a resident load without a transfer")
+    void testExecutorHit() {
+        ResidencyCache cache = new ResidencyCache(100, Eviction.LRU);
+        cache.admit(load(90_001, 10));
+        TaskExecutor.getInstance().setResidencyCache(cache);
+
+        MemoryTask task = load(90_001, 10);
+        task.execute();
+
+        assertEquals(Status.COMPLETED, task.getStatus());
+        assertEquals(1, cache.getHits());
+        assertEquals(10, cache.getMegabytesSaved());
+    }
+}
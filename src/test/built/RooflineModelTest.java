@@ -0,0 +1,74 @@
+package test.built;
+
+import kernel.RooflineModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import status.Bound;
+import status.Convolution;
+import status.Memory;
+import status.Operation;
+import status.Quantization;
+import task.MemoryTask;
+import task.TensorTask;
+import task.VectorTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RooflineModelTest {
+    private final RooflineModel model = new RooflineModel(1e12, 100e9, 4);
+
+    @Test
+    @DisplayName("GEMM bytes and FLOPs should follow shape and element width")
+    void testGemmCounts() {
+        TensorTask fp32 = new TensorTask(1, 100, 0, 4, 2, new int[]{256, 128}, Quantization.FLOAT32);
+        TensorTask int8 = new TensorTask(2, 100, 0, 4, 2, new int[]{256, 128}, Quantization.INT8);
+
+        RooflineModel.Estimate estimate = model.estimate(fp32);
+        assertEquals(2 * 2.0 * 256 * 128 * 128, estimate.flops(), 1e-6);
+        assertEquals(4 * (2 * 2.0 * 256 * 128 + 128 * 128), estimate.bytes(), 1e-6);
+        assertEquals(estimate.bytes() / 4, model.estimate(int8).bytes(), 1e-6);
+        assertEquals(estimate.flops() / estimate.bytes(), estimate.intensity(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Tasks should be classified against the ridge point")
+    void testClassification() {
+        TensorTask large = new TensorTask(1, 100, 0, 4, 2, new int[]{1024, 1024}, Quantization.FLOAT32);
+        TensorTask thin = new TensorTask(2, 100, 0, 4, 2, new int[]{65536, 2}, Quantization.FLOAT32);
+        VectorTask vector = new VectorTask(3, 100, 0, 4, 16, 1 << 20, Operation.ADD);
+
+        assertEquals(Bound.COMPUTE, model.estimate(large).bound());
+        assertEquals(Bound.MEMORY, model.estimate(thin).bound());
+        assertEquals(Bound.MEMORY, model.estimate(vector).bound());
+        assertEquals(Bound.MEMORY, model.estimate(new MemoryTask(4, 100, 64, 1000, Memory.RAM)).bound());
+        assertEquals(10.0, model.getRidgePoint(Quantization.FLOAT32, 4), 1e-9);
+        assertEquals(40.0, model.getRidgePoint(Quantization.INT8, 4), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Predicted time should be the slower of the two roofs")
+    void testPrediction() {
+        TensorTask large = new TensorTask(1, 100, 0, 2, 2, new int[]{1024, 1024}, Quantization.FLOAT32);
+        RooflineModel.Estimate estimate = model.estimate(large);
+        assertEquals(estimate.flops() / 0.5e12 * 1000, estimate.millis(), 1e-9);
+
+        VectorTask vector = new VectorTask(2, 100, 0, 4, 2, 1 << 20, Operation.REDUCE);
+        RooflineModel.Estimate reduce = model.estimate(vector);
+        assertEquals(reduce.bytes() / 100e9 * 1000, reduce.millis(), 1e-9);
+
+        TensorTask small = new TensorTask(3, 100, 0, 4, 2, new int[]{256, 256}, Quantization.BFLOAT16);
+        assertTrue(model.estimate(large).millis() / model.estimate(small).millis() > 32);
+    }
+
+    @Test
+    @DisplayName("Winograd convolutions should need fewer FLOPs")
+    void testConvolution() {
+        TensorTask conv = new TensorTask(1, 100, 0, 4, 2, new int[]{64, 64, 32}, Quantization.BFLOAT16);
+        double im2col = model.estimate(conv).flops();
+        assertEquals(2 * 2.0 * 64 * 64 * 32 * 32 * 9, im2col, 1e-6);
+
+        conv.setConvolution(Convolution.WINOGRAD);
+        assertEquals(im2col / 2.25, model.estimate(conv).flops(), 1e-6);
+        assertThrows(IllegalArgumentException.class, () -> new RooflineModel(0, 1, 1));
+    }
+}
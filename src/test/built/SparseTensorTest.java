@@ -0,0 +1,101 @@
+package test.built;
+
+import kernel.MatMulKernel;
+import kernel.SparseKernel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import status.Quantization;
+import status.Storage;
+import task.TensorTask;
+import tensor.BlockSparseTensor;
+import tensor.SparseTensor;
+import tensor.TensorData;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SparseTensorTest {
+    private static final int ROWS = 37;
+    private static final int COLS = 29;
+    private static final int N = 11;
+    private float[] sparse;
+    private float[] dense;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(3);
+        sparse = new float[ROWS * COLS];
+        for (int i = 0; i < sparse.length; i++) {
+            if (random.nextDouble() > 0.9) sparse[i] = (float) random.nextGaussian();
+        }
+        dense = new float[COLS * N];
+        for (int i = 0; i < dense.length; i++) dense[i] = (float) random.nextGaussian();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Storage.class, names = {"CSR", "COO", "BLOCK_SPARSE"})
+    @DisplayName("Sparse formats should round-trip to the original dense matrix")
+    void testRoundTrip(Storage storage) {
+        SparseTensor tensor = SparseKernel.pack(storage, sparse, ROWS, COLS);
+        assertEquals(storage, tensor.getStorage());
+        assertArrayEquals(sparse, tensor.toDense());
+        assertEquals(SparseKernel.measureSparsity(sparse, sparse.length), tensor.getSparsity(), 1e-9);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Storage.class, names = {"CSR", "COO", "BLOCK_SPARSE"})
+    @DisplayName("Sparse kernels should match the dense GEMM")
+    void testMultiplyMatchesDense(Storage storage) {
+        float[] expected = MatMulKernel.multiplyFloat32(sparse, dense, ROWS, COLS, N);
+        float[] actual = SparseKernel.multiply(storage, sparse, dense, ROWS, COLS, N);
+        assertArrayEquals(expected, actual, 1e-4f);
+    }
+
+    @Test
+    @DisplayName("Sparse footprint should scale with the non-zeros")
+    void testFootprintScalesWithNonZeros() {
+        SparseTensor csr = SparseKernel.pack(Storage.CSR, sparse, ROWS, COLS);
+        SparseTensor coo = SparseKernel.pack(Storage.COO, sparse, ROWS, COLS);
+        assertTrue(csr.getBytes() < (long) ROWS * COLS * Float.BYTES);
+        assertEquals((long) coo.getNonZeros() * 12, coo.getBytes());
+    }
+
+    @Test
+    @DisplayName("Storage selection should follow the measured thresholds")
+    void testSelectStorage() {
+        assertEquals(Storage.DENSE, SparseKernel.selectStorage(0.1, 0.0));
+        assertEquals(Storage.CSR, SparseKernel.selectStorage(0.9, 0.1));
+        assertEquals(Storage.BLOCK_SPARSE, SparseKernel.selectStorage(0.9, 0.88));
+        assertEquals(Storage.COO, SparseKernel.selectStorage(0.9995, 0.0));
+    }
+
+    @Test
+    @DisplayName("Data-backed tasks should select storage from their measured block layout")
+    void testSelectStorageFromData() {
+        TensorData data = TensorData.allocate(new int[]{64, 64}, Quantization.FLOAT32);
+        float[] values = new float[64 * 64];
+        for (int i = 8; i < 16; i++) {
+            for (int j = 16; j < 24; j++) {
+                data.setFloat(i * 64 + j, 1.5f);
+                values[i * 64 + j] = 1.5f;
+            }
+        }
+        TensorTask task = new TensorTask(1L, 110, 16, 4, 16, data);
+
+        assertEquals(BlockSparseTensor.blockSparsity(values, 64, 64, SparseKernel.BLOCK_SIZE),
+                BlockSparseTensor.blockSparsity(data, SparseKernel.BLOCK_SIZE), 1e-12);
+        assertEquals(Storage.BLOCK_SPARSE, SparseKernel.selectStorage(task));
+        assertEquals(Storage.CSR, SparseKernel.selectStorage(data.getSparsity(), 0.0));
+    }
+
+    @Test
+    @DisplayName("Routed multiply should match the dense GEMM")
+    void testRoutedMultiply() {
+        float[] expected = MatMulKernel.multiplyFloat32(sparse, dense, ROWS, COLS, N);
+        assertArrayEquals(expected, SparseKernel.multiply(sparse, dense, ROWS, COLS, N), 1e-4f);
+    }
+}
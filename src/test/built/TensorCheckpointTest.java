@@ -0,0 +1,144 @@
+package test.built;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import status.Quantization;
+import task.TensorTask;
+import tensor.TensorCheckpoint;
+import tensor.TensorData;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TensorCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    private static TensorData filled(int[] shape, Quantization type, int blockBytes) {
+        TensorData data = TensorData.allocate(shape, type, blockBytes, false);
+        for (long i = 0; i < data.getElements(); i++) {
+            if (i % 4 != 0) {
+                data.setFloat(i, (float) (i % 100) - 50);
+            }
+        }
+        return data;
+    }
+
+    @ParameterizedTest
+    @EnumSource(Quantization.class)
+    @DisplayName("Tensors should round-trip with shape, type and values intact")
+    void testRoundTrip(Quantization type) throws IOException {
+        TensorData original = filled(new int[]{33, 47}, type, 256);
+        Path path = directory.resolve("model.ckpt");
+        TensorCheckpoint.write(path, Map.of(5L, original));
+
+        try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path)) {
+            TensorData loaded = checkpoint.load(5);
+            assertArrayEquals(original.getShape(), loaded.getShape());
+            assertEquals(type, loaded.getType());
+            assertEquals(original.getBlockCount(), loaded.getBlockCount());
+            for (long i = 0; i < original.getElements(); i++) {
+                assertEquals(original.getFloat(i), loaded.getFloat(i));
+            }
+            assertEquals(original.getSparsity(), loaded.getSparsity(), 1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Blocks should be sliced from windows that each span several blocks")
+    void testMappingWindows() throws IOException {
+        TensorData original = filled(new int[]{33, 47}, Quantization.FLOAT32, 256);
+        Path path = directory.resolve("windows.ckpt");
+        TensorCheckpoint.write(path, Map.of(3L, original));
+
+        for (long window : new long[]{256, 1000, 3 * 256, TensorCheckpoint.MAX_WINDOW_BYTES}) {
+            try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path, window)) {
+                TensorData loaded = checkpoint.load(3);
+                assertEquals(original.getBlockCount(), loaded.getBlockCount());
+                for (int block = 0; block < loaded.getBlockCount(); block++) {
+                    assertEquals(original.getBlock(block).capacity(), loaded.getBlock(block).capacity());
+                }
+                for (long i = 0; i < original.getElements(); i++) {
+                    assertEquals(original.getFloat(i), loaded.getFloat(i));
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> TensorCheckpoint.open(path, 0));
+        assertThrows(IllegalArgumentException.class, () -> TensorCheckpoint.open(path, 1L << 32));
+    }
+
+    @Test
+    @DisplayName("Opening should read only the header and map tensors lazily")
+    void testLazyOpen() throws IOException {
+        Map<Long, TensorData> tensors = new LinkedHashMap<>();
+        for (long id = 1; id <= 4; id++) {
+            tensors.put(id, filled(new int[]{64, (int) id * 16}, Quantization.FLOAT32, 1024));
+        }
+        Path path = directory.resolve("shards.ckpt");
+        TensorCheckpoint.write(path, tensors);
+
+        try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path)) {
+            assertEquals(4, checkpoint.getEntries().size());
+            assertEquals(0, checkpoint.getLoadedCount());
+            for (TensorCheckpoint.Entry entry : checkpoint.getEntries()) {
+                assertEquals(0, entry.offset() % TensorCheckpoint.ALIGNMENT);
+            }
+
+            assertSame(checkpoint.load(2), checkpoint.load(2));
+            assertEquals(1, checkpoint.getLoadedCount());
+
+            Map<Long, TensorData> all = checkpoint.loadAll();
+            assertEquals(4, checkpoint.getLoadedCount());
+            assertEquals(tensors.keySet(), all.keySet());
+            for (long id = 1; id <= 4; id++) {
+                assertEquals(tensors.get(id).getFloat(777), all.get(id).getFloat(777));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Mapped tensors should be read-only and usable by TensorTask")
+    void testMappedData() throws IOException {
+        Path path = directory.resolve("layer.ckpt");
+        TensorCheckpoint.write(path, Map.of(9L, filled(new int[]{32, 32}, Quantization.BFLOAT16, 512)));
+
+        try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path)) {
+            TensorData data = checkpoint.load(9);
+            assertThrows(ReadOnlyBufferException.class, () -> data.setFloat(0, 1.0f));
+
+            TensorTask task = new TensorTask(1, 120, 2048, 8, 16, data);
+            assertArrayEquals(new int[]{32, 32}, task.getDimensions());
+            assertEquals(Quantization.BFLOAT16, task.getTensorType());
+            assertEquals(data.getSparsity(), task.getSparsity(), 1e-12);
+        }
+    }
+
+    @Test
+    @DisplayName("Foreign, truncated or unknown content should be rejected")
+    void testValidation() throws IOException {
+        Path foreign = directory.resolve("foreign.ckpt");
+        Files.write(foreign, new byte[64]);
+        assertThrows(IOException.class, () -> TensorCheckpoint.open(foreign));
+
+        Path path = directory.resolve("cut.ckpt");
+        TensorCheckpoint.write(path, Map.of(1L, filled(new int[]{1024}, Quantization.FLOAT32, 1024)));
+        try (TensorCheckpoint checkpoint = TensorCheckpoint.open(path)) {
+            assertThrows(IllegalArgumentException.class, () -> checkpoint.load(2));
+        }
+
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 100));
+        assertThrows(IOException.class, () -> TensorCheckpoint.open(path));
+    }
+}
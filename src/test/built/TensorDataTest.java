@@ -0,0 +1,81 @@
+package test.built;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import status.Quantization;
+import task.TensorTask;
+import tensor.TensorData;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TensorDataTest {
+
+    @ParameterizedTest
+    @EnumSource(Quantization.class)
+    @DisplayName("Zero-count scan should match a per-element count")
+    void testSparsityMatchesElementCount(Quantization type) {
+        // 1003 elements leaves a tail that is not a whole 64-bit word
+        TensorData data = TensorData.allocate(new int[]{17, 59}, type, 64, false);
+        int nonZeros = 0;
+        for (long i = 0; i < data.getElements(); i++) {
+            if (i % 3 == 0) {
+                data.setFloat(i, (i % 2 == 0) ? 5 : -128);
+                nonZeros++;
+            }
+        }
+        data.setFloat(1, -0.0f);
+
+        double expected = 1.0 - (double) nonZeros / data.getElements();
+        assertEquals(expected, data.getSparsity(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Sign bit alone should count as non-zero for INT8")
+    void testInt8SignBit() {
+        TensorData data = TensorData.allocate(new int[]{8}, Quantization.INT8);
+        data.setFloat(3, -128);
+        assertEquals(7.0 / 8.0, data.getSparsity(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Only blocks touched since the last scan should be rescanned")
+    void testIncrementalScan() {
+        TensorData data = TensorData.allocate(new int[]{1024}, Quantization.FLOAT32, 256, false);
+        assertEquals(16, data.getBlockCount());
+        assertEquals(16, data.getStaleBlocks());
+
+        assertEquals(1.0, data.getSparsity());
+        assertEquals(0, data.getStaleBlocks());
+
+        data.setFloat(700, 2.5f);
+        assertEquals(1, data.getStaleBlocks());
+        assertEquals(1.0 - 1.0 / 1024, data.getSparsity(), 1e-12);
+        assertEquals(2.5f, data.getFloat(700));
+        assertTrue(data.getBlock(700 / 64).isReadOnly());
+        assertEquals(0, data.getStaleBlocks());
+    }
+
+    @Test
+    @DisplayName("Data-backed TensorTask should use the measured sparsity")
+    void testTensorTaskUsesMeasuredSparsity() {
+        TensorData data = TensorData.allocate(new int[]{4, 25}, Quantization.BFLOAT16);
+        for (int i = 0; i < 60; i++) {
+            data.setFloat(i, 1.5f);
+        }
+
+        TensorTask task = new TensorTask(1L, 120, 2048, 4, 16, data);
+        assertEquals(0.4, task.getSparsity(), 1e-12);
+        assertArrayEquals(new int[]{4, 25}, task.getDimensions());
+        assertEquals(Quantization.BFLOAT16, task.getTensorType());
+
+        long before = task.getExecutionTime();
+        for (int i = 0; i < 60; i++) {
+            data.setFloat(i, 0.0f);
+        }
+        task.refreshSparsity();
+        assertEquals(0.95, task.getSparsity(), 1e-12);
+        assertTrue(task.getExecutionTime() < before);
+    }
+}
@@ -178,6 +178,18 @@ public class TensorTaskTest {
         }
     }
 
+    @Test
+    @DisplayName("Pinned sparsity should be clamped and re-price the task")
+    void testSetSparsity() {
+        task.setSparsity(0.0);
+        long dense = task.getExecutionTime();
+        task.setSparsity(1.0);
+
+        assertEquals(0.95, task.getSparsity(), 1e-9);
+        assertTrue(task.getExecutionTime() < dense);
+        assertThrows(IllegalArgumentException.class, () -> task.setSparsity(-0.1));
+    }
+
     @Test
     @DisplayName("Dimension immutability should be guaranteed")
     void testDimensionImmutability() {
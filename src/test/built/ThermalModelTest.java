@@ -0,0 +1,106 @@
+package test.built;
+
+import kernel.ThermalModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import simulator.ThermalReplay;
+import simulator.TraceReplay;
+import status.Quantization;
+import task.ComputeTask;
+import task.NPUTask;
+import task.TensorTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThermalModelTest {
+
+    @Test
+    @DisplayName("Temperature should approach the RC steady state")
+    void testSteadyState() {
+        ThermalModel model = new ThermalModel(25.0, 0.01, 100_000.0, 85.0, 105.0);
+        model.step(5000, 1000);
+        double tau = 0.01 * 100_000.0;
+        assertEquals(75.0 + (25.0 - 75.0) * Math.exp(-1000 / tau), model.getTemperature(), 1e-9);
+
+        model.step(5000, 100_000);
+        assertEquals(75.0, model.getTemperature(), 1e-6);
+        model.reset();
+        assertEquals(25.0, model.getTemperature());
+    }
+
+    @Test
+    @DisplayName("Clock should fall linearly between throttle and critical")
+    void testSpeedFactor() {
+        ThermalModel model = new ThermalModel(25.0, 0.01, 1.0, 85.0, 105.0);
+        model.step(5000, 1000);
+        assertEquals(1.0, model.getSpeedFactor());
+
+        model.step(7000, 1000);
+        assertEquals(0.7, model.getSpeedFactor(), 1e-9);
+
+        model.step(20000, 1000);
+        assertEquals(0.4, model.getSpeedFactor(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> new ThermalModel(25, 0.01, 1, 90, 90));
+    }
+
+    @Test
+    @DisplayName("Sustained FLOAT32 load should throttle and stretch the run")
+    void testThrottling() {
+        List<NPUTask> stream = stream(Quantization.FLOAT32);
+        ThermalReplay.Result cold = ThermalReplay.replay(stream, 8, TraceReplay.DISPATCH_OVERHEAD, null);
+        ThermalReplay.Result hot = ThermalReplay.replay(stream, 8, TraceReplay.DISPATCH_OVERHEAD,
+                ThermalModel.standard());
+
+        assertEquals(TraceReplay.replay(stream, 8, TraceReplay.DISPATCH_OVERHEAD).makespan(), cold.makespan());
+        assertEquals(200, hot.completed());
+        assertTrue(hot.throttledTime() > 0);
+        assertTrue(hot.makespan() > cold.makespan());
+        assertTrue(hot.meanSpeed() < 1.0);
+        assertTrue(hot.peakTemperature() > 85.0 && hot.peakTemperature() < 105.0);
+    }
+
+    @Test
+    @DisplayName("INT8 load should stay under the throttle point")
+    void testNoThrottling() {
+        ThermalReplay.Result result = ThermalReplay.replay(stream(Quantization.INT8), 8,
+                TraceReplay.DISPATCH_OVERHEAD, ThermalModel.standard());
+
+        assertEquals(0, result.throttledTime());
+        assertEquals(1.0, result.meanSpeed(), 1e-9);
+        assertTrue(result.peakTemperature() < 85.0);
+    }
+
+    @Test
+    @DisplayName("Tasks on other data should run past a head task whose data is busy")
+    void testSkipAheadOnBusyData() {
+        List<NPUTask> trace = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            ComputeTask shared = new ComputeTask(i + 1, 120, 4096, 1, 64);
+            shared.setDataId(7);
+            trace.add(shared);
+        }
+        for (int i = 0; i < 40; i++) {
+            trace.add(new ComputeTask(i + 10, 120, 256, 1, 16));
+        }
+
+        ThermalReplay.Result cold = ThermalReplay.replay(trace, 3, TraceReplay.DISPATCH_OVERHEAD, null);
+        long serialOnData = 2 * (TraceReplay.DISPATCH_OVERHEAD + trace.get(0).getExecutionTime());
+
+        assertEquals(42, cold.completed());
+        assertEquals(TraceReplay.replay(trace, 3, TraceReplay.DISPATCH_OVERHEAD).makespan(), cold.makespan());
+        assertEquals(serialOnData, cold.makespan());
+        assertEquals(42, ThermalReplay.replay(trace, 3, TraceReplay.DISPATCH_OVERHEAD,
+                ThermalModel.standard()).completed());
+    }
+
+    private static List<NPUTask> stream(Quantization type) {
+        List<NPUTask> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(new TensorTask(i + 1, 120, 1024, 8, 16, new int[]{64, 64}, type));
+        }
+        return tasks;
+    }
+}